@@ -0,0 +1,73 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.dto.BookDto;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Serialization cost of a 1000 item BookDto page as JSON, gzipped JSON and CBOR. PayloadSizeTestSuite
+ * checks the payload sizes of the same page.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BookDtoSerializationBenchmark {
+    private static final int PAGE_SIZE = 1000;
+
+    private ObjectMapper jsonMapper;
+    private ObjectMapper cborMapper;
+    private List<BookDto> page;
+
+    @Setup
+    public void setUp() throws IOException {
+        jsonMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        cborMapper = Jackson2ObjectMapperBuilder.cbor()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+
+        page = new ArrayList<>();
+        Category[] categories = Category.values();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(new BookDto(
+                    (long) i,
+                    "Author " + i,
+                    "Title of the book number " + i,
+                    Category.categoryFactory(categories[i % categories.length]),
+                    1900 + i % 120));
+        }
+    }
+
+    @Benchmark
+    public byte[] json() throws IOException {
+        return jsonMapper.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public byte[] gzippedJson() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            jsonMapper.writeValue(gzip, page);
+        }
+        return bytes.toByteArray();
+    }
+
+    @Benchmark
+    public byte[] cbor() throws IOException {
+        return cborMapper.writeValueAsBytes(page);
+    }
+}
\ No newline at end of file
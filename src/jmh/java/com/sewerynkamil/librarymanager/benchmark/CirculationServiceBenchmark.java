@@ -0,0 +1,67 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.dto.CirculationDto;
+import com.sewerynkamil.librarymanager.service.CirculationService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * The circulation endpoint's twelve month report over the in-memory rollup view, after 10k and after 1M
+ * checkouts and returns of the same 2000 books by the same 1000 patrons.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CirculationServiceBenchmark {
+    private static final int BOOKS = 2000;
+    private static final int USERS = 1000;
+
+    @Param({"10000", "1000000"})
+    private int rents;
+
+    private CirculationService circulationService;
+
+    @Setup
+    public void setUp() {
+        // The repositories are only used when the queued events are flushed, which the benchmark never does
+        circulationService = new CirculationService(null, null, null, null, null);
+        Category[] categories = Category.values();
+        Specimen[] specimens = new Specimen[BOOKS];
+        for (int i = 0; i < BOOKS; i++) {
+            Book book = new Book("Author" + i, "Title" + i, categories[i % categories.length], 2000);
+            book.setId((long) i);
+            specimens[i] = new Specimen(Status.RENTED, "Publisher", 2010, book, 9788300000000L + i);
+        }
+        User[] users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = new User("Name", "Surname", "patron" + i + "@library.com", 500000000, "password", Role.USER);
+            users[i].setId((long) i);
+        }
+        Random random = new Random(42);
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < rents; i++) {
+            Rent rent = new Rent(specimens[random.nextInt(BOOKS)], users[random.nextInt(USERS)]);
+            rent.setRentDate(today.minusDays(random.nextInt(730)));
+            circulationService.recordCheckout(rent);
+            circulationService.recordReturn(rent, rent.getRentDate().plusDays(random.nextInt(30)));
+        }
+    }
+
+    @Benchmark
+    public CirculationDto getCirculation() {
+        return circulationService.getCirculation(12, 10);
+    }
+}
\ No newline at end of file
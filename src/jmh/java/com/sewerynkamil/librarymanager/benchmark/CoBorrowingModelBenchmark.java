@@ -0,0 +1,55 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.sewerynkamil.librarymanager.service.CoBorrowingModel;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Full rebuild of the co-borrowing model for 100k readers of a 20k book catalogue, each with up to 30 books
+ * and half of the rents going to the 5% most popular books, on one worker and on all processors.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class CoBorrowingModelBenchmark {
+    private static final int READERS = 100000;
+    private static final int BOOKS = 20000;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private List<long[]> baskets;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        baskets = new ArrayList<>(READERS);
+        for (int i = 0; i < READERS; i++) {
+            baskets.add(random.longs(1 + random.nextInt(30), 0, BOOKS)
+                    .map(bookId -> random.nextBoolean() ? bookId / 20 : bookId)
+                    .distinct()
+                    .toArray());
+        }
+        pool = parallelism == 0 ? new ForkJoinPool() : new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Map<Long, List<CoBorrowingModel.Neighbour>> build() {
+        return CoBorrowingModel.build(baskets, 10, 2, pool);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,130 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.sewerynkamil.librarymanager.LibraryManagerBackendApplication;
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.dto.RentBatchResultDto;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import com.sewerynkamil.librarymanager.repository.UserRepository;
+import com.sewerynkamil.librarymanager.service.RentService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Returns a pile of rents at the desk, one call per rent or one batch call, on the real persistence stack
+ * with an in-memory database. The rents are created before every invocation; statements and flushes of the
+ * returns are read from the Hibernate statistics and reported next to the piles of every iteration as
+ * auxiliary counters.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class DeskBatchBenchmark {
+    @Param({"single", "batch"})
+    private String mode;
+
+    @Param({"50"})
+    private int pile;
+
+    private ConfigurableApplicationContext context;
+    private RentService rentService;
+    private Statistics statistics;
+    private List<Long> specimenIds;
+    private List<Long> rentIds;
+    private Long userId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibraryManagerBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .registerSingleton("mailSender", new JavaMailSenderImpl() {
+                            @Override
+                            public void send(SimpleMailMessage simpleMessage) {
+                            }
+                        }))
+                .run("--spring.datasource.url=jdbc:h2:mem:deskBatchBenchmark;DB_CLOSE_DELAY=-1",
+                        "--tracing.sampler.ratio=0",
+                        "--logging.level.root=WARN");
+        rentService = context.getBean(RentService.class);
+
+        User user = context.getBean(UserRepository.class)
+                .save(new User("Name", "Surname", "desk@library.com", 500000000, "password", Role.USER));
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        specimenIds = new ArrayList<>();
+        for (int i = 0; i < pile; i++) {
+            Book book = new Book("Author" + i, "Title" + i, Category.FANTASY, 2000);
+            book.getSpecimenList().add(new Specimen(Status.AVAILABLE, "Publisher", 2010, book, 9788300000000L + i));
+            specimenIds.add(bookRepository.save(book).getSpecimenList().get(0).getId());
+        }
+        userId = user.getId();
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Setup(Level.Invocation)
+    public void rentPile() throws Exception {
+        rentIds = new ArrayList<>();
+        for (Long specimenId : specimenIds) {
+            rentIds.add(rentService.rentBook(specimenId, userId).getId());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RentBatchResultDto> returnPile(PileCounters counters) throws Exception {
+        long statements = statistics.getPrepareStatementCount();
+        long flushes = statistics.getFlushCount();
+        List<RentBatchResultDto> results = returnRents();
+        counters.piles++;
+        counters.statements += statistics.getPrepareStatementCount() - statements;
+        counters.flushes += statistics.getFlushCount() - flushes;
+        return results;
+    }
+
+    private List<RentBatchResultDto> returnRents() throws Exception {
+        if ("batch".equals(mode)) {
+            return rentService.returnBooks(rentIds);
+        }
+        for (Long rentId : rentIds) {
+            rentService.returnBook(rentId);
+        }
+        return null;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class PileCounters {
+        public long piles;
+        public long statements;
+        public long flushes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            piles = 0;
+            statements = 0;
+            flushes = 0;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.dto.BookDto;
+import com.sewerynkamil.librarymanager.dto.RentDto;
+import com.sewerynkamil.librarymanager.mapper.BookMapper;
+import com.sewerynkamil.librarymanager.mapper.RentMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * List mapping cost of the book and rent mappers over the whole synthetic catalogue.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MapperBenchmark {
+    private BookMapper bookMapper;
+    private RentMapper rentMapper;
+    private List<Book> books;
+    private List<Rent> rents;
+
+    @Setup
+    public void setUp() {
+        bookMapper = new BookMapper();
+        rentMapper = new RentMapper();
+        books = SyntheticCatalogue.books(SyntheticCatalogue.SIZE);
+        rents = SyntheticCatalogue.rents(SyntheticCatalogue.SIZE);
+    }
+
+    @Benchmark
+    public List<BookDto> mapToBookDtoList() {
+        return bookMapper.mapToBookDtoList(books);
+    }
+
+    @Benchmark
+    public List<RentDto> mapToRentDtoList() {
+        return rentMapper.mapToRentDtoList(rents);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,47 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.sewerynkamil.librarymanager.service.PopularityService;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Cost of feeding one rent into the 24h, 7d and 30d popularity windows, with rents skewed towards a small
+ * share of a 100k book catalogue so the summaries keep evicting. The summaries are full after warmup.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class PopularityServiceBenchmark {
+    private static final int BOOKS = 100000;
+    private static final int RENTS = 1 << 16;
+
+    @Param({"64", "256", "1024"})
+    private int capacity;
+
+    private PopularityService popularityService;
+    private long[] bookIds;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        // Nothing is read from the repositories while rents are recorded
+        popularityService = new PopularityService(null, null, capacity, Clock.systemDefaultZone());
+        Random random = new Random(42);
+        bookIds = new long[RENTS];
+        for (int i = 0; i < RENTS; i++) {
+            // Half the rents go to the 1% most popular books
+            bookIds[i] = random.nextBoolean() ? random.nextInt(BOOKS / 100) : random.nextInt(BOOKS);
+        }
+    }
+
+    @Benchmark
+    public void recordRent() {
+        popularityService.recordRent(bookIds[next++ & (RENTS - 1)]);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,115 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.sewerynkamil.librarymanager.LibraryManagerBackendApplication;
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import com.sewerynkamil.librarymanager.repository.UserRepository;
+import com.sewerynkamil.librarymanager.service.RentService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * A full checkout cycle through RentService - rent, prolong and return - on the real persistence
+ * stack with an in-memory database. Commits, flushes and statements are read from the Hibernate
+ * statistics and reported next to the cycles of every iteration as auxiliary counters.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RentServiceBenchmark {
+    private static final int SPECIMENS = 50;
+
+    private ConfigurableApplicationContext context;
+    private RentService rentService;
+    private Statistics statistics;
+    private List<Long> specimenIds;
+    private Long userId;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(LibraryManagerBackendApplication.class)
+                .web(WebApplicationType.NONE)
+                .initializers(applicationContext -> applicationContext.getBeanFactory()
+                        .registerSingleton("mailSender", new JavaMailSenderImpl() {
+                            @Override
+                            public void send(SimpleMailMessage simpleMessage) {
+                            }
+                        }))
+                .run("--spring.datasource.url=jdbc:h2:mem:rentServiceBenchmark;DB_CLOSE_DELAY=-1",
+                        "--tracing.sampler.ratio=0",
+                        "--logging.level.root=WARN");
+        rentService = context.getBean(RentService.class);
+
+        User user = context.getBean(UserRepository.class)
+                .save(new User("Name", "Surname", "benchmark@library.com", 500000000, "password", Role.USER));
+        BookRepository bookRepository = context.getBean(BookRepository.class);
+        specimenIds = new ArrayList<>();
+        for (int i = 0; i < SPECIMENS; i++) {
+            Book book = new Book("Author" + i, "Title" + i, Category.FANTASY, 2000);
+            book.getSpecimenList().add(new Specimen(Status.AVAILABLE, "Publisher", 2010, book, 9788300000000L + i));
+            specimenIds.add(bookRepository.save(book).getSpecimenList().get(0).getId());
+        }
+        userId = user.getId();
+
+        statistics = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Rent rentProlongAndReturn(CycleCounters counters) throws Exception {
+        long commits = statistics.getSuccessfulTransactionCount();
+        long flushes = statistics.getFlushCount();
+        long statements = statistics.getPrepareStatementCount();
+        Long specimenId = specimenIds.get(next++ % SPECIMENS);
+        Rent rent = rentService.rentBook(specimenId, userId);
+        rentService.prolongationRent(specimenId, userId);
+        rentService.returnBook(rent.getId());
+        counters.cycles++;
+        counters.commits += statistics.getSuccessfulTransactionCount() - commits;
+        counters.flushes += statistics.getFlushCount() - flushes;
+        counters.statements += statistics.getPrepareStatementCount() - statements;
+        return rent;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CycleCounters {
+        public long cycles;
+        public long commits;
+        public long flushes;
+        public long statements;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            cycles = 0;
+            commits = 0;
+            flushes = 0;
+            statements = 0;
+        }
+    }
+}
\ No newline at end of file
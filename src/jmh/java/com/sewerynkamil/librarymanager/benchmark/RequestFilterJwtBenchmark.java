@@ -0,0 +1,66 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.google.common.net.HttpHeaders;
+import com.sewerynkamil.librarymanager.config.security.RequestFilterJwt;
+import com.sewerynkamil.librarymanager.config.security.TokenUtilJwt;
+import com.sewerynkamil.librarymanager.service.UserService;
+import io.opentelemetry.api.trace.Tracer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * One authenticated request through the JWT filter: token parsing, user lookup, validation
+ * and populating the security context. The user lookup is served from memory, so the result
+ * is the filter's own overhead without the database round-trip.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RequestFilterJwtBenchmark {
+    private RequestFilterJwt requestFilter;
+    private FilterChain chain;
+    private String authorization;
+
+    @Setup
+    public void setUp() {
+        UserDetails userDetails = new User("user@library.com", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_User")));
+        UserService userService = new UserService(null, null, null, null, null) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return userDetails;
+            }
+        };
+        TokenUtilJwt tokenUtil = new TokenUtilJwt();
+        requestFilter = new RequestFilterJwt(userService, tokenUtil, new StaticListableBeanFactory().getBeanProvider(Tracer.class));
+        chain = (request, response) -> { };
+        authorization = "Bearer " + tokenUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public MockHttpServletResponse doFilter() throws IOException, ServletException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/v1/books");
+        request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        try {
+            requestFilter.doFilter(request, response, chain);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+        return response;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * The findAllByStatusAndBookId lookup against a (BOOK_ID, STATUS) index when the status
+ * is stored as its display name and as a SMALLINT code, on the same synthetic catalogue.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SpecimenStatusQueryBenchmark {
+    private static final int SPECIMENS_PER_BOOK = 10;
+    private static final Status[] STATUSES = Status.values();
+
+    private Connection connection;
+    private PreparedStatement byName;
+    private PreparedStatement byCode;
+    private int bookId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection("jdbc:h2:mem:specimenStatusQuery", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE SPECIMENS_NAME (ID BIGINT PRIMARY KEY, BOOK_ID BIGINT NOT NULL, STATUS VARCHAR(255) NOT NULL)");
+            statement.execute("CREATE TABLE SPECIMENS_CODE (ID BIGINT PRIMARY KEY, BOOK_ID BIGINT NOT NULL, STATUS SMALLINT NOT NULL)");
+        }
+        try (PreparedStatement names = connection.prepareStatement("INSERT INTO SPECIMENS_NAME VALUES (?, ?, ?)");
+             PreparedStatement codes = connection.prepareStatement("INSERT INTO SPECIMENS_CODE VALUES (?, ?, ?)")) {
+            for (int i = 0; i < SyntheticCatalogue.SIZE * SPECIMENS_PER_BOOK; i++) {
+                Status status = STATUSES[i % STATUSES.length];
+                names.setLong(1, i);
+                names.setLong(2, i / SPECIMENS_PER_BOOK);
+                names.setString(3, status.getStatus());
+                names.addBatch();
+                codes.setLong(1, i);
+                codes.setLong(2, i / SPECIMENS_PER_BOOK);
+                codes.setShort(3, (short) status.getCode());
+                codes.addBatch();
+            }
+            names.executeBatch();
+            codes.executeBatch();
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE INDEX SPECIMENS_NAME_IDX ON SPECIMENS_NAME (BOOK_ID, STATUS)");
+            statement.execute("CREATE INDEX SPECIMENS_CODE_IDX ON SPECIMENS_CODE (BOOK_ID, STATUS)");
+        }
+        byName = connection.prepareStatement("SELECT ID, BOOK_ID, STATUS FROM SPECIMENS_NAME WHERE STATUS = ? AND BOOK_ID = ?");
+        byCode = connection.prepareStatement("SELECT ID, BOOK_ID, STATUS FROM SPECIMENS_CODE WHERE STATUS = ? AND BOOK_ID = ?");
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Benchmark
+    public int findAllByStatusName() throws SQLException {
+        byName.setString(1, Status.AVAILABLE.getStatus());
+        byName.setLong(2, nextBookId());
+        return count(byName);
+    }
+
+    @Benchmark
+    public int findAllByStatusCode() throws SQLException {
+        byCode.setShort(1, (short) Status.AVAILABLE.getCode());
+        byCode.setLong(2, nextBookId());
+        return count(byCode);
+    }
+
+    private long nextBookId() {
+        bookId = (bookId + 7919) % SyntheticCatalogue.SIZE;
+        return bookId;
+    }
+
+    private int count(final PreparedStatement statement) throws SQLException {
+        int rows = 0;
+        try (ResultSet resultSet = statement.executeQuery()) {
+            while (resultSet.next()) {
+                rows++;
+            }
+        }
+        return rows;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.dto.wolneLektury.WolneLekturyAudiobookDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Deterministic in-memory catalogue shared by the benchmarks.
+ */
+
+final class SyntheticCatalogue {
+    static final int SIZE = 10000;
+
+    private static final String[] AUTHORS = {"Mickiewicz", "Sienkiewicz", "Prus", "Orzeszkowa", "Reymont", "Slowacki", "Kochanowski", "Fredro"};
+    private static final Category[] CATEGORIES = Category.values();
+
+    private SyntheticCatalogue() {
+    }
+
+    static List<Book> books(final int size) {
+        List<Book> books = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Book book = new Book(author(i), "Title " + i, CATEGORIES[i % CATEGORIES.length], 1800 + i % 220);
+            book.setId((long) i);
+            books.add(book);
+        }
+        return books;
+    }
+
+    static List<Rent> rents(final int size) {
+        List<Rent> rents = new ArrayList<>(size);
+        List<Book> books = books(size);
+        for (int i = 0; i < size; i++) {
+            Specimen specimen = new Specimen(Status.RENTED, "Publisher " + i % 50, 1990 + i % 30, books.get(i), 9788300000000L + i);
+            specimen.setId((long) i);
+            User user = new User("Name" + i % 500, "Surname" + i % 500, "user" + i % 500 + "@library.com", 500000000 + i % 500, "password", Role.USER);
+            user.setId((long) (i % 500));
+            Rent rent = new Rent(specimen, user);
+            rent.setId((long) i);
+            rents.add(rent);
+        }
+        return rents;
+    }
+
+    static List<WolneLekturyAudiobookDto> audiobooks(final int size) {
+        List<WolneLekturyAudiobookDto> audiobooks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            audiobooks.add(new WolneLekturyAudiobookDto(
+                    author(i),
+                    "Audiobook " + i,
+                    "Genre " + i % 12,
+                    "Epoch " + i % 6,
+                    "https://wolnelektury.pl/katalog/lektura/audiobook-" + i + "/"));
+        }
+        return audiobooks;
+    }
+
+    private static String author(final int i) {
+        return AUTHORS[i % AUTHORS.length] + " " + i % 1000;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.sewerynkamil.librarymanager.config.security.TokenUtilJwt;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Cost of issuing and validating a single JWT.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TokenUtilJwtBenchmark {
+    private TokenUtilJwt tokenUtil;
+    private UserDetails userDetails;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        tokenUtil = new TokenUtilJwt();
+        userDetails = new User("user@library.com", "password", Collections.singleton(new SimpleGrantedAuthority("ROLE_User")));
+        token = tokenUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return tokenUtil.generateToken(userDetails);
+    }
+
+    @Benchmark
+    public Boolean validateToken() {
+        return tokenUtil.validateToken(token, userDetails);
+    }
+}
\ No newline at end of file
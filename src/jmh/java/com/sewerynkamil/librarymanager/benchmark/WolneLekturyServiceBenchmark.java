@@ -0,0 +1,53 @@
+package com.sewerynkamil.librarymanager.benchmark;
+
+import com.sewerynkamil.librarymanager.client.WolneLekturyClient;
+import com.sewerynkamil.librarymanager.dto.wolneLektury.WolneLekturyAudiobookDto;
+import com.sewerynkamil.librarymanager.service.wolnelektury.WolneLekturyService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Filtering and paging over a 10k audiobook catalogue served from memory instead of the remote API.
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WolneLekturyServiceBenchmark {
+    private WolneLekturyService wolneLekturyService;
+
+    @Setup
+    public void setUp() {
+        List<WolneLekturyAudiobookDto> audiobooks = SyntheticCatalogue.audiobooks(SyntheticCatalogue.SIZE);
+        wolneLekturyService = new WolneLekturyService(new WolneLekturyClient(null, null) {
+            @Override
+            public List<WolneLekturyAudiobookDto> getWolneLekturyAudiobooks() {
+                return audiobooks;
+            }
+        });
+    }
+
+    @Benchmark
+    public List<WolneLekturyAudiobookDto> fetchWithLazyLoading() {
+        return wolneLekturyService.fetchWolneLekturyBoardsWithLazyLoading(5000, 100);
+    }
+
+    @Benchmark
+    public List<WolneLekturyAudiobookDto> fetchByAuthorStartsWithIgnoreCase() {
+        return wolneLekturyService.fetchAllAudiobooksByAuthorStartsWithIgnoreCase("sienkiewicz 1");
+    }
+
+    @Benchmark
+    public List<WolneLekturyAudiobookDto> fetchByTitleStartsWithIgnoreCase() {
+        return wolneLekturyService.fetchAllAudiobooksByTitleStartsWithIgnoreCase("audiobook 99");
+    }
+
+    @Benchmark
+    public int countAudiobooks() {
+        return wolneLekturyService.countAudiobooks();
+    }
+}
\ No newline at end of file
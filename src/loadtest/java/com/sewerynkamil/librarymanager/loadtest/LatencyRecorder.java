@@ -0,0 +1,43 @@
+package com.sewerynkamil.librarymanager.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Collects every latency sample of one endpoint so percentiles are exact rather than estimated.
+ */
+
+class LatencyRecorder {
+    private long[] samples = new long[1024];
+    private int count;
+    private int errors;
+
+    synchronized void record(final long nanos, final boolean error) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+        if (error) {
+            errors++;
+        }
+    }
+
+    synchronized int getCount() {
+        return count;
+    }
+
+    synchronized int getErrors() {
+        return errors;
+    }
+
+    synchronized double percentileMillis(final double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100 * count) - 1;
+        return sorted[Math.max(rank, 0)] / 1_000_000.0;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,221 @@
+package com.sewerynkamil.librarymanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.service.LibraryDataGenerator;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Replays a mixed workload (catalogue search and paging, specimen lookups, rent/return and login)
+ * against an instance started with the loadtest profile and prints throughput and p50/p99 latency
+ * per endpoint. Books are returned by the librarian, like at the desk. Configured with system properties, e.g.
+ *
+ *     ./gradlew loadTest -Dloadtest.threads=16 -Dloadtest.duration=120
+ */
+
+public class LoadDriver {
+    private static final String URL = System.getProperty("loadtest.url", "http://localhost:8080");
+    private static final int THREADS = Integer.getInteger("loadtest.threads", 8);
+    private static final int DURATION = Integer.getInteger("loadtest.duration", 60);
+    private static final int WARMUP = Integer.getInteger("loadtest.warmup", 10);
+    private static final int USERS = Integer.getInteger("loadtest.users", 1000);
+    private static final String PASSWORD = System.getProperty("loadtest.password", "password");
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+    private final List<JsonNode> books = new ArrayList<>();
+    private String librarianToken;
+    private volatile long recordFrom = Long.MAX_VALUE;
+
+    public static void main(String[] args) throws Exception {
+        new LoadDriver().run();
+    }
+
+    double run() throws Exception {
+        librarianToken = login(LibraryDataGenerator.LIBRARIAN);
+        JsonNode catalogue = request("GET", "/v1/books?offset=0&limit=" + Integer.MAX_VALUE, null, librarianToken, null);
+        if (catalogue != null) {
+            catalogue.forEach(books::add);
+        }
+        if (books.isEmpty()) {
+            throw new IllegalStateException("The catalogue is empty - start the application with the loadtest profile first.");
+        }
+        System.out.println("Catalogue: " + books.size() + " books. Running " + THREADS + " threads for "
+                + WARMUP + "s warm-up and " + DURATION + "s measurement against " + URL);
+
+        long start = System.nanoTime();
+        recordFrom = start + TimeUnit.SECONDS.toNanos(WARMUP);
+        long deadline = recordFrom + TimeUnit.SECONDS.toNanos(DURATION);
+        CountDownLatch finished = new CountDownLatch(THREADS);
+        for (int i = 0; i < THREADS; i++) {
+            int worker = i;
+            new Thread(() -> {
+                try {
+                    work(worker, deadline);
+                } catch (Exception e) {
+                    System.err.println("Worker " + worker + " stopped: " + e);
+                } finally {
+                    finished.countDown();
+                }
+            }, "load-" + i).start();
+        }
+        finished.await();
+        return report((System.nanoTime() - recordFrom) / 1_000_000_000.0);
+    }
+
+    private void work(final int worker, final long deadline) throws IOException {
+        Random random = new Random(SEED + worker);
+        String email = LibraryDataGenerator.email(worker % USERS);
+        String token = login(email);
+        long userId = request("GET", "/v1/users/email/" + email, null, token, null).get("id").asLong();
+
+        while (System.nanoTime() < deadline) {
+            JsonNode book = books.get(random.nextInt(books.size()));
+            int operation = random.nextInt(100);
+            if (operation < 25) {
+                request("GET", "/v1/books?offset=" + random.nextInt(books.size()) + "&limit=20", null, token, "GET /v1/books");
+            } else if (operation < 40) {
+                request("GET", "/v1/books/titles/" + prefix(book.get("title").asText(), random), null, token, "GET /v1/books/titles/{title}");
+            } else if (operation < 50) {
+                request("GET", "/v1/books/authors/" + prefix(book.get("author").asText(), random), null, token, "GET /v1/books/authors/{author}");
+            } else if (operation < 60) {
+                request("GET", "/v1/books/categories/" + encode(book.get("category").asText()), null, token, "GET /v1/books/categories/{category}");
+            } else if (operation < 70) {
+                request("GET", "/v1/books/" + book.get("id").asLong(), null, token, "GET /v1/books/{id}");
+            } else if (operation < 80) {
+                request("GET", "/v1/specimens/" + book.get("id").asLong() + "?status=" + Status.AVAILABLE.getStatus(), null, token, "GET /v1/specimens/{bookId}");
+            } else if (operation < 95) {
+                rentAndReturn(book.get("id").asLong(), userId, token);
+            } else {
+                token = login(email);
+            }
+        }
+    }
+
+    private void rentAndReturn(final long bookId, final long userId, final String token) throws IOException {
+        JsonNode specimens = request("GET", "/v1/specimens/" + bookId + "?status=" + Status.AVAILABLE.getStatus(), null, token, "GET /v1/specimens/{bookId}");
+        if (specimens == null || specimens.size() == 0) {
+            return;
+        }
+        long specimenId = specimens.get(0).get("id").asLong();
+        request("POST", "/v1/rents/" + userId + "?specimenId=" + specimenId, null, token, "POST /v1/rents/{userId}");
+        JsonNode rents = request("GET", "/v1/rents/user/" + userId, null, token, "GET /v1/rents/user/{userId}");
+        for (JsonNode rent : rents == null ? MAPPER.createArrayNode() : rents) {
+            if (rent.get("specimenId").asLong() == specimenId) {
+                request("DELETE", "/v1/rents?id=" + rent.get("rentId").asLong(), null, librarianToken, "DELETE /v1/rents");
+                return;
+            }
+        }
+    }
+
+    String login(final String email) throws IOException {
+        String credentials = MAPPER.createObjectNode()
+                .put("username", email)
+                .put("password", PASSWORD)
+                .toString();
+        JsonNode response = request("POST", "/v1/login", credentials, null, "POST /v1/login");
+        if (response == null) {
+            throw new IllegalStateException("Cannot log in as " + email);
+        }
+        return response.get("jwttoken").asText();
+    }
+
+    JsonNode request(final String method, final String path, final String body, final String token, final String endpoint) throws IOException {
+        long start = System.nanoTime();
+        HttpURLConnection connection = (HttpURLConnection) new URL(URL + path).openConnection();
+        connection.setRequestMethod(method);
+        connection.setRequestProperty("Accept", "application/json");
+        if (token != null) {
+            connection.setRequestProperty("Authorization", "Bearer " + token);
+        }
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream output = connection.getOutputStream()) {
+                output.write(body.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        int status;
+        byte[] response;
+        try {
+            status = connection.getResponseCode();
+            response = readFully(status < 400 ? connection.getInputStream() : connection.getErrorStream());
+        } catch (IOException e) {
+            status = -1;
+            response = new byte[0];
+        }
+        long elapsed = System.nanoTime() - start;
+
+        boolean error = status < 200 || status >= 400;
+        if (endpoint != null && start >= recordFrom) {
+            recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder()).record(elapsed, error);
+        }
+        return error || response.length == 0 ? null : MAPPER.readTree(response);
+    }
+
+    private double report(final double seconds) {
+        System.out.println();
+        System.out.println(String.format("%-38s %9s %7s %9s %9s %9s", "Endpoint", "Requests", "Errors", "Req/s", "p50 ms", "p99 ms"));
+        int requests = 0;
+        int errors = 0;
+        for (Map.Entry<String, LatencyRecorder> entry : new TreeMap<>(recorders).entrySet()) {
+            LatencyRecorder recorder = entry.getValue();
+            requests += recorder.getCount();
+            errors += recorder.getErrors();
+            System.out.println(String.format("%-38s %9d %7d %9.1f %9.2f %9.2f",
+                    entry.getKey(),
+                    recorder.getCount(),
+                    recorder.getErrors(),
+                    recorder.getCount() / seconds,
+                    recorder.percentileMillis(50),
+                    recorder.percentileMillis(99)));
+        }
+        System.out.println(String.format("%-38s %9d %7d %9.1f", "Total", requests, errors, requests / seconds));
+        return requests / seconds;
+    }
+
+    private static String prefix(final String text, final Random random) throws UnsupportedEncodingException {
+        return encode(text.substring(0, Math.min(text.length(), 3 + random.nextInt(6))).trim());
+    }
+
+    private static String encode(final String text) throws UnsupportedEncodingException {
+        return URLEncoder.encode(text, StandardCharsets.UTF_8.name()).replace("+", "%20");
+    }
+
+    private static byte[] readFully(final InputStream input) throws IOException {
+        if (input == null) {
+            return new byte[0];
+        }
+        try (InputStream stream = input) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            for (int read; (read = stream.read(buffer)) != -1; ) {
+                bytes.write(buffer, 0, read);
+            }
+            return bytes.toByteArray();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.sewerynkamil.librarymanager.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.sewerynkamil.librarymanager.service.LibraryDataGenerator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Starts the packaged application with each persistence profile (plus loadtest) and measures the cold start -
+ * from launching the JVM until the librarian can log in and the whole synthetic catalogue is counted - and
+ * the steady-state throughput of the LoadDriver workload. Every profile is started twice on the same data
+ * directory, so the second start shows what a file-backed database saves. For example
+ *
+ *     ./gradlew profileBenchmark -Dbenchmark.profiles=default,prod -Dloadtest.duration=60
+ */
+
+public class ProfileBenchmark {
+    private static final String JAR = System.getProperty("benchmark.jar", "build/libs/library-manager-backend-0.0.1-SNAPSHOT.jar");
+    private static final String[] PROFILES = System.getProperty("benchmark.profiles", "default,prod").split(",");
+    private static final int STARTS = Integer.getInteger("benchmark.starts", 2);
+    private static final int STARTUP_TIMEOUT = Integer.getInteger("benchmark.startup-timeout", 300);
+    private static final int BOOKS = Integer.getInteger("loadtest.books", 10000);
+
+    public static void main(String[] args) throws Exception {
+        List<String> results = new ArrayList<>();
+        for (String profile : PROFILES) {
+            Path dataDir = Files.createTempDirectory("library-" + profile);
+            for (int start = 1; start <= STARTS; start++) {
+                Process application = launch(profile, dataDir, start);
+                try {
+                    double startupSeconds = awaitReady(application);
+                    double throughput = new LoadDriver().run();
+                    results.add(String.format("%-12s %6d %12.1f %12.1f", profile, start, startupSeconds, throughput));
+                } finally {
+                    application.destroy();
+                    application.waitFor(60, TimeUnit.SECONDS);
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println(String.format("%-12s %6s %12s %12s", "Profile", "Start", "Ready s", "Req/s"));
+        results.forEach(System.out::println);
+    }
+
+    private static Process launch(final String profile, final Path dataDir, final int start) throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator + "java");
+        command.add("-jar");
+        command.add(JAR);
+        command.add("--spring.profiles.active=" + ("default".equals(profile) ? "" : profile + ",") + "loadtest");
+        command.add("--library.data.dir=" + dataDir);
+        command.add("--tracing.export.file=" + dataDir.resolve("traces.jsonl"));
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith("loadtest."))
+                .forEach(name -> command.add("--" + name + "=" + System.getProperty(name)));
+
+        System.out.println("Starting " + profile + " (" + start + "/" + STARTS + "), data in " + dataDir);
+        return new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(dataDir.resolve("application-" + start + ".log").toFile())
+                .start();
+    }
+
+    private static double awaitReady(final Process application) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.SECONDS.toNanos(STARTUP_TIMEOUT);
+        LoadDriver probe = new LoadDriver();
+        while (System.nanoTime() < deadline) {
+            if (!application.isAlive()) {
+                throw new IllegalStateException("The application exited with " + application.exitValue());
+            }
+            try {
+                String token = probe.login(LibraryDataGenerator.LIBRARIAN);
+                JsonNode books = probe.request("GET", "/v1/books/count", null, token, null);
+                if (books != null && books.asLong() >= BOOKS) {
+                    return (System.nanoTime() - start) / 1_000_000_000.0;
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Not listening yet or the librarian is not generated yet
+            }
+            Thread.sleep(250);
+        }
+        throw new IllegalStateException("The application was not ready within " + STARTUP_TIMEOUT + "s");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,34 @@
+package com.sewerynkamil.librarymanager.config;
+
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ResourceUtils;
+
+import java.io.FileNotFoundException;
+import java.net.URISyntaxException;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Hibernate hands the JCache configuration uri straight to Ehcache, which doesn't understand
+ * classpath: locations, so it is resolved to a real URL before the session factory is built.
+ */
+
+@Configuration
+public class CacheConfig {
+    @Bean
+    public HibernatePropertiesCustomizer jCacheUriCustomizer() {
+        return properties -> {
+            Object uri = properties.get(ConfigSettings.CONFIG_URI);
+            if (uri instanceof String && ((String) uri).startsWith(ResourceUtils.CLASSPATH_URL_PREFIX)) {
+                try {
+                    properties.put(ConfigSettings.CONFIG_URI, ResourceUtils.getURL((String) uri).toURI().toString());
+                } catch (FileNotFoundException | URISyntaxException e) {
+                    throw new IllegalStateException("Cannot resolve cache configuration " + uri, e);
+                }
+            }
+        };
+    }
+}
\ No newline at end of file
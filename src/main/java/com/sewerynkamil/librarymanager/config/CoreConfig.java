@@ -1,14 +1,22 @@
 package com.sewerynkamil.librarymanager.config;
 
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.google.common.collect.Lists;
 import com.google.common.net.HttpHeaders;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.CacheControl;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.WebContentInterceptor;
 import springfox.documentation.builders.PathSelectors;
 import springfox.documentation.builders.RequestHandlerSelectors;
 import springfox.documentation.service.*;
@@ -19,6 +27,7 @@ import springfox.documentation.swagger2.annotations.EnableSwagger2;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static springfox.documentation.builders.PathSelectors.regex;
 
@@ -32,8 +41,15 @@ import static springfox.documentation.builders.PathSelectors.regex;
 @Import(springfox.bean.validators.configuration.BeanValidatorPluginsConfiguration.class)
 public class CoreConfig implements WebMvcConfigurer {
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(ObjectProvider<RestTemplateBuilder> restTemplateBuilder) {
+        return restTemplateBuilder.getIfAvailable(RestTemplateBuilder::new).build();
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(Jackson2ObjectMapperBuilder.cbor()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build());
     }
 
     @Bean
@@ -87,10 +103,20 @@ public class CoreConfig implements WebMvcConfigurer {
 
     @Override
     public void addResourceHandlers(final ResourceHandlerRegistry registry) {
-        registry.addResourceHandler("/lib/**").addResourceLocations("/lib/").setCachePeriod(0);
-        registry.addResourceHandler("/images/**").addResourceLocations("/images/").setCachePeriod(0);
-        registry.addResourceHandler("/css/**").addResourceLocations("/css/").setCachePeriod(0);
-        registry.addResourceHandler("swagger-ui.html").addResourceLocations("classpath:/META-INF/resources/");
-        registry.addResourceHandler("/webjars/**").addResourceLocations("classpath:/META-INF/resources/webjars/");
+        CacheControl staticCacheControl = CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic();
+        registry.addResourceHandler("/lib/**").addResourceLocations("/lib/").setCacheControl(staticCacheControl);
+        registry.addResourceHandler("/images/**").addResourceLocations("/images/").setCacheControl(staticCacheControl);
+        registry.addResourceHandler("/css/**").addResourceLocations("/css/").setCacheControl(staticCacheControl);
+        registry.addResourceHandler("swagger-ui.html").addResourceLocations("classpath:/META-INF/resources/")
+                .setCacheControl(CacheControl.noCache());
+        registry.addResourceHandler("/webjars/**").addResourceLocations("classpath:/META-INF/resources/webjars/")
+                .setCacheControl(CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic());
+    }
+
+    @Override
+    public void addInterceptors(final InterceptorRegistry registry) {
+        WebContentInterceptor catalogueInterceptor = new WebContentInterceptor();
+        catalogueInterceptor.addCacheMapping(CacheControl.noCache().cachePrivate(), "/v1/books/**", "/v1/specimens/**");
+        registry.addInterceptor(catalogueInterceptor);
     }
 }
\ No newline at end of file
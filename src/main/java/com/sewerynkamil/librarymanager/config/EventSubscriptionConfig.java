@@ -0,0 +1,23 @@
+package com.sewerynkamil.librarymanager.config;
+
+import com.sewerynkamil.librarymanager.observer.EventBus;
+import com.sewerynkamil.librarymanager.observer.RentCreatedEvent;
+import com.sewerynkamil.librarymanager.service.EmailService;
+import com.sewerynkamil.librarymanager.service.PopularityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Subscribes the services reacting to domain events, so every subscriber of the EventBus is listed here.
+ */
+
+@Configuration
+public class EventSubscriptionConfig {
+    @Autowired
+    public EventSubscriptionConfig(EventBus eventBus, EmailService emailService, PopularityService popularityService) {
+        eventBus.subscribe("email", RentCreatedEvent.class, event -> emailService.send(event.getMail()));
+        eventBus.subscribe("popularity", RentCreatedEvent.class, event -> popularityService.recordRent(event.getBookId()));
+    }
+}
\ No newline at end of file
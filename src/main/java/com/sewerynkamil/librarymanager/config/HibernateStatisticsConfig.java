@@ -0,0 +1,34 @@
+package com.sewerynkamil.librarymanager.config;
+
+import com.sewerynkamil.librarymanager.config.hibernate.RequestStatisticsInterceptor;
+import com.sewerynkamil.librarymanager.config.hibernate.StatisticsSessionEventListener;
+import com.sewerynkamil.librarymanager.config.hibernate.StatisticsStatementInspector;
+import com.sewerynkamil.librarymanager.service.HibernateStatisticsService;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Wires the per request Hibernate statistics. Kept out of CoreConfig so the web slice tests,
+ * which have no persistence layer, don't pick the interceptor up.
+ */
+
+@Configuration
+public class HibernateStatisticsConfig {
+    @Bean
+    public HibernatePropertiesCustomizer statisticsListenersCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, StatisticsSessionEventListener.class.getName());
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new StatisticsStatementInspector());
+        };
+    }
+
+    @Bean
+    public MappedInterceptor requestStatisticsInterceptor(HibernateStatisticsService hibernateStatisticsService) {
+        return new MappedInterceptor(new String[] {"/v1/**"}, new RequestStatisticsInterceptor(hibernateStatisticsService));
+    }
+}
\ No newline at end of file
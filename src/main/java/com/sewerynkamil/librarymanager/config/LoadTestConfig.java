@@ -0,0 +1,44 @@
+package com.sewerynkamil.librarymanager.config;
+
+import com.sewerynkamil.librarymanager.service.LibraryDataGenerator;
+import com.sewerynkamil.librarymanager.service.StatisticsService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Active with the loadtest profile: seeds an empty database with the synthetic library on startup.
+ */
+
+@Profile("loadtest")
+@Configuration
+public class LoadTestConfig {
+    @Value("${loadtest.books}")
+    private int books;
+
+    @Value("${loadtest.specimens}")
+    private int specimens;
+
+    @Value("${loadtest.users}")
+    private int users;
+
+    @Value("${loadtest.password}")
+    private String password;
+
+    @Value("${loadtest.seed}")
+    private long seed;
+
+    @Bean
+    public ApplicationRunner libraryDataRunner(LibraryDataGenerator libraryDataGenerator, StatisticsService statisticsService) {
+        return args -> {
+            if (statisticsService.countBooks() == 0) {
+                libraryDataGenerator.generate(books, specimens, users, password, seed);
+                statisticsService.reconcile();
+            }
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.sewerynkamil.librarymanager.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTags;
+import org.springframework.boot.actuate.metrics.web.client.RestTemplateExchangeTagsProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Arrays;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public RestTemplateExchangeTagsProvider restTemplateExchangeTagsProvider() {
+        // The upstream urls are built by hand, so tag them by path only - the query holds the NY Times api key
+        return (urlTemplate, request, response) -> Arrays.asList(
+                RestTemplateExchangeTags.method(request),
+                Tag.of("uri", request.getURI().getPath()),
+                RestTemplateExchangeTags.status(response),
+                RestTemplateExchangeTags.clientName(request));
+    }
+}
\ No newline at end of file
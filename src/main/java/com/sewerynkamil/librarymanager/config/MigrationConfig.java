@@ -0,0 +1,25 @@
+package com.sewerynkamil.librarymanager.config;
+
+import com.sewerynkamil.librarymanager.config.migration.EnumCodeMigration;
+import org.springframework.boot.autoconfigure.data.jpa.EntityManagerFactoryDependsOnPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Configuration
+public class MigrationConfig {
+    @Bean(initMethod = "migrate")
+    public EnumCodeMigration enumCodeMigration(DataSource dataSource) {
+        return new EnumCodeMigration(dataSource);
+    }
+
+    @Bean
+    public static EntityManagerFactoryDependsOnPostProcessor enumCodeMigrationDependency() {
+        return new EntityManagerFactoryDependsOnPostProcessor("enumCodeMigration");
+    }
+}
\ No newline at end of file
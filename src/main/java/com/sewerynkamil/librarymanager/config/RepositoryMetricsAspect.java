@@ -0,0 +1,64 @@
+package com.sewerynkamil.librarymanager.config;
+
+import com.sewerynkamil.librarymanager.repository.LoadingRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Times every repository call as repository.invocations, tagged with the repository, method and exception.
+ */
+
+@Aspect
+@Component
+public class RepositoryMetricsAspect {
+    private static final String NONE = "none";
+
+    private MeterRegistry meterRegistry;
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RepositoryMetricsAspect(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object timeRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = NONE;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("repository.invocations")
+                    .tag("repository", repositoryName(joinPoint.getTarget().getClass()))
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String repositoryName(final Class<?> proxyClass) {
+        return repositoryNames.computeIfAbsent(proxyClass, type -> Arrays.stream(type.getInterfaces())
+                .filter(Repository.class::isAssignableFrom)
+                .filter(repository -> repository.getPackage().equals(LoadingRepository.class.getPackage()))
+                .filter(repository -> repository != LoadingRepository.class)
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(type.getSimpleName()));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,100 @@
+package com.sewerynkamil.librarymanager.config;
+
+import com.sewerynkamil.librarymanager.config.datasource.ReadWriteRoutingDataSource;
+import com.sewerynkamil.librarymanager.config.datasource.ReplicaLagMonitor;
+import com.sewerynkamil.librarymanager.config.datasource.ReplicaRoutingInterceptor;
+import com.sewerynkamil.librarymanager.service.CatalogueVersionService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.web.servlet.handler.MappedInterceptor;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Read/write splitting, enabled by setting datasource.replica.jdbc-url. The primary pool keeps the
+ * spring.datasource settings, the replica pool starts from them and takes its overrides from datasource.replica.
+ */
+
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "jdbc-url")
+public class RoutingDataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    @ConfigurationProperties("datasource.replica")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(initMethod = "createHeartbeatTable")
+    public ReplicaLagMonitor replicaLagMonitor(
+            @Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica,
+            CatalogueVersionService catalogueVersionService) {
+        return new ReplicaLagMonitor(primary, replica, catalogueVersionService);
+    }
+
+    // Lazy, because Boot's DataSource initializer looks the routing data source up while the pools are being created
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            @Lazy @Qualifier("primaryDataSource") DataSource primary,
+            @Lazy @Qualifier("replicaDataSource") DataSource replica,
+            @Lazy ReplicaLagMonitor replicaLagMonitor,
+            @Value("${datasource.replica.max-lag}") long maxLag) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy();
+        // Known up front, so the proxy doesn't open a connection to find them out while the context starts
+        dataSource.setDefaultAutoCommit(true);
+        dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        dataSource.setTargetDataSource(new ReadWriteRoutingDataSource(primary, replica, replicaLagMonitor, maxLag));
+        return dataSource;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer routingConnectionHandlingCustomizer() {
+        // Hand the connection back after every transaction, so each transaction of an open session is routed on its own
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING, "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    @Bean
+    public static BeanPostProcessor routingJpaDialectPostProcessor() {
+        // The transaction's connection is gone by the time Spring would reset it, so leave it unprepared
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof LocalContainerEntityManagerFactoryBean) {
+                    HibernateJpaDialect jpaDialect = new HibernateJpaDialect();
+                    jpaDialect.setPrepareConnection(false);
+                    ((LocalContainerEntityManagerFactoryBean) bean).setJpaDialect(jpaDialect);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MappedInterceptor replicaRoutingInterceptor() {
+        return new MappedInterceptor(new String[] {"/v1/**"}, new ReplicaRoutingInterceptor());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.sewerynkamil.librarymanager.config;
+
+import com.sewerynkamil.librarymanager.config.tracing.FileSpanExporter;
+import com.sewerynkamil.librarymanager.config.tracing.TracingClientHttpRequestInterceptor;
+import com.sewerynkamil.librarymanager.config.tracing.TracingFilter;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.api.trace.propagation.W3CTraceContextPropagator;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.resources.Resource;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.SdkTracerProviderBuilder;
+import io.opentelemetry.sdk.trace.export.BatchSpanProcessor;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import io.opentelemetry.sdk.trace.samplers.Sampler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Paths;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * OpenTelemetry tracing. Spans are sampled by trace id ratio, following the caller's decision
+ * when a traceparent header comes in, and handed to every SpanExporter bean.
+ */
+
+@Configuration
+public class TracingConfig {
+    public static final String INSTRUMENTATION_NAME = "library-manager";
+
+    @Bean(destroyMethod = "close")
+    public OpenTelemetrySdk openTelemetry(
+            ObjectProvider<SpanExporter> spanExporters,
+            @Value("${tracing.sampler.ratio}") double samplerRatio) {
+        SdkTracerProviderBuilder tracerProvider = SdkTracerProvider.builder()
+                .setResource(Resource.getDefault().merge(Resource.create(
+                        Attributes.of(AttributeKey.stringKey("service.name"), INSTRUMENTATION_NAME))))
+                .setSampler(Sampler.parentBased(Sampler.traceIdRatioBased(samplerRatio)));
+        spanExporters.orderedStream()
+                .forEach(exporter -> tracerProvider.addSpanProcessor(BatchSpanProcessor.builder(exporter).build()));
+
+        return OpenTelemetrySdk.builder()
+                .setTracerProvider(tracerProvider.build())
+                .setPropagators(ContextPropagators.create(W3CTraceContextPropagator.getInstance()))
+                .build();
+    }
+
+    @Bean
+    public Tracer tracer(OpenTelemetrySdk openTelemetry) {
+        return openTelemetry.getTracer(INSTRUMENTATION_NAME);
+    }
+
+    @Bean
+    @ConditionalOnProperty("tracing.export.file")
+    public SpanExporter fileSpanExporter(@Value("${tracing.export.file}") String file) {
+        return new FileSpanExporter(Paths.get(file));
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(OpenTelemetrySdk openTelemetry, Tracer tracer) {
+        // Ahead of Spring Security, so the authentication time lands inside the request span
+        FilterRegistrationBean<TracingFilter> registration =
+                new FilterRegistrationBean<>(new TracingFilter(openTelemetry.getPropagators(), tracer));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public RestTemplateCustomizer tracingRestTemplateCustomizer(OpenTelemetrySdk openTelemetry, Tracer tracer) {
+        return restTemplate -> restTemplate.getInterceptors()
+                .add(new TracingClientHttpRequestInterceptor(openTelemetry.getPropagators(), tracer));
+    }
+}
\ No newline at end of file
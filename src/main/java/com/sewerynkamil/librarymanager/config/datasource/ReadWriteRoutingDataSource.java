@@ -0,0 +1,80 @@
+package com.sewerynkamil.librarymanager.config.datasource;
+
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Sends read-only transactions to the replica while it is within the lag tolerance of the
+ * current request and everything else to the primary. Has to sit behind a
+ * LazyConnectionDataSourceProxy, because the read-only flag of a transaction is only
+ * known once the transaction has started, after its connection was requested. Unwrapping
+ * goes to the primary.
+ */
+
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final long defaultLagTolerance;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor, long defaultLagTolerance) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.defaultLagTolerance = defaultLagTolerance;
+    }
+
+    private boolean useReplica() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                && lagMonitor.isUsable(ReplicaRouting.lagTolerance(defaultLagTolerance));
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (useReplica()) {
+            try {
+                Connection connection = replica.getConnection();
+                Metrics.counter("datasource.routing", "target", REPLICA).increment();
+                return connection;
+            } catch (SQLException e) {
+                LOGGER.warn("Falling back to the primary, replica connection failed: {}", e.getMessage());
+                lagMonitor.markUnavailable();
+            }
+        }
+        Metrics.counter("datasource.routing", "target", PRIMARY).increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
\ No newline at end of file
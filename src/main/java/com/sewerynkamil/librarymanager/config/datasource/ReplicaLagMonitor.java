@@ -0,0 +1,90 @@
+package com.sewerynkamil.librarymanager.config.datasource;
+
+import com.sewerynkamil.librarymanager.service.CatalogueVersionService;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Measures replication lag with a heartbeat row: the primary's clock is written to the primary
+ * and read back from the replica, so the replica is as far behind as the value it returns.
+ *
+ * A replica is only used once it has replicated a heartbeat written after the last catalogue
+ * change, otherwise a stale body could be served under the new catalogue ETag and stay cached.
+ */
+
+public class ReplicaLagMonitor {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private CatalogueVersionService catalogueVersionService;
+
+    private volatile boolean available;
+    private boolean failureReported;
+    private volatile long replicatedUpTo;
+    private volatile long lag = Long.MAX_VALUE;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, CatalogueVersionService catalogueVersionService) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.catalogueVersionService = catalogueVersionService;
+        Metrics.gauge("datasource.replica.lag", this, monitor -> monitor.available ? monitor.lag : -1);
+    }
+
+    public void createHeartbeatTable() {
+        primary.execute("CREATE TABLE IF NOT EXISTS REPLICA_HEARTBEAT (ID INT PRIMARY KEY, BEAT BIGINT NOT NULL)");
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.heartbeat-delay}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        try {
+            primary.update("MERGE INTO REPLICA_HEARTBEAT KEY (ID) VALUES (1, ?)", now);
+        } catch (DataAccessException e) {
+            LOGGER.warn("Unable to write the replica heartbeat: {}", e.getMessage());
+        }
+
+        try {
+            Long beat = replica.queryForObject("SELECT MAX(BEAT) FROM REPLICA_HEARTBEAT", Long.class);
+            replicatedUpTo = beat == null ? 0 : beat;
+            lag = Math.max(0, now - replicatedUpTo);
+            available = beat != null;
+            if (failureReported) {
+                failureReported = false;
+                LOGGER.info("Replica is reachable again, {} ms behind the primary", lag);
+            }
+        } catch (DataAccessException e) {
+            markUnavailable();
+            if (!failureReported) {
+                failureReported = true;
+                LOGGER.warn("Replica is unavailable, reading from the primary: {}", e.getMessage());
+            }
+        }
+    }
+
+    public void markUnavailable() {
+        available = false;
+    }
+
+    public boolean isUsable(final long lagTolerance) {
+        return available
+                && lag <= lagTolerance
+                && replicatedUpTo > catalogueVersionService.getLastChange();
+    }
+
+    public long getLag() {
+        return lag;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+}
\ No newline at end of file
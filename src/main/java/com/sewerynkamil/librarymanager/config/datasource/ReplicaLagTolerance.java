@@ -0,0 +1,19 @@
+package com.sewerynkamil.librarymanager.config.datasource;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * How many milliseconds behind the primary a replica may be to serve the read-only
+ * transactions of a controller method. Zero keeps the endpoint on the primary.
+ */
+
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ReplicaLagTolerance {
+    long value();
+}
\ No newline at end of file
@@ -0,0 +1,27 @@
+package com.sewerynkamil.librarymanager.config.datasource;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Replica lag tolerance of the request being served on the current thread.
+ */
+
+public final class ReplicaRouting {
+    private static final ThreadLocal<Long> LAG_TOLERANCE = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static void begin(final long lagTolerance) {
+        LAG_TOLERANCE.set(lagTolerance);
+    }
+
+    public static void end() {
+        LAG_TOLERANCE.remove();
+    }
+
+    public static long lagTolerance(final long defaultTolerance) {
+        Long lagTolerance = LAG_TOLERANCE.get();
+        return lagTolerance == null ? defaultTolerance : lagTolerance;
+    }
+}
\ No newline at end of file
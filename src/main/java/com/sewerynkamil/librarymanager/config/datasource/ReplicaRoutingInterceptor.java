@@ -0,0 +1,36 @@
+package com.sewerynkamil.librarymanager.config.datasource;
+
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Applies the @ReplicaLagTolerance of a controller method for the duration of the request.
+ */
+
+public class ReplicaRoutingInterceptor extends HandlerInterceptorAdapter {
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            ReplicaLagTolerance tolerance = handlerMethod.getMethodAnnotation(ReplicaLagTolerance.class);
+            if (tolerance == null) {
+                tolerance = AnnotatedElementUtils.findMergedAnnotation(handlerMethod.getBeanType(), ReplicaLagTolerance.class);
+            }
+            if (tolerance != null) {
+                ReplicaRouting.begin(tolerance.value());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        ReplicaRouting.end();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,189 @@
+package com.sewerynkamil.librarymanager.config.hibernate;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.observer.EventBus;
+import com.sewerynkamil.librarymanager.observer.SpecimenStatusChangedEvent;
+import com.sewerynkamil.librarymanager.service.CatalogueVersionService;
+import org.hibernate.Hibernate;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.jdbc.spi.JdbcCoordinator;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.spi.*;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Keeps the specimen counters of BOOKS in step with SPECIMENS. Every inserted or deleted specimen, and every
+ * change of a specimen's status or book, adds its delta to the book row in the same transaction with a relative
+ * UPDATE, so concurrent rents of one book never lose a count. The deltas of one flush are summed per book and
+ * written in a single JDBC batch once the flush has executed, ordered by book id so concurrent flushes lock the
+ * rows in the same order and the specimen statements of the flush stay batched. The cached book is evicted and,
+ * when it is loaded in the session, its counters are adjusted in place. An updated book is evicted after the
+ * transaction as well, since the state Hibernate caches for it may carry counters loaded before another
+ * transaction's change. The catalogue version is bumped once per flush that changed counters, not per specimen.
+ * Every change is also published as a SpecimenStatusChangedEvent.
+ */
+
+public class AvailabilityEventListener implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener,
+        FlushEventListener, AutoFlushEventListener {
+    private static final String UPDATE = "UPDATE BOOKS SET TOTAL_SPECIMENS = TOTAL_SPECIMENS + ?, " +
+            "AVAILABLE_SPECIMENS = AVAILABLE_SPECIMENS + ?, RENTED_SPECIMENS = RENTED_SPECIMENS + ?, " +
+            "LOST_SPECIMENS = LOST_SPECIMENS + ? WHERE ID = ?";
+
+    private final Map<SessionImplementor, SortedMap<Long, int[]>> pending = new ConcurrentHashMap<>();
+    private CatalogueVersionService catalogueVersionService;
+    private EventBus eventBus;
+
+    public AvailabilityEventListener(CatalogueVersionService catalogueVersionService, EventBus eventBus) {
+        this.catalogueVersionService = catalogueVersionService;
+        this.eventBus = eventBus;
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        if (event.getEntity() instanceof Specimen) {
+            Object book = book(event.getPersister(), event.getState());
+            Status status = status(event.getPersister(), event.getState());
+            change(event.getSession(), book, status, 1);
+            eventBus.publish(new SpecimenStatusChangedEvent((Long) event.getId(), bookId(book), null, status));
+        }
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        if (event.getEntity() instanceof Book) {
+            evictAfterTransaction(event.getSession(), (Long) event.getId());
+        }
+        if (!(event.getEntity() instanceof Specimen) || event.getOldState() == null) {
+            return;
+        }
+        Object oldBook = book(event.getPersister(), event.getOldState());
+        Object newBook = book(event.getPersister(), event.getState());
+        Status oldStatus = status(event.getPersister(), event.getOldState());
+        Status newStatus = status(event.getPersister(), event.getState());
+        if (oldStatus != newStatus || !Objects.equals(bookId(oldBook), bookId(newBook))) {
+            change(event.getSession(), oldBook, oldStatus, -1);
+            change(event.getSession(), newBook, newStatus, 1);
+            eventBus.publish(new SpecimenStatusChangedEvent((Long) event.getId(), bookId(newBook), oldStatus, newStatus));
+        }
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        if (event.getEntity() instanceof Specimen) {
+            Object book = book(event.getPersister(), event.getDeletedState());
+            Status status = status(event.getPersister(), event.getDeletedState());
+            change(event.getSession(), book, status, -1);
+            eventBus.publish(new SpecimenStatusChangedEvent((Long) event.getId(), bookId(book), status, null));
+        }
+    }
+
+    @Override
+    public void onFlush(FlushEvent event) {
+        apply(event.getSession());
+    }
+
+    @Override
+    public void onAutoFlush(AutoFlushEvent event) {
+        apply(event.getSession());
+    }
+
+    // Hibernate 5.3 still declares the deprecated method abstract
+    @Override
+    @SuppressWarnings("deprecation")
+    public boolean requiresPostCommitHanding(EntityPersister persister) {
+        return false;
+    }
+
+    private void change(final EventSource session, final Object book, final Status status, final int delta) {
+        Long bookId = bookId(book);
+        if (bookId == null) {
+            return;
+        }
+        int available = status == Status.AVAILABLE ? delta : 0;
+        int rented = status == Status.RENTED ? delta : 0;
+        int lost = status == Status.LOST ? delta : 0;
+        int[] counters = pending.computeIfAbsent(session, key -> {
+            // Drops what a failed flush left behind
+            session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) ->
+                    pending.remove(completed));
+            return new TreeMap<>();
+        }).computeIfAbsent(bookId, key -> new int[4]);
+        counters[0] += delta;
+        counters[1] += available;
+        counters[2] += rented;
+        counters[3] += lost;
+
+        if (Hibernate.isInitialized(book)) {
+            Book loaded = (Book) Hibernate.unproxy(book);
+            loaded.setTotalSpecimens(loaded.getTotalSpecimens() + delta);
+            loaded.setAvailableSpecimens(loaded.getAvailableSpecimens() + available);
+            loaded.setRentedSpecimens(loaded.getRentedSpecimens() + rented);
+            loaded.setLostSpecimens(loaded.getLostSpecimens() + lost);
+        }
+        session.getFactory().getCache().evictEntityData(Book.class, bookId);
+        evictAfterTransaction(session, bookId);
+    }
+
+    private void apply(final EventSource session) {
+        SortedMap<Long, int[]> changes = pending.remove(session);
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        catalogueVersionService.booksChanged();
+        JdbcCoordinator jdbcCoordinator = session.getJdbcCoordinator();
+        PreparedStatement statement = jdbcCoordinator.getStatementPreparer().prepareStatement(UPDATE);
+        try {
+            for (Map.Entry<Long, int[]> change : changes.entrySet()) {
+                int[] counters = change.getValue();
+                statement.setInt(1, counters[0]);
+                statement.setInt(2, counters[1]);
+                statement.setInt(3, counters[2]);
+                statement.setInt(4, counters[3]);
+                statement.setLong(5, change.getKey());
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        } catch (SQLException e) {
+            throw session.getJdbcServices().getSqlExceptionHelper().convert(e, "Could not update specimen counters", UPDATE);
+        } finally {
+            jdbcCoordinator.getLogicalConnection().getResourceRegistry().release(statement);
+            jdbcCoordinator.afterStatementExecution();
+        }
+    }
+
+    private static void evictAfterTransaction(final EventSource session, final Long bookId) {
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completed) ->
+                completed.getFactory().getCache().evictEntityData(Book.class, bookId));
+    }
+
+    private static Object book(final EntityPersister persister, final Object[] state) {
+        return state[persister.getEntityMetamodel().getPropertyIndex("book")];
+    }
+
+    private static Status status(final EntityPersister persister, final Object[] state) {
+        return (Status) state[persister.getEntityMetamodel().getPropertyIndex("status")];
+    }
+
+    private static Long bookId(final Object book) {
+        if (book == null) {
+            return null;
+        }
+        if (book instanceof HibernateProxy) {
+            return (Long) ((HibernateProxy) book).getHibernateLazyInitializer().getIdentifier();
+        }
+        return ((Book) book).getId();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.sewerynkamil.librarymanager.config.hibernate;
+
+import com.sewerynkamil.librarymanager.dto.HibernateStatisticsDto;
+import com.sewerynkamil.librarymanager.service.HibernateStatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * /actuator/hibernate - read the statistics, DELETE to start a fresh measurement.
+ */
+
+@Component
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+    private HibernateStatisticsService hibernateStatisticsService;
+
+    @Autowired
+    public HibernateStatisticsEndpoint(HibernateStatisticsService hibernateStatisticsService) {
+        this.hibernateStatisticsService = hibernateStatisticsService;
+    }
+
+    @ReadOperation
+    public HibernateStatisticsDto statistics() {
+        return hibernateStatisticsService.getStatistics();
+    }
+
+    @DeleteOperation
+    public void reset() {
+        hibernateStatisticsService.reset();
+    }
+}
\ No newline at end of file
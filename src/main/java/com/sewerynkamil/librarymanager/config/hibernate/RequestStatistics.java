@@ -0,0 +1,82 @@
+package com.sewerynkamil.librarymanager.config.hibernate;
+
+import lombok.Getter;
+
+import java.util.Optional;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Hibernate work done while serving one request. Hibernate calls its listeners on the request
+ * thread, so the counters live in a thread local opened and closed around each handler call.
+ */
+
+@Getter
+public class RequestStatistics {
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final String requestType;
+    private int statements;
+    private long statementNanos;
+    private int slowStatements;
+    private int entityLoads;
+    private int collectionLoads;
+    private int cacheHits;
+    private int cacheMisses;
+
+    private RequestStatistics(final String requestType) {
+        this.requestType = requestType;
+    }
+
+    public static void begin(final String requestType) {
+        CURRENT.set(new RequestStatistics(requestType));
+    }
+
+    public static Optional<RequestStatistics> end() {
+        Optional<RequestStatistics> statistics = Optional.ofNullable(CURRENT.get());
+        CURRENT.remove();
+        return statistics;
+    }
+
+    public static String currentRequestType() {
+        RequestStatistics statistics = CURRENT.get();
+        return statistics == null ? Thread.currentThread().getName() : statistics.requestType;
+    }
+
+    static void statementPrepared() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void statementExecuted(final long nanos, final boolean slow) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statementNanos += nanos;
+            statistics.slowStatements += slow ? 1 : 0;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    static void collectionLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.collectionLoads++;
+        }
+    }
+
+    static void cacheGet(final boolean hit) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.cacheHits += hit ? 1 : 0;
+            statistics.cacheMisses += hit ? 0 : 1;
+        }
+    }
+}
\ No newline at end of file
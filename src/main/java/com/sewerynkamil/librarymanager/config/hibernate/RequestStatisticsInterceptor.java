@@ -0,0 +1,36 @@
+package com.sewerynkamil.librarymanager.config.hibernate;
+
+import com.sewerynkamil.librarymanager.service.HibernateStatisticsService;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Opens the request statistics for a controller method and hands them over once the request completes.
+ */
+
+public class RequestStatisticsInterceptor extends HandlerInterceptorAdapter {
+    private HibernateStatisticsService hibernateStatisticsService;
+
+    public RequestStatisticsInterceptor(HibernateStatisticsService hibernateStatisticsService) {
+        this.hibernateStatisticsService = hibernateStatisticsService;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            HandlerMethod handlerMethod = (HandlerMethod) handler;
+            RequestStatistics.begin(handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestStatistics.end().ifPresent(hibernateStatisticsService::record);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.sewerynkamil.librarymanager.config.hibernate;
+
+import org.hibernate.event.spi.InitializeCollectionEvent;
+import org.hibernate.event.spi.InitializeCollectionEventListener;
+import org.hibernate.event.spi.PostLoadEvent;
+import org.hibernate.event.spi.PostLoadEventListener;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Counts the entities and collections materialized for the current request, from the database or the second-level cache.
+ */
+
+public class StatisticsEventListener implements PostLoadEventListener, InitializeCollectionEventListener {
+    @Override
+    public void onPostLoad(PostLoadEvent event) {
+        RequestStatistics.entityLoaded();
+    }
+
+    @Override
+    public void onInitializeCollection(InitializeCollectionEvent event) {
+        RequestStatistics.collectionLoaded();
+    }
+}
\ No newline at end of file
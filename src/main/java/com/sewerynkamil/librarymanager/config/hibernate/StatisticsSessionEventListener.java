@@ -0,0 +1,67 @@
+package com.sewerynkamil.librarymanager.config.hibernate;
+
+import org.hibernate.BaseSessionEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Created by Hibernate for every session. Counts and times the JDBC statements of the current request
+ * and logs the ones slower than the threshold together with the controller method that issued them.
+ */
+
+public class StatisticsSessionEventListener extends BaseSessionEventListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatisticsSessionEventListener.class);
+
+    private static volatile long slowQueryThreshold = Long.MAX_VALUE;
+
+    private long executionStart;
+
+    public static void setSlowQueryThreshold(final long thresholdMillis) {
+        slowQueryThreshold = thresholdMillis;
+    }
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        RequestStatistics.statementPrepared();
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        RequestStatistics.cacheGet(hit);
+    }
+
+    private void executed() {
+        long nanos = System.nanoTime() - executionStart;
+        long millis = TimeUnit.NANOSECONDS.toMillis(nanos);
+        boolean slow = millis >= slowQueryThreshold;
+        RequestStatistics.statementExecuted(nanos, slow);
+        if (slow) {
+            LOGGER.warn("Slow query ({} ms) from {}: {}",
+                    millis, RequestStatistics.currentRequestType(), StatisticsStatementInspector.lastStatement());
+        }
+    }
+}
\ No newline at end of file
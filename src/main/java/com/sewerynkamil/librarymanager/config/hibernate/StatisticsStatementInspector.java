@@ -0,0 +1,23 @@
+package com.sewerynkamil.librarymanager.config.hibernate;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Remembers the SQL prepared last on each thread, so a slow execution can be logged with its statement.
+ */
+
+public class StatisticsStatementInspector implements StatementInspector {
+    private static final ThreadLocal<String> LAST_STATEMENT = new ThreadLocal<>();
+
+    static String lastStatement() {
+        return LAST_STATEMENT.get();
+    }
+
+    @Override
+    public String inspect(String sql) {
+        LAST_STATEMENT.set(sql);
+        return sql;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,98 @@
+package com.sewerynkamil.librarymanager.config.migration;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.CodedEnum;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.Types;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Converts status, category and role columns written before they were stored as SMALLINT codes.
+ * Runs before the entity manager factory starts, so Hibernate only ever sees converted columns.
+ * Columns which are already numeric or do not exist yet are left alone. Every step is a separate DDL
+ * commit, so a migration interrupted after the character column was dropped is finished on the next start
+ * from the code column left behind.
+ */
+
+public class EnumCodeMigration {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EnumCodeMigration.class);
+
+    private JdbcTemplate jdbcTemplate;
+
+    public EnumCodeMigration(DataSource dataSource) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    public void migrate() {
+        migrate("SPECIMENS", "STATUS", Status.values(), Status::getStatus);
+        migrate("BOOKS", "CATEGORY", Category.values(), Category::getCategory);
+        migrate("USERS", "ROLE", Role.values(), Role::getRole);
+    }
+
+    private <E extends CodedEnum> void migrate(final String table, final String column, final E[] values, final Function<E, String> displayName) {
+        String codeColumn = column + "_CODE";
+        Integer type = columnType(table, column);
+        if (!isCharacter(type)) {
+            if (columnType(table, codeColumn) != null) {
+                finish(table, column, codeColumn, type != null);
+            }
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD COLUMN IF NOT EXISTS " + codeColumn + " SMALLINT");
+        for (E value : values) {
+            jdbcTemplate.update("UPDATE " + table + " SET " + codeColumn + " = ? WHERE UPPER(" + column + ") = UPPER(?)",
+                    value.getCode(), displayName.apply(value));
+        }
+
+        List<String> unknown = jdbcTemplate.queryForList(
+                "SELECT DISTINCT " + column + " FROM " + table + " WHERE " + codeColumn + " IS NULL", String.class);
+        if (!unknown.isEmpty()) {
+            throw new IllegalStateException("Cannot migrate " + table + "." + column + ", unknown values: " + unknown);
+        }
+
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + codeColumn + " SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN " + column);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + codeColumn + " RENAME TO " + column);
+        LOGGER.info("Migrated {}.{} to SMALLINT codes", table, column);
+    }
+
+    private void finish(final String table, final String column, final String codeColumn, final boolean recreated) {
+        if (recreated) {
+            // Added again by ddl-auto after the character column was dropped, so it can only hold nulls
+            Integer filled = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + table + " WHERE " + column + " IS NOT NULL", Integer.class);
+            if (filled > 0) {
+                throw new IllegalStateException("Cannot finish migrating " + table + "." + column + ", both "
+                        + column + " and " + codeColumn + " hold values");
+            }
+            jdbcTemplate.execute("ALTER TABLE " + table + " DROP COLUMN " + column);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + codeColumn + " SET NOT NULL");
+        jdbcTemplate.execute("ALTER TABLE " + table + " ALTER COLUMN " + codeColumn + " RENAME TO " + column);
+        LOGGER.info("Finished interrupted migration of {}.{} to SMALLINT codes", table, column);
+    }
+
+    private Integer columnType(final String table, final String column) {
+        return jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (ResultSet columns = connection.getMetaData().getColumns(null, null, table, column)) {
+                return columns.next() ? columns.getInt("DATA_TYPE") : null;
+            }
+        });
+    }
+
+    private boolean isCharacter(final Integer type) {
+        return type != null
+                && (type == Types.VARCHAR || type == Types.CHAR || type == Types.LONGVARCHAR || type == Types.NVARCHAR);
+    }
+}
\ No newline at end of file
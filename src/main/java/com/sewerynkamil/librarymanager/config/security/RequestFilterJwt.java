@@ -1,8 +1,17 @@
 package com.sewerynkamil.librarymanager.config.security;
 
 import com.google.common.net.HttpHeaders;
+import com.sewerynkamil.librarymanager.config.TracingConfig;
 import com.sewerynkamil.librarymanager.service.UserService;
 import io.jsonwebtoken.ExpiredJwtException;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -25,45 +34,70 @@ import java.io.IOException;
 public class RequestFilterJwt extends OncePerRequestFilter {
     private UserService userService;
     private TokenUtilJwt tokenUtil;
+    private Tracer tracer;
 
     @Autowired
-    public RequestFilterJwt(UserService userService, TokenUtilJwt tokenUtil) {
+    public RequestFilterJwt(UserService userService, TokenUtilJwt tokenUtil, ObjectProvider<Tracer> tracer) {
         this.userService = userService;
         this.tokenUtil = tokenUtil;
+        // Web slice tests have no tracing configuration
+        this.tracer = tracer.getIfAvailable(() -> OpenTelemetry.noop().getTracer(TracingConfig.INSTRUMENTATION_NAME));
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
-        final String requestTokenHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        // The global registry is backed by the application's registry and stays a no-op in web slice tests
+        Timer.Sample sample = Timer.start(Metrics.globalRegistry);
+        Span span = tracer.spanBuilder("RequestFilterJwt").startSpan();
+        String outcome = "anonymous";
+        try {
+            final String requestTokenHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
 
-        String username = null;
-        String jwtToken = null;
+            String username = null;
+            String jwtToken = null;
 
-        if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
-            jwtToken = requestTokenHeader.substring(7);
-            try {
-                username = tokenUtil.getUsernameFromToken(jwtToken);
-            } catch (IllegalArgumentException e) {
-                System.out.println("Unable to get JWT Token");
-            } catch (ExpiredJwtException e) {
-                System.out.println("JWT Token has expired");
+            if (requestTokenHeader != null && requestTokenHeader.startsWith("Bearer ")) {
+                jwtToken = requestTokenHeader.substring(7);
+                try {
+                    username = tokenUtil.getUsernameFromToken(jwtToken);
+                } catch (IllegalArgumentException e) {
+                    outcome = "invalid";
+                    logger.warn("Unable to get JWT Token");
+                } catch (ExpiredJwtException e) {
+                    outcome = "expired";
+                    logger.warn("JWT Token has expired");
+                }
+            } else {
+                logger.warn("JWT Token does not begin with Bearer String");
             }
-        } else {
-            logger.warn("JWT Token does not begin with Bearer String");
-        }
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userService.loadUserByUsername(username);
+            if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+                UserDetails userDetails;
+                try (Scope scope = span.makeCurrent()) {
+                    userDetails = this.userService.loadUserByUsername(username);
+                }
 
-            if (tokenUtil.validateToken(jwtToken, userDetails)) {
-                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+                outcome = "rejected";
+                if (tokenUtil.validateToken(jwtToken, userDetails)) {
+                    outcome = "authenticated";
+                    UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken =
+                            new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
-                usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
-                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                    SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
+                }
             }
+        } catch (RuntimeException e) {
+            outcome = "error";
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            sample.stop(Metrics.timer("jwt.filter", "outcome", outcome));
+            span.setAttribute("outcome", outcome);
+            span.end();
         }
         chain.doFilter(request, response);
     }
@@ -67,8 +67,11 @@ public class WebSecurityConfig extends WebSecurityConfigurerAdapter {
                             "/v2/api-docs",
                             "/webjars/**",
                             "/swagger-resources/**",
-                            "/configuration/**")
+                            "/configuration/**",
+                            "/actuator/health")
                     .permitAll()
+                .antMatchers("/actuator/**")
+                    .hasRole("Admin")
                 .anyRequest()
                     .authenticated()
                     .and()
@@ -0,0 +1,79 @@
+package com.sewerynkamil.librarymanager.config.tracing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Appends finished spans to a local file, one JSON object per line.
+ */
+
+public class FileSpanExporter implements SpanExporter {
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileSpanExporter.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Path file;
+
+    public FileSpanExporter(Path file) {
+        this.file = file;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<SpanData> spans) {
+        try {
+            if (file.getParent() != null) {
+                Files.createDirectories(file.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (SpanData span : spans) {
+                    writer.write(MAPPER.writeValueAsString(toJson(span)));
+                    writer.newLine();
+                }
+            }
+            return CompletableResultCode.ofSuccess();
+        } catch (IOException e) {
+            LOGGER.warn("Failed to export {} spans to {}: {}", spans.size(), file, e.getMessage());
+            return CompletableResultCode.ofFailure();
+        }
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private ObjectNode toJson(final SpanData span) {
+        ObjectNode json = MAPPER.createObjectNode()
+                .put("traceId", span.getTraceId())
+                .put("spanId", span.getSpanId())
+                .put("parentSpanId", span.getParentSpanId())
+                .put("name", span.getName())
+                .put("kind", span.getKind().name())
+                .put("startEpochNanos", span.getStartEpochNanos())
+                .put("durationMicros", (span.getEndEpochNanos() - span.getStartEpochNanos()) / 1000)
+                .put("status", span.getStatus().getStatusCode().name());
+        ObjectNode attributes = json.putObject("attributes");
+        span.getAttributes().forEach((key, value) -> attributes.put(key.getKey(), String.valueOf(value)));
+        return json;
+    }
+}
\ No newline at end of file
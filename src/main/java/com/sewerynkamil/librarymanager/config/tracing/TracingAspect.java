@@ -0,0 +1,78 @@
+package com.sewerynkamil.librarymanager.config.tracing;
+
+import com.sewerynkamil.librarymanager.repository.LoadingRepository;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Internal spans around service calls and client spans around repository calls.
+ */
+
+@Aspect
+@Component
+public class TracingAspect {
+    private Tracer tracer;
+
+    private final Map<Class<?>, String> repositoryNames = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TracingAspect(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Around("@within(org.springframework.stereotype.Service) && execution(public * com.sewerynkamil.librarymanager.service..*(..))")
+    public Object traceServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName() + "." + joinPoint.getSignature().getName();
+        return trace(joinPoint, tracer.spanBuilder(name)
+                .setSpanKind(SpanKind.INTERNAL)
+                .startSpan());
+    }
+
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object traceRepositoryCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        String name = repositoryName(joinPoint.getTarget().getClass()) + "." + joinPoint.getSignature().getName();
+        return trace(joinPoint, tracer.spanBuilder(name)
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("db.system", "h2")
+                .setAttribute("db.operation", joinPoint.getSignature().getName())
+                .startSpan());
+    }
+
+    private String repositoryName(final Class<?> proxyClass) {
+        return repositoryNames.computeIfAbsent(proxyClass, type -> Arrays.stream(type.getInterfaces())
+                .filter(Repository.class::isAssignableFrom)
+                .filter(repository -> repository.getPackage().equals(LoadingRepository.class.getPackage()))
+                .filter(repository -> repository != LoadingRepository.class)
+                .map(Class::getSimpleName)
+                .findFirst()
+                .orElse(type.getSimpleName()));
+    }
+
+    private Object trace(final ProceedingJoinPoint joinPoint, final Span span) throws Throwable {
+        try (Scope scope = span.makeCurrent()) {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.sewerynkamil.librarymanager.config.tracing;
+
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.context.propagation.ContextPropagators;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+import java.io.IOException;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Client span around every outbound RestTemplate call, passing the trace on in the traceparent header.
+ */
+
+public class TracingClientHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+    private ContextPropagators propagators;
+    private Tracer tracer;
+
+    public TracingClientHttpRequestInterceptor(ContextPropagators propagators, Tracer tracer) {
+        this.propagators = propagators;
+        this.tracer = tracer;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        // The path only - the NY Times api key travels in the query
+        Span span = tracer.spanBuilder(request.getMethodValue() + " " + request.getURI().getHost())
+                .setSpanKind(SpanKind.CLIENT)
+                .setAttribute("http.method", request.getMethodValue())
+                .setAttribute("net.peer.name", request.getURI().getHost())
+                .setAttribute("http.target", request.getURI().getPath())
+                .startSpan();
+
+        try (Scope scope = span.makeCurrent()) {
+            propagators.getTextMapPropagator().inject(Context.current(), request.getHeaders(),
+                    (headers, key, value) -> headers.set(key, value));
+            ClientHttpResponse response = execution.execute(request, body);
+            span.setAttribute("http.status_code", response.getRawStatusCode());
+            if (response.getRawStatusCode() >= 400) {
+                span.setStatus(StatusCode.ERROR);
+            }
+            return response;
+        } catch (IOException | RuntimeException e) {
+            span.recordException(e);
+            span.setStatus(StatusCode.ERROR);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+}
\ No newline at end of file
@@ -1,14 +1,22 @@
 package com.sewerynkamil.librarymanager.controller;
 
+import com.sewerynkamil.librarymanager.config.datasource.ReplicaLagTolerance;
+import com.sewerynkamil.librarymanager.domain.enumerated.PopularityWindow;
 import com.sewerynkamil.librarymanager.domain.exceptions.BookExistException;
 import com.sewerynkamil.librarymanager.domain.exceptions.BookNotExistException;
 import com.sewerynkamil.librarymanager.dto.BookDto;
+import com.sewerynkamil.librarymanager.dto.PopularBookDto;
+import com.sewerynkamil.librarymanager.dto.RecommendationDto;
 import com.sewerynkamil.librarymanager.mapper.BookMapper;
 import com.sewerynkamil.librarymanager.service.BookService;
+import com.sewerynkamil.librarymanager.service.CatalogueVersionService;
+import com.sewerynkamil.librarymanager.service.PopularityService;
+import com.sewerynkamil.librarymanager.service.RecommendationService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -22,38 +30,95 @@ import java.util.List;
 public class BookController {
     private BookService bookService;
     private BookMapper bookMapper;
+    private CatalogueVersionService catalogueVersionService;
+    private PopularityService popularityService;
+    private RecommendationService recommendationService;
 
     @Autowired
-    public BookController(BookService bookService, BookMapper bookMapper) {
+    public BookController(
+            BookService bookService,
+            BookMapper bookMapper,
+            CatalogueVersionService catalogueVersionService,
+            PopularityService popularityService,
+            RecommendationService recommendationService) {
         this.bookService = bookService;
         this.bookMapper = bookMapper;
+        this.catalogueVersionService = catalogueVersionService;
+        this.popularityService = popularityService;
+        this.recommendationService = recommendationService;
     }
 
+    @ReplicaLagTolerance(30000)
     @GetMapping
-    public List<BookDto> getAllBooksWithLazyLoading(@RequestParam int offset, @RequestParam int limit) {
-        return bookMapper.mapToBookDtoList(bookService.findAllBooksWithLazyLoading(offset, limit));
+    public List<BookDto> getAllBooksWithLazyLoading(
+            @RequestParam int offset,
+            @RequestParam int limit,
+            @RequestParam(defaultValue = "false") boolean available,
+            WebRequest request) {
+        if (request.checkNotModified(catalogueVersionService.getBooksETag(), catalogueVersionService.getBooksLastModified())) {
+            return null;
+        }
+        return bookMapper.mapToBookDtoList(bookService.findAllBooksWithLazyLoading(offset, limit, available));
     }
 
+    @ReplicaLagTolerance(30000)
     @GetMapping("/titles/{title}")
-    public List<BookDto> getAllBooksByTitleStartsWithIgnoreCase(@PathVariable String title) {
-        return bookMapper.mapToBookDtoList(bookService.findAllBooksByTitleStartsWithIgnoreCase(title));
+    public List<BookDto> getAllBooksByTitleStartsWithIgnoreCase(
+            @PathVariable String title,
+            @RequestParam(defaultValue = "false") boolean available,
+            WebRequest request) {
+        if (request.checkNotModified(catalogueVersionService.getBooksETag(), catalogueVersionService.getBooksLastModified())) {
+            return null;
+        }
+        return bookMapper.mapToBookDtoList(bookService.findAllBooksByTitleStartsWithIgnoreCase(title, available));
     }
 
+    @ReplicaLagTolerance(30000)
     @GetMapping("/authors/{author}")
-    public List<BookDto> getAllBooksByAuthorStartsWithIgnoreCase(@PathVariable String author) {
-        return bookMapper.mapToBookDtoList(bookService.findAllBooksByAuthorStartsWithIgnoreCase(author));
+    public List<BookDto> getAllBooksByAuthorStartsWithIgnoreCase(
+            @PathVariable String author,
+            @RequestParam(defaultValue = "false") boolean available,
+            WebRequest request) {
+        if (request.checkNotModified(catalogueVersionService.getBooksETag(), catalogueVersionService.getBooksLastModified())) {
+            return null;
+        }
+        return bookMapper.mapToBookDtoList(bookService.findAllBooksByAuthorStartsWithIgnoreCase(author, available));
     }
 
+    @ReplicaLagTolerance(30000)
     @GetMapping("/categories/{category}")
-    public List<BookDto> getAllBooksByCategoryStartsWithIgnoreCase(@PathVariable String category) {
-        return bookMapper.mapToBookDtoList(bookService.findAllBooksByCategoryStartsWithIgnoreCase(category));
+    public List<BookDto> getAllBooksByCategoryStartsWithIgnoreCase(
+            @PathVariable String category,
+            @RequestParam(defaultValue = "false") boolean available,
+            WebRequest request) {
+        if (request.checkNotModified(catalogueVersionService.getBooksETag(), catalogueVersionService.getBooksLastModified())) {
+            return null;
+        }
+        return bookMapper.mapToBookDtoList(bookService.findAllBooksByCategoryStartsWithIgnoreCase(category, available));
+    }
+
+    @ReplicaLagTolerance(30000)
+    @GetMapping("/popular")
+    public List<PopularBookDto> getPopularBooks(
+            @RequestParam(defaultValue = "7d") String window,
+            @RequestParam(defaultValue = "10") int limit) {
+        return popularityService.findPopularBooks(PopularityWindow.fromLabel(window), Math.min(Math.max(limit, 1), 100));
     }
 
     @GetMapping("/{id}")
-    public BookDto getOneBook(@PathVariable Long id) throws BookNotExistException {
+    public BookDto getOneBook(@PathVariable Long id, WebRequest request) throws BookNotExistException {
+        if (request.checkNotModified(catalogueVersionService.getBooksETag(), catalogueVersionService.getBooksLastModified())) {
+            return null;
+        }
         return bookMapper.mapToBookDto(bookService.findOneBook(id));
     }
 
+    @ReplicaLagTolerance(30000)
+    @GetMapping("/{id}/recommendations")
+    public List<RecommendationDto> getRecommendations(@PathVariable Long id) {
+        return recommendationService.findRecommendations(id);
+    }
+
     @GetMapping(value = "/exist/{title}")
     public boolean isBookExist(@PathVariable String title) {
         return bookService.isBookExist(title);
@@ -79,6 +144,6 @@ public class BookController {
     @PreAuthorize("hasAnyRole('Admin')")
     @DeleteMapping
     public void deleteBook(@RequestParam Long id) throws BookNotExistException {
-        bookService.deleteBook(bookService.findOneBook(id));
+        bookService.deleteBook(id);
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.sewerynkamil.librarymanager.controller;
+
+import com.sewerynkamil.librarymanager.dto.ChangeFeedDto;
+import com.sewerynkamil.librarymanager.mapper.ChangeMapper;
+import com.sewerynkamil.librarymanager.service.ChangeLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RestController
+@CrossOrigin("*")
+@RequestMapping(value = "/v1/changes")
+public class ChangeController {
+    private ChangeLogService changeLogService;
+    private ChangeMapper changeMapper;
+    private long maxWait;
+
+    @Autowired
+    public ChangeController(
+            ChangeLogService changeLogService,
+            ChangeMapper changeMapper,
+            @Value("${changes.max-wait}") long maxWait) {
+        this.changeLogService = changeLogService;
+        this.changeMapper = changeMapper;
+        this.maxWait = maxWait;
+    }
+
+    @PreAuthorize("hasAnyRole('Admin')")
+    @GetMapping
+    public DeferredResult<ChangeFeedDto> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "0") long wait) {
+        long cursor = Math.max(since, 0);
+        return changeLogService.awaitChanges(cursor, Math.min(Math.max(limit, 1), 1000), Math.min(Math.max(wait, 0), maxWait),
+                changes -> changeMapper.mapToChangeFeedDto(cursor, changes));
+    }
+}
\ No newline at end of file
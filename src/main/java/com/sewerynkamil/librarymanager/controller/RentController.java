@@ -1,14 +1,21 @@
 package com.sewerynkamil.librarymanager.controller;
 
+import com.sewerynkamil.librarymanager.domain.exceptions.RentNotExistException;
 import com.sewerynkamil.librarymanager.domain.exceptions.SpecimenNotExistException;
 import com.sewerynkamil.librarymanager.domain.exceptions.UserNotExistException;
+import com.sewerynkamil.librarymanager.dto.RentBatchResultDto;
 import com.sewerynkamil.librarymanager.dto.RentDto;
+import com.sewerynkamil.librarymanager.dto.RentHistoryDto;
+import com.sewerynkamil.librarymanager.mapper.RentHistoryMapper;
 import com.sewerynkamil.librarymanager.mapper.RentMapper;
+import com.sewerynkamil.librarymanager.service.IdempotencyService;
+import com.sewerynkamil.librarymanager.service.RentHistoryService;
 import com.sewerynkamil.librarymanager.service.RentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.security.Principal;
 import java.util.List;
 
 /**
@@ -19,13 +26,26 @@ import java.util.List;
 @CrossOrigin("*")
 @RequestMapping(value = "/v1/rents")
 public class RentController {
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private RentService rentService;
     private RentMapper rentMapper;
+    private RentHistoryService rentHistoryService;
+    private RentHistoryMapper rentHistoryMapper;
+    private IdempotencyService idempotencyService;
 
     @Autowired
-    public RentController(RentService rentService, RentMapper rentMapper) {
+    public RentController(
+            RentService rentService,
+            RentMapper rentMapper,
+            RentHistoryService rentHistoryService,
+            RentHistoryMapper rentHistoryMapper,
+            IdempotencyService idempotencyService) {
         this.rentService = rentService;
         this.rentMapper = rentMapper;
+        this.rentHistoryService = rentHistoryService;
+        this.rentHistoryMapper = rentHistoryMapper;
+        this.idempotencyService = idempotencyService;
     }
 
     @PreAuthorize("hasAnyRole('Admin')")
@@ -51,6 +71,17 @@ public class RentController {
         return rentMapper.mapToRentDtoList(rentService.findAllRentsByUserEmailStartsWithIgnoreCase(email));
     }
 
+    @GetMapping("/history/user/{userId}")
+    public List<RentHistoryDto> getRentHistoryByUserId(@PathVariable Long userId) {
+        return rentHistoryMapper.mapToRentHistoryDtoList(rentHistoryService.findAllByUserId(userId));
+    }
+
+    @PreAuthorize("hasAnyRole('Admin')")
+    @GetMapping("/history/book/{bookId}")
+    public List<RentHistoryDto> getRentHistoryByBookId(@PathVariable Long bookId) {
+        return rentHistoryMapper.mapToRentHistoryDtoList(rentHistoryService.findAllByBookId(bookId));
+    }
+
     @GetMapping("/count")
     public Long countRents() {
         return rentService.countRents();
@@ -69,8 +100,18 @@ public class RentController {
     }
 
     @PostMapping(value = "/{userId}")
-    public void rentBook(@RequestParam Long specimenId, @PathVariable Long userId) throws SpecimenNotExistException, UserNotExistException {
-        rentMapper.mapToRentDto(rentService.rentBook(specimenId, userId));
+    public RentDto rentBook(
+            @RequestParam Long specimenId,
+            @PathVariable Long userId,
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            Principal principal) throws SpecimenNotExistException, UserNotExistException {
+        String owner = principal == null ? "" : principal.getName();
+        try (IdempotencyService.Claim<RentDto> claim = idempotencyService.claim(owner, idempotencyKey, "rent " + specimenId + " " + userId)) {
+            if (claim.isReplay()) {
+                return claim.getResult();
+            }
+            return claim.complete(rentMapper.mapToRentDto(rentService.rentBook(specimenId, userId)));
+        }
     }
 
     @PutMapping("/{userId}")
@@ -78,9 +119,21 @@ public class RentController {
         return rentMapper.mapToRentDto(rentService.prolongationRent(specimenId, userId));
     }
 
+    @PreAuthorize("hasAnyRole('Admin')")
+    @PutMapping("/prolongations")
+    public List<RentBatchResultDto> prolongationBooks(@RequestBody List<Long> rentIds) {
+        return rentService.prolongRents(rentIds);
+    }
+
     @PreAuthorize("hasAnyRole('Admin')")
     @DeleteMapping
-    public void returnBook(@RequestParam Long id) {
+    public void returnBook(@RequestParam Long id) throws RentNotExistException {
         rentService.returnBook(id);
     }
+
+    @PreAuthorize("hasAnyRole('Admin')")
+    @PostMapping("/returns")
+    public List<RentBatchResultDto> returnBooks(@RequestBody List<Long> rentIds) {
+        return rentService.returnBooks(rentIds);
+    }
 }
\ No newline at end of file
@@ -1,13 +1,16 @@
 package com.sewerynkamil.librarymanager.controller;
 
+import com.sewerynkamil.librarymanager.config.datasource.ReplicaLagTolerance;
 import com.sewerynkamil.librarymanager.domain.exceptions.SpecimenNotExistException;
 import com.sewerynkamil.librarymanager.dto.SpecimenDto;
 import com.sewerynkamil.librarymanager.mapper.SpecimenMapper;
+import com.sewerynkamil.librarymanager.service.CatalogueVersionService;
 import com.sewerynkamil.librarymanager.service.SpecimenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 
@@ -21,27 +24,39 @@ import java.util.List;
 public class SpecimenController {
     private SpecimenService specimenService;
     private SpecimenMapper specimenMapper;
+    private CatalogueVersionService catalogueVersionService;
 
     @Autowired
-    public SpecimenController(SpecimenService specimenService, SpecimenMapper specimenMapper) {
+    public SpecimenController(SpecimenService specimenService, SpecimenMapper specimenMapper, CatalogueVersionService catalogueVersionService) {
         this.specimenService = specimenService;
         this.specimenMapper = specimenMapper;
+        this.catalogueVersionService = catalogueVersionService;
     }
 
     @PreAuthorize("hasAnyRole('Admin')")
     @GetMapping
-    public List<SpecimenDto> getAllSpecimensForOneBook(@RequestParam Long bookId) {
+    public List<SpecimenDto> getAllSpecimensForOneBook(@RequestParam Long bookId, WebRequest request) {
+        if (request.checkNotModified(catalogueVersionService.getSpecimensETag(), catalogueVersionService.getSpecimensLastModified())) {
+            return null;
+        }
         return specimenMapper.mapToSpecimenDtoList(specimenService.findAllSpecimensForOneBookByBookId(bookId));
     }
 
+    @ReplicaLagTolerance(1000)
     @GetMapping("/{bookId}")
-    public List<SpecimenDto> getAllSpecimensForOneBook(@RequestParam String status, @PathVariable Long bookId) {
+    public List<SpecimenDto> getAllSpecimensForOneBook(@RequestParam String status, @PathVariable Long bookId, WebRequest request) {
+        if (request.checkNotModified(catalogueVersionService.getSpecimensETag(), catalogueVersionService.getSpecimensLastModified())) {
+            return null;
+        }
         return specimenMapper.mapToSpecimenDtoList(specimenService.findAllSpecimensForOneBookByStatusAndBookId(status, bookId));
     }
 
     @PreAuthorize("hasAnyRole('Admin')")
     @GetMapping("/get/{id}")
-    public SpecimenDto getOneSpecimen(@PathVariable Long id) throws SpecimenNotExistException {
+    public SpecimenDto getOneSpecimen(@PathVariable Long id, WebRequest request) throws SpecimenNotExistException {
+        if (request.checkNotModified(catalogueVersionService.getSpecimensETag(), catalogueVersionService.getSpecimensLastModified())) {
+            return null;
+        }
         return specimenMapper.mapToSpecimenDto(specimenService.findOneSpecimen(id));
     }
 
@@ -94,6 +94,6 @@ public class UserController {
     @PreAuthorize("hasAnyRole('Admin')")
     @DeleteMapping
     public void deleteUser(@RequestParam Long id) throws UserNotExistException, UserHasRentsException {
-        userService.deleteUserById(userService.findOneUserById(id));
+        userService.deleteUserById(id);
     }
 }
\ No newline at end of file
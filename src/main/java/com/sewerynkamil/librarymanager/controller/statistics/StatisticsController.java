@@ -0,0 +1,44 @@
+package com.sewerynkamil.librarymanager.controller.statistics;
+
+import com.sewerynkamil.librarymanager.dto.CirculationDto;
+import com.sewerynkamil.librarymanager.dto.StatisticsDto;
+import com.sewerynkamil.librarymanager.service.CirculationService;
+import com.sewerynkamil.librarymanager.service.StatisticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RestController
+@CrossOrigin("*")
+@RequestMapping(value = "/v1/stats")
+public class StatisticsController {
+    private StatisticsService statisticsService;
+    private CirculationService circulationService;
+
+    @Autowired
+    public StatisticsController(StatisticsService statisticsService, CirculationService circulationService) {
+        this.statisticsService = statisticsService;
+        this.circulationService = circulationService;
+    }
+
+    @GetMapping
+    public StatisticsDto getStatistics() {
+        return new StatisticsDto(
+                statisticsService.countBooks(),
+                statisticsService.countUsers(),
+                statisticsService.countRents(),
+                statisticsService.countSpecimensPerStatus());
+    }
+
+    @PreAuthorize("hasAnyRole('Admin')")
+    @GetMapping("/circulation")
+    public CirculationDto getCirculation(
+            @RequestParam(defaultValue = "12") int months,
+            @RequestParam(defaultValue = "10") int top) {
+        return circulationService.getCirculation(Math.min(Math.max(months, 1), 120), Math.min(Math.max(top, 1), 100));
+    }
+}
\ No newline at end of file
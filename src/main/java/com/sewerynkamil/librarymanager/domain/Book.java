@@ -1,7 +1,16 @@
 package com.sewerynkamil.librarymanager.domain;
 
+import com.sewerynkamil.librarymanager.domain.converter.CategoryConverter;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.generator.PooledSequenceGenerator;
+import com.sewerynkamil.librarymanager.domain.listener.CatalogueChangeListener;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.hibernate.validator.constraints.Length;
 
 import javax.persistence.*;
@@ -12,15 +21,27 @@ import java.util.List;
 
 /**
  * Author Kamil Seweryn
+ *
+ * The specimen counters are maintained in the database by AvailabilityEventListener whenever a specimen is
+ * inserted, deleted or changes status or book, and are never written from the entity.
  */
 
 @Data
 @NoArgsConstructor
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(CatalogueChangeListener.class)
 @Table(name = "BOOKS")
 public class Book {
+    private static final String COUNTER = "INTEGER DEFAULT 0 NOT NULL";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "BOOK_SEQUENCE")
+    @GenericGenerator(
+            name = "BOOK_SEQUENCE",
+            strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "BOOK_SEQUENCE"))
     @NotNull
     @Column(unique = true)
     private Long id;
@@ -34,7 +55,8 @@ public class Book {
     private String title;
 
     @NotNull
-    private String category;
+    @Convert(converter = CategoryConverter.class)
+    private Category category;
 
     @NotNull
     private Integer yearOfFirstPublication;
@@ -42,13 +64,26 @@ public class Book {
     @NotNull
     private LocalDate creationDate = LocalDate.now();
 
+    @Column(insertable = false, updatable = false, columnDefinition = COUNTER)
+    private int totalSpecimens;
+
+    @Column(insertable = false, updatable = false, columnDefinition = COUNTER)
+    private int availableSpecimens;
+
+    @Column(insertable = false, updatable = false, columnDefinition = COUNTER)
+    private int rentedSpecimens;
+
+    @Column(insertable = false, updatable = false, columnDefinition = COUNTER)
+    private int lostSpecimens;
+
     @OneToMany(targetEntity = Specimen.class,
                mappedBy = "book",
                cascade = CascadeType.ALL,
                fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     private List<Specimen> specimenList = new ArrayList<>();
 
-    public Book(String author, String title, String category, Integer yearOfFirstPublication) {
+    public Book(String author, String title, Category category, Integer yearOfFirstPublication) {
         this.author = author;
         this.title = title;
         this.category = category;
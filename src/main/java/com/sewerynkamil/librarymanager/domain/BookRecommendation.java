@@ -0,0 +1,44 @@
+package com.sewerynkamil.librarymanager.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * One of the precomputed neighbours of a book, at the given position of its recommendation list.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(BookRecommendation.Key.class)
+@Table(name = "BOOK_RECOMMENDATIONS")
+public class BookRecommendation {
+    @Id
+    private Long bookId;
+
+    @Id
+    private Integer position;
+
+    @NotNull
+    private Long recommendedBookId;
+
+    private long coBorrowers;
+
+    private double score;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long bookId;
+        private Integer position;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,61 @@
+package com.sewerynkamil.librarymanager.domain;
+
+import com.sewerynkamil.librarymanager.domain.converter.ChangeConverter;
+import com.sewerynkamil.librarymanager.domain.converter.ChangedEntityConverter;
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+import com.sewerynkamil.librarymanager.domain.enumerated.ChangedEntity;
+import com.sewerynkamil.librarymanager.domain.generator.PooledSequenceGenerator;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDateTime;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * One row of the change log, written in the transaction of the change it records. The id doubles as the
+ * cursor of the change feed.
+ */
+
+@Data
+@NoArgsConstructor
+@Entity
+@Immutable
+@Table(name = "CHANGE_LOG", indexes = @Index(name = "CHANGE_LOG_CHANGED_AT_IDX", columnList = "changedAt"))
+public class ChangeRecord {
+    @Id
+    @GeneratedValue(generator = "CHANGE_LOG_SEQUENCE")
+    @GenericGenerator(
+            name = "CHANGE_LOG_SEQUENCE",
+            strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "CHANGE_LOG_SEQUENCE"))
+    private Long id;
+
+    @NotNull
+    @Convert(converter = ChangedEntityConverter.class)
+    private ChangedEntity entity;
+
+    @NotNull
+    private Long entityId;
+
+    @NotNull
+    @Convert(converter = ChangeConverter.class)
+    @Column(name = "CHANGE_TYPE")
+    private Change change;
+
+    @NotNull
+    private LocalDateTime changedAt;
+
+    public ChangeRecord(ChangedEntity entity, Long entityId, Change change, LocalDateTime changedAt) {
+        this.entity = entity;
+        this.entityId = entityId;
+        this.change = change;
+        this.changedAt = changedAt;
+    }
+}
\ No newline at end of file
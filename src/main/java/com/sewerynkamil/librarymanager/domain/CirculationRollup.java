@@ -0,0 +1,51 @@
+package com.sewerynkamil.librarymanager.domain;
+
+import com.sewerynkamil.librarymanager.domain.converter.CategoryConverter;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Checkouts and returns of one book on one day.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(CirculationRollup.Key.class)
+@Table(name = "CIRCULATION_ROLLUPS")
+public class CirculationRollup {
+    @Id
+    private LocalDate day;
+
+    @Id
+    private Long bookId;
+
+    @NotNull
+    private String bookTitle;
+
+    @NotNull
+    @Convert(converter = CategoryConverter.class)
+    private Category category;
+
+    private long checkouts;
+
+    private long returns;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDate day;
+        private Long bookId;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,42 @@
+package com.sewerynkamil.librarymanager.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.io.Serializable;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Checkouts of one user in one month.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@IdClass(PatronRollup.Key.class)
+@Table(name = "PATRON_ROLLUPS")
+public class PatronRollup {
+    @Id
+    private Integer period;
+
+    @Id
+    private Long userId;
+
+    @NotNull
+    private String userEmail;
+
+    private long checkouts;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Integer period;
+        private Long userId;
+    }
+}
\ No newline at end of file
@@ -1,8 +1,12 @@
 package com.sewerynkamil.librarymanager.domain;
 
+import com.sewerynkamil.librarymanager.domain.generator.PooledSequenceGenerator;
 import com.sewerynkamil.librarymanager.observer.Observable;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -18,7 +22,11 @@ import java.time.LocalDate;
 @Table(name = "RENTS")
 public class Rent implements Observable {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "RENT_SEQUENCE")
+    @GenericGenerator(
+            name = "RENT_SEQUENCE",
+            strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "RENT_SEQUENCE"))
     @NotNull
     @Column(unique = true)
     private Long id;
@@ -0,0 +1,94 @@
+package com.sewerynkamil.librarymanager.domain;
+
+import com.sewerynkamil.librarymanager.domain.converter.CategoryConverter;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.generator.PooledSequenceGenerator;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import java.time.LocalDate;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * A returned rent. Rows are only ever inserted, keyed by the month of return, and carry copies of the book
+ * and user details so history queries never join the live tables.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Immutable
+@Table(name = "RENT_HISTORY", indexes = {
+        @Index(name = "RENT_HISTORY_USER_IDX", columnList = "userId, period"),
+        @Index(name = "RENT_HISTORY_BOOK_IDX", columnList = "bookId, period"),
+        @Index(name = "RENT_HISTORY_PERIOD_IDX", columnList = "period")})
+public class RentHistory {
+    @Id
+    @GeneratedValue(generator = "RENT_HISTORY_SEQUENCE")
+    @GenericGenerator(
+            name = "RENT_HISTORY_SEQUENCE",
+            strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "RENT_HISTORY_SEQUENCE"))
+    private Long id;
+
+    @NotNull
+    private Integer period;
+
+    @NotNull
+    private Long rentId;
+
+    @NotNull
+    private Long specimenId;
+
+    @NotNull
+    private Long bookId;
+
+    @NotNull
+    private String bookTitle;
+
+    @NotNull
+    @Convert(converter = CategoryConverter.class)
+    private Category category;
+
+    @NotNull
+    private Long userId;
+
+    @NotNull
+    private String userEmail;
+
+    @NotNull
+    private LocalDate rentDate;
+
+    @NotNull
+    private LocalDate dueDate;
+
+    @NotNull
+    private LocalDate returnDate;
+
+    public RentHistory(Rent rent, LocalDate returnDate) {
+        this.period = period(returnDate);
+        this.rentId = rent.getId();
+        this.specimenId = rent.getSpecimen().getId();
+        this.bookId = rent.getSpecimen().getBook().getId();
+        this.bookTitle = rent.getSpecimen().getBook().getTitle();
+        this.category = rent.getSpecimen().getBook().getCategory();
+        this.userId = rent.getUser().getId();
+        this.userEmail = rent.getUser().getEmail();
+        this.rentDate = rent.getRentDate();
+        this.dueDate = rent.getReturnDate();
+        this.returnDate = returnDate;
+    }
+
+    public static int period(final LocalDate date) {
+        return date.getYear() * 100 + date.getMonthValue();
+    }
+}
\ No newline at end of file
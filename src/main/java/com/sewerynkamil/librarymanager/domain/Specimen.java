@@ -1,7 +1,16 @@
 package com.sewerynkamil.librarymanager.domain;
 
+import com.sewerynkamil.librarymanager.domain.converter.StatusConverter;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.domain.generator.PooledSequenceGenerator;
+import com.sewerynkamil.librarymanager.domain.listener.CatalogueChangeListener;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.hibernate.validator.constraints.Length;
 
 import javax.persistence.*;
@@ -17,16 +26,24 @@ import java.util.List;
 @Data
 @NoArgsConstructor
 @Entity
-@Table(name = "SPECIMENS")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(CatalogueChangeListener.class)
+@Table(name = "SPECIMENS", indexes = @Index(name = "SPECIMENS_BOOK_STATUS_IDX", columnList = "book_id, status"))
 public class Specimen {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "SPECIMEN_SEQUENCE")
+    @GenericGenerator(
+            name = "SPECIMEN_SEQUENCE",
+            strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "SPECIMEN_SEQUENCE"))
     @NotNull
     @Column(unique = true)
     private Long id;
 
     @NotNull
-    private String status;
+    @Convert(converter = StatusConverter.class)
+    private Status status;
 
     @NotNull
     @Length(min = 2)
@@ -52,7 +69,7 @@ public class Specimen {
                fetch = FetchType.LAZY)
     private List<Rent> rentList = new ArrayList<>();
 
-    public Specimen(String status, String publisher, Integer yearOfPublication, Book book, Long isbn) {
+    public Specimen(Status status, String publisher, Integer yearOfPublication, Book book, Long isbn) {
         this.status = status;
         this.publisher = publisher;
         this.yearOfPublication = yearOfPublication;
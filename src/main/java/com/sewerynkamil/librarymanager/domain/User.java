@@ -1,8 +1,14 @@
 package com.sewerynkamil.librarymanager.domain;
 
+import com.sewerynkamil.librarymanager.domain.converter.RoleConverter;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.generator.PooledSequenceGenerator;
 import com.sewerynkamil.librarymanager.observer.Observer;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
 import org.hibernate.validator.constraints.Length;
 
 import javax.persistence.*;
@@ -21,7 +27,11 @@ import java.util.List;
 @Table(name = "USERS")
 public class User implements Observer {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = "USER_SEQUENCE")
+    @GenericGenerator(
+            name = "USER_SEQUENCE",
+            strategy = PooledSequenceGenerator.NAME,
+            parameters = @Parameter(name = SequenceStyleGenerator.SEQUENCE_PARAM, value = "USER_SEQUENCE"))
     @NotNull
     @Column(unique = true)
     private Long id;
@@ -43,7 +53,8 @@ public class User implements Observer {
     private String password;
 
     @NotNull
-    private String role;
+    @Convert(converter = RoleConverter.class)
+    private Role role;
 
     @NotNull
     private LocalDate accountCreationDate = LocalDate.now();
@@ -54,7 +65,7 @@ public class User implements Observer {
                fetch = FetchType.EAGER)
     private List<Rent> rentList = new ArrayList<>();
 
-    public User(String name, String surname, String email, Integer phoneNumber, String password, String role) {
+    public User(String name, String surname, String email, Integer phoneNumber, String password, Role role) {
         this.name = name;
         this.surname = surname;
         this.email = email;
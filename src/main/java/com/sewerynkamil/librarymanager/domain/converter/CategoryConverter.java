@@ -0,0 +1,16 @@
+package com.sewerynkamil.librarymanager.domain.converter;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+
+import javax.persistence.Converter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Converter(autoApply = true)
+public class CategoryConverter extends CodedEnumConverter<Category> {
+    public CategoryConverter() {
+        super(Category.class);
+    }
+}
\ No newline at end of file
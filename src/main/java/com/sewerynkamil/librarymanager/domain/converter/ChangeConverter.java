@@ -0,0 +1,16 @@
+package com.sewerynkamil.librarymanager.domain.converter;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+
+import javax.persistence.Converter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Converter(autoApply = true)
+public class ChangeConverter extends CodedEnumConverter<Change> {
+    public ChangeConverter() {
+        super(Change.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.sewerynkamil.librarymanager.domain.converter;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.ChangedEntity;
+
+import javax.persistence.Converter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Converter(autoApply = true)
+public class ChangedEntityConverter extends CodedEnumConverter<ChangedEntity> {
+    public ChangedEntityConverter() {
+        super(ChangedEntity.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.sewerynkamil.librarymanager.domain.converter;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.CodedEnum;
+
+import javax.persistence.AttributeConverter;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Persists a coded enum as a SMALLINT instead of its display name.
+ */
+
+public abstract class CodedEnumConverter<E extends Enum<E> & CodedEnum> implements AttributeConverter<E, Short> {
+    private final Class<E> type;
+
+    protected CodedEnumConverter(final Class<E> type) {
+        this.type = type;
+    }
+
+    @Override
+    public Short convertToDatabaseColumn(final E value) {
+        return value == null ? null : (short) value.getCode();
+    }
+
+    @Override
+    public E convertToEntityAttribute(final Short code) {
+        return code == null ? null : CodedEnum.fromCode(type, code);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.sewerynkamil.librarymanager.domain.converter;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+
+import javax.persistence.Converter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Converter(autoApply = true)
+public class RoleConverter extends CodedEnumConverter<Role> {
+    public RoleConverter() {
+        super(Role.class);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,16 @@
+package com.sewerynkamil.librarymanager.domain.converter;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+
+import javax.persistence.Converter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Converter(autoApply = true)
+public class StatusConverter extends CodedEnumConverter<Status> {
+    public StatusConverter() {
+        super(Status.class);
+    }
+}
\ No newline at end of file
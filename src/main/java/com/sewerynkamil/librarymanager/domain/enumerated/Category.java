@@ -4,34 +4,45 @@ package com.sewerynkamil.librarymanager.domain.enumerated;
  * Author Kamil Seweryn
  */
 
-public enum Category {
-    ACTION("Action"),
-    ADVENTURE("Adventure"),
-    AUTOBIOGRAPHY("Autobiography"),
-    BIOGRAPHY("Biography"),
-    DIARY("Diary"),
-    DRAMA("Drama"),
-    CLASSIC("Classic"),
-    COMIC("Comic"),
-    CRIME("Crime"),
-    DETECTIVE("Detective"),
-    FABLE("Fable"),
-    FANTASY("Fantasy"),
-    HISTORICAL("Historical"),
-    HUMOR("Humor"),
-    HORROR("Horror"),
-    POETRY("Poetry"),
-    ROMANCE("Romance"),
-    SCIENCE_FICTION("Science fiction"),
-    THRILLER("Thriller"),
-    TRAGEDY("Tragedy");
+public enum Category implements CodedEnum {
+    ACTION(1, "Action"),
+    ADVENTURE(2, "Adventure"),
+    AUTOBIOGRAPHY(3, "Autobiography"),
+    BIOGRAPHY(4, "Biography"),
+    DIARY(5, "Diary"),
+    DRAMA(6, "Drama"),
+    CLASSIC(7, "Classic"),
+    COMIC(8, "Comic"),
+    CRIME(9, "Crime"),
+    DETECTIVE(10, "Detective"),
+    FABLE(11, "Fable"),
+    FANTASY(12, "Fantasy"),
+    HISTORICAL(13, "Historical"),
+    HUMOR(14, "Humor"),
+    HORROR(15, "Horror"),
+    POETRY(16, "Poetry"),
+    ROMANCE(17, "Romance"),
+    SCIENCE_FICTION(18, "Science fiction"),
+    THRILLER(19, "Thriller"),
+    TRAGEDY(20, "Tragedy");
 
+    int code;
     String category;
 
-    Category(String category) {
+    Category(int code, String category) {
+        this.code = code;
         this.category = category;
     }
 
+    @Override
+    public int getCode() {
+        return code;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
     public static String categoryFactory(Category category) {
         switch(category) {
             case ACTION:
@@ -79,12 +90,7 @@ public enum Category {
         }
     }
 
-    public static String getCategory(String category) {
-        for (Category c : Category.values()) {
-            if (c.category.equals(category)) {
-                return category;
-            }
-        }
-        return null;
+    public static Category fromCategory(final String category) {
+        return CodedEnum.fromName(Category.class, category, Category::getCategory);
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.sewerynkamil.librarymanager.domain.enumerated;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@Getter
+public enum Change implements CodedEnum {
+    CREATED(1, "Created"),
+    UPDATED(2, "Updated"),
+    DELETED(3, "Deleted");
+
+    int code;
+    String change;
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.sewerynkamil.librarymanager.domain.enumerated;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@Getter
+public enum ChangedEntity implements CodedEnum {
+    BOOK(1, "Book"),
+    SPECIMEN(2, "Specimen"),
+    USER(3, "User"),
+    RENT(4, "Rent");
+
+    int code;
+    String entity;
+}
\ No newline at end of file
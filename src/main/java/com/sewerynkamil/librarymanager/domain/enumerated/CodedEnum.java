@@ -0,0 +1,37 @@
+package com.sewerynkamil.librarymanager.domain.enumerated;
+
+import com.sewerynkamil.librarymanager.domain.exceptions.UnknownValueException;
+
+import java.util.function.Function;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Enum stored as a small integer code. Codes are part of the database format,
+ * so constants may be reordered or renamed but their codes must never change.
+ */
+
+public interface CodedEnum {
+    int getCode();
+
+    static <E extends Enum<E> & CodedEnum> E fromCode(final Class<E> type, final int code) {
+        for (E value : type.getEnumConstants()) {
+            if (value.getCode() == code) {
+                return value;
+            }
+        }
+        throw new IllegalStateException("Unknown " + type.getSimpleName() + " code: " + code);
+    }
+
+    static <E extends Enum<E> & CodedEnum> E fromName(final Class<E> type, final String name, final Function<E, String> displayName) {
+        if (name == null) {
+            return null;
+        }
+        for (E value : type.getEnumConstants()) {
+            if (displayName.apply(value).equalsIgnoreCase(name) || value.name().equalsIgnoreCase(name)) {
+                return value;
+            }
+        }
+        throw new UnknownValueException(name);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,48 @@
+package com.sewerynkamil.librarymanager.domain.enumerated;
+
+import com.sewerynkamil.librarymanager.domain.exceptions.UnknownValueException;
+
+import java.time.Duration;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Sliding windows of the popular books shelf, each kept as a ring of equally long buckets.
+ */
+
+public enum PopularityWindow {
+    DAY("24h", 24, Duration.ofHours(1)),
+    WEEK("7d", 28, Duration.ofHours(6)),
+    MONTH("30d", 30, Duration.ofDays(1));
+
+    private final String label;
+    private final int buckets;
+    private final Duration bucketLength;
+
+    PopularityWindow(String label, int buckets, Duration bucketLength) {
+        this.label = label;
+        this.buckets = buckets;
+        this.bucketLength = bucketLength;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public int getBuckets() {
+        return buckets;
+    }
+
+    public Duration getBucketLength() {
+        return bucketLength;
+    }
+
+    public static PopularityWindow fromLabel(final String label) {
+        for (PopularityWindow window : values()) {
+            if (window.label.equalsIgnoreCase(label)) {
+                return window;
+            }
+        }
+        throw new UnknownValueException(label);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.sewerynkamil.librarymanager.domain.enumerated;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Outcome of one rent of a batch return or prolongation.
+ */
+
+@AllArgsConstructor
+@Getter
+public enum RentBatchResult {
+    RETURNED("Returned"),
+    PROLONGED("Prolonged"),
+    NOT_FOUND("Not found");
+
+    String result;
+}
\ No newline at end of file
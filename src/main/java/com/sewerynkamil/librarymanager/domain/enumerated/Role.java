@@ -9,9 +9,14 @@ import lombok.Getter;
 
 @AllArgsConstructor
 @Getter
-public enum Role {
-    USER("User"),
-    ADMIN("Admin");
+public enum Role implements CodedEnum {
+    USER(1, "User"),
+    ADMIN(2, "Admin");
 
+    int code;
     String role;
+
+    public static Role fromRole(final String role) {
+        return CodedEnum.fromName(Role.class, role, Role::getRole);
+    }
 }
\ No newline at end of file
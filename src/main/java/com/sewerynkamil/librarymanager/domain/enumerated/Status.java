@@ -9,11 +9,16 @@ import lombok.Getter;
 
 @AllArgsConstructor
 @Getter
-public enum Status {
-    AVAILABLE("Available"),
-    RENTED("Rented"),
-    LOST("Lost"),
-    UNAVAILABLE("Unavailable");
+public enum Status implements CodedEnum {
+    AVAILABLE(1, "Available"),
+    RENTED(2, "Rented"),
+    LOST(3, "Lost"),
+    UNAVAILABLE(4, "Unavailable");
 
+    int code;
     String status;
+
+    public static Status fromStatus(final String status) {
+        return CodedEnum.fromName(Status.class, status, Status::getStatus);
+    }
 }
\ No newline at end of file
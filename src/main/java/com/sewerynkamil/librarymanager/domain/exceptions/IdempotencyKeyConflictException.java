@@ -0,0 +1,15 @@
+package com.sewerynkamil.librarymanager.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@ResponseStatus(value = HttpStatus.CONFLICT, reason = "This idempotency key is used by another request!")
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String key) {
+        super("This idempotency key is used by another request: " + key);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.sewerynkamil.librarymanager.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE, reason = "Too many requests with an idempotency key are running!")
+public class IdempotencyStoreFullException extends RuntimeException {
+    public IdempotencyStoreFullException() {
+        super("Too many requests with an idempotency key are running");
+    }
+}
\ No newline at end of file
@@ -0,0 +1,15 @@
+package com.sewerynkamil.librarymanager.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@ResponseStatus(value = HttpStatus.BAD_REQUEST, reason = "Unknown value!")
+public class UnknownValueException extends RuntimeException {
+    public UnknownValueException(String value) {
+        super("Unknown value: " + value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,33 @@
+package com.sewerynkamil.librarymanager.domain.generator;
+
+import org.hibernate.MappingException;
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.id.enhanced.StandardOptimizerDescriptor;
+import org.hibernate.internal.util.config.ConfigurationHelper;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Per-entity sequence with pooled-lo allocation: one sequence call hands out a whole block of ids.
+ * The block size comes from the library.id.increment_size setting unless the mapping sets its own.
+ */
+
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+    public static final String NAME = "com.sewerynkamil.librarymanager.domain.generator.PooledSequenceGenerator";
+    public static final String INCREMENT_SIZE_SETTING = "library.id.increment_size";
+    public static final int DEFAULT_INCREMENT_SIZE = 50;
+
+    @Override
+    public void configure(Type type, Properties params, ServiceRegistry serviceRegistry) throws MappingException {
+        int incrementSize = ConfigurationHelper.getInt(INCREMENT_SIZE_SETTING,
+                serviceRegistry.getService(ConfigurationService.class).getSettings(), DEFAULT_INCREMENT_SIZE);
+        params.putIfAbsent(INCREMENT_PARAM, String.valueOf(incrementSize));
+        params.put(OPT_PARAM, StandardOptimizerDescriptor.POOLED_LO.getExternalName());
+        super.configure(type, params, serviceRegistry);
+    }
+}
\ No newline at end of file
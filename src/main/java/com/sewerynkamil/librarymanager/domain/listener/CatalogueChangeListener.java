@@ -0,0 +1,35 @@
+package com.sewerynkamil.librarymanager.domain.listener;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.service.CatalogueVersionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Component
+public class CatalogueChangeListener {
+    private CatalogueVersionService catalogueVersionService;
+
+    @Autowired
+    public CatalogueChangeListener(CatalogueVersionService catalogueVersionService) {
+        this.catalogueVersionService = catalogueVersionService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void catalogueChanged(final Object entity) {
+        if (entity instanceof Book) {
+            catalogueVersionService.booksChanged();
+        } else {
+            catalogueVersionService.specimensChanged();
+        }
+    }
+}
\ No newline at end of file
@@ -21,6 +21,19 @@ public class BookDto {
     private String title;
     private String category;
     private Integer yearOfFirstPublication;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer totalSpecimens;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer availableSpecimens;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer rentedSpecimens;
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private Integer lostSpecimens;
+
+    public BookDto(Long id, String author, String title, String category, Integer yearOfFirstPublication) {
+        this(author, title, category, yearOfFirstPublication);
+        this.id = id;
+    }
 
     public BookDto(String author, String title, String category, Integer yearOfFirstPublication) {
         this.author = author;
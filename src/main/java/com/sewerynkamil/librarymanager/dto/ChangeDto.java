@@ -0,0 +1,24 @@
+package com.sewerynkamil.librarymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class ChangeDto {
+    private Long id;
+    private String entity;
+    private Long entityId;
+    private String change;
+    private LocalDateTime changedAt;
+}
\ No newline at end of file
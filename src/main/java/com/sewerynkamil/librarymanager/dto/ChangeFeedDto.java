@@ -0,0 +1,21 @@
+package com.sewerynkamil.librarymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class ChangeFeedDto {
+    private Long cursor;
+    private List<ChangeDto> changes;
+}
\ No newline at end of file
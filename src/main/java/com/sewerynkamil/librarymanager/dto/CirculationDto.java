@@ -0,0 +1,24 @@
+package com.sewerynkamil.librarymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class CirculationDto {
+    private Map<String, Map<String, Long>> checkoutsPerMonth;
+    private Map<String, Long> returnsPerMonth;
+    private List<CirculationTopDto> topTitles;
+    private List<CirculationTopDto> topPatrons;
+}
\ No newline at end of file
@@ -0,0 +1,20 @@
+package com.sewerynkamil.librarymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class CirculationTopDto {
+    private Long id;
+    private String name;
+    private Long checkouts;
+}
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.sewerynkamil.librarymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class HibernateStatisticsDto {
+    private long queryExecutions;
+    private long statements;
+    private long entityLoads;
+    private long collectionFetches;
+    private long secondLevelCacheHits;
+    private long secondLevelCacheMisses;
+    private double secondLevelCacheHitRatio;
+    private String slowestQuery;
+    private long slowestQueryTime;
+    private Map<String, RequestTypeStatisticsDto> requests;
+}
\ No newline at end of file
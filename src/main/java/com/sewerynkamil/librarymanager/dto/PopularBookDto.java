@@ -0,0 +1,23 @@
+package com.sewerynkamil.librarymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class PopularBookDto {
+    private Long id;
+    private String author;
+    private String title;
+    private String category;
+    private Long rents;
+    private Long minRents;
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.sewerynkamil.librarymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class RecommendationDto {
+    private Long id;
+    private String author;
+    private String title;
+    private String category;
+    private Long coBorrowers;
+    private Double score;
+}
\ No newline at end of file
@@ -0,0 +1,28 @@
+package com.sewerynkamil.librarymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class RentHistoryDto {
+    private Long rentId;
+    private Long specimenId;
+    private Long bookId;
+    private String bookTitle;
+    private Long userId;
+    private String userEmail;
+    private LocalDate rentDate;
+    private LocalDate dueDate;
+    private LocalDate returnDate;
+}
\ No newline at end of file
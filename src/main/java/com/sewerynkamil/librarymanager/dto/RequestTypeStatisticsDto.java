@@ -0,0 +1,28 @@
+package com.sewerynkamil.librarymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class RequestTypeStatisticsDto {
+    private long requests;
+    private long statements;
+    private long maxStatements;
+    private double statementsPerRequest;
+    private double statementTimeMillis;
+    private long slowStatements;
+    private long entityLoads;
+    private long collectionLoads;
+    private long cacheHits;
+    private long cacheMisses;
+    private double cacheHitRatio;
+}
\ No newline at end of file
@@ -0,0 +1,23 @@
+package com.sewerynkamil.librarymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.Map;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@NoArgsConstructor
+@Getter
+@Setter
+public class StatisticsDto {
+    private Long books;
+    private Long users;
+    private Long rents;
+    private Map<String, Long> specimens;
+}
\ No newline at end of file
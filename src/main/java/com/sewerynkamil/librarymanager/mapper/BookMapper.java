@@ -1,6 +1,7 @@
 package com.sewerynkamil.librarymanager.mapper;
 
 import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
 import com.sewerynkamil.librarymanager.dto.BookDto;
 import org.springframework.stereotype.Component;
 
@@ -14,20 +15,23 @@ import java.util.stream.Collectors;
 @Component
 public class BookMapper {
     public BookDto mapToBookDto(final Book book) {
-        BookDto bookDto = new BookDto(
+        return new BookDto(
+                book.getId(),
                 book.getAuthor(),
                 book.getTitle(),
-                book.getCategory(),
-                book.getYearOfFirstPublication());
-        bookDto.setId(book.getId());
-        return bookDto;
+                book.getCategory().getCategory(),
+                book.getYearOfFirstPublication(),
+                book.getTotalSpecimens(),
+                book.getAvailableSpecimens(),
+                book.getRentedSpecimens(),
+                book.getLostSpecimens());
     }
 
     public Book mapToBook(final BookDto bookDto) {
         Book book = new Book(
                 bookDto.getAuthor(),
                 bookDto.getTitle(),
-                bookDto.getCategory(),
+                Category.fromCategory(bookDto.getCategory()),
                 bookDto.getYearOfFirstPublication());
         book.setId(bookDto.getId());
         return book;
@@ -35,12 +39,7 @@ public class BookMapper {
 
     public List<BookDto> mapToBookDtoList(final List<Book> bookList) {
         return bookList.stream()
-                .map(book -> new BookDto(
-                        book.getId(),
-                        book.getAuthor(),
-                        book.getTitle(),
-                        book.getCategory(),
-                        book.getYearOfFirstPublication()))
+                .map(this::mapToBookDto)
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.sewerynkamil.librarymanager.mapper;
+
+import com.sewerynkamil.librarymanager.domain.ChangeRecord;
+import com.sewerynkamil.librarymanager.dto.ChangeDto;
+import com.sewerynkamil.librarymanager.dto.ChangeFeedDto;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Component
+public class ChangeMapper {
+    public ChangeDto mapToChangeDto(final ChangeRecord changeRecord) {
+        return new ChangeDto(
+                changeRecord.getId(),
+                changeRecord.getEntity().getEntity(),
+                changeRecord.getEntityId(),
+                changeRecord.getChange().getChange(),
+                changeRecord.getChangedAt());
+    }
+
+    public ChangeFeedDto mapToChangeFeedDto(final long since, final List<ChangeRecord> changeRecordList) {
+        long cursor = changeRecordList.isEmpty() ? since : changeRecordList.get(changeRecordList.size() - 1).getId();
+        return new ChangeFeedDto(cursor, changeRecordList.stream()
+                .map(this::mapToChangeDto)
+                .collect(Collectors.toList()));
+    }
+}
\ No newline at end of file
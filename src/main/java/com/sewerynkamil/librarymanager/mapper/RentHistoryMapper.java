@@ -0,0 +1,34 @@
+package com.sewerynkamil.librarymanager.mapper;
+
+import com.sewerynkamil.librarymanager.domain.RentHistory;
+import com.sewerynkamil.librarymanager.dto.RentHistoryDto;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Component
+public class RentHistoryMapper {
+    public RentHistoryDto mapToRentHistoryDto(final RentHistory rentHistory) {
+        return new RentHistoryDto(
+                rentHistory.getRentId(),
+                rentHistory.getSpecimenId(),
+                rentHistory.getBookId(),
+                rentHistory.getBookTitle(),
+                rentHistory.getUserId(),
+                rentHistory.getUserEmail(),
+                rentHistory.getRentDate(),
+                rentHistory.getDueDate(),
+                rentHistory.getReturnDate());
+    }
+
+    public List<RentHistoryDto> mapToRentHistoryDtoList(final List<RentHistory> rentHistoryList) {
+        return rentHistoryList.stream()
+                .map(this::mapToRentHistoryDto)
+                .collect(Collectors.toList());
+    }
+}
\ No newline at end of file
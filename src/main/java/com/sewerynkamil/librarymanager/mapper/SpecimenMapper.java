@@ -1,6 +1,7 @@
 package com.sewerynkamil.librarymanager.mapper;
 
 import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
 import com.sewerynkamil.librarymanager.dto.SpecimenDto;
 import com.sewerynkamil.librarymanager.repository.BookRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,7 +25,7 @@ public class SpecimenMapper {
 
     public SpecimenDto mapToSpecimenDto(final Specimen specimen) {
         SpecimenDto specimenDto = new SpecimenDto(
-                specimen.getStatus(),
+                specimen.getStatus().getStatus(),
                 specimen.getPublisher(),
                 specimen.getYearOfPublication(),
                 specimen.getBook().getTitle(),
@@ -35,7 +36,7 @@ public class SpecimenMapper {
 
     public Specimen mapToSpecimen(final SpecimenDto specimenDto) {
         Specimen specimen = new Specimen(
-                specimenDto.getStatus(),
+                Status.fromStatus(specimenDto.getStatus()),
                 specimenDto.getPublisher(),
                 specimenDto.getYearOfPublication(),
                 bookRepository.findByTitle(specimenDto.getBookTitle()),
@@ -48,7 +49,7 @@ public class SpecimenMapper {
         return specimenList.stream()
                 .map(specimen -> new SpecimenDto(
                         specimen.getId(),
-                        specimen.getStatus(),
+                        specimen.getStatus().getStatus(),
                         specimen.getPublisher(),
                         specimen.getYearOfPublication(),
                         specimen.getBook().getTitle(),
@@ -1,6 +1,7 @@
 package com.sewerynkamil.librarymanager.mapper;
 
 import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
 import com.sewerynkamil.librarymanager.dto.UserDto;
 import org.springframework.stereotype.Component;
 
@@ -20,7 +21,7 @@ public class UserMapper {
                 user.getEmail(),
                 user.getPhoneNumber(),
                 user.getPassword(),
-                user.getRole());
+                user.getRole().getRole());
         userDto.setId(user.getId());
         return userDto;
     }
@@ -32,7 +33,7 @@ public class UserMapper {
                 userDto.getEmail(),
                 userDto.getPhoneNumber(),
                 userDto.getPassword(),
-                userDto.getRole());
+                Role.fromRole(userDto.getRole()));
         user.setId(userDto.getId());
         return user;
     }
@@ -46,7 +47,7 @@ public class UserMapper {
                         user.getEmail(),
                         user.getPhoneNumber(),
                         user.getPassword(),
-                        user.getRole()))
+                        user.getRole().getRole()))
                 .collect(Collectors.toList());
     }
 }
\ No newline at end of file
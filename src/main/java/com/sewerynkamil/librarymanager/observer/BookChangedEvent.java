@@ -0,0 +1,16 @@
+package com.sewerynkamil.librarymanager.observer;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@AllArgsConstructor
+@Getter
+public class BookChangedEvent extends DomainEvent {
+    private final Long bookId;
+    private final Change change;
+}
\ No newline at end of file
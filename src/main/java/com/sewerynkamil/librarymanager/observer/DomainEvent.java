@@ -0,0 +1,17 @@
+package com.sewerynkamil.librarymanager.observer;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Something that happened in a committed transaction. Events are immutable snapshots, so subscribers never
+ * touch entities of a session that is already closed.
+ */
+
+@Getter
+public abstract class DomainEvent {
+    private final Instant occurredAt = Instant.now();
+}
\ No newline at end of file
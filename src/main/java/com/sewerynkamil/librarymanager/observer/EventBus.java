@@ -0,0 +1,173 @@
+package com.sewerynkamil.librarymanager.observer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * In-process publish/subscribe of domain events. Events published inside a transaction are delivered after it
+ * commits and dropped when it rolls back. Every subscriber owns a bounded queue and a worker thread, so a slow
+ * or failing subscriber neither delays the others nor the transaction, and sees its events in publishing order.
+ * A full queue pushes back on the publisher for up to events.offer-timeout ms before the event is dropped for
+ * that subscriber; queued, dropped and failed events are exported as metrics.
+ */
+
+@Component
+public class EventBus {
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventBus.class);
+
+    private final List<Subscription<?>> subscriptions = new CopyOnWriteArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private final int queueCapacity;
+    private final long offerTimeout;
+
+    @Autowired
+    public EventBus(
+            MeterRegistry meterRegistry,
+            @Value("${events.queue-capacity}") int queueCapacity,
+            @Value("${events.offer-timeout}") long offerTimeout) {
+        this.meterRegistry = meterRegistry;
+        this.queueCapacity = queueCapacity;
+        this.offerTimeout = offerTimeout;
+    }
+
+    public <E extends DomainEvent> void subscribe(final String subscriber, final Class<E> type, final Consumer<? super E> handler) {
+        Subscription<E> subscription = new Subscription<>(subscriber, type, handler);
+        subscriptions.add(subscription);
+        subscription.worker.start();
+    }
+
+    @SuppressWarnings("unchecked")
+    public void publish(final DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(event);
+            return;
+        }
+        List<DomainEvent> pending = (List<DomainEvent>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<DomainEvent> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    events.forEach(EventBus.this::dispatch);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EventBus.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    /**
+     * Waits until every event delivered so far has been handled, or the timeout passed.
+     */
+    public boolean awaitIdle(final long timeoutMillis) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + timeoutMillis;
+        for (Subscription<?> subscription : subscriptions) {
+            while (subscription.unhandled.get() > 0) {
+                if (System.currentTimeMillis() >= deadline) {
+                    return false;
+                }
+                Thread.sleep(1);
+            }
+        }
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        awaitIdle(offerTimeout);
+        subscriptions.forEach(subscription -> subscription.worker.interrupt());
+    }
+
+    private void dispatch(final DomainEvent event) {
+        for (Subscription<?> subscription : subscriptions) {
+            if (subscription.type.isInstance(event)) {
+                subscription.offer(event);
+            }
+        }
+    }
+
+    private class Subscription<E extends DomainEvent> {
+        private final String subscriber;
+        private final Class<E> type;
+        private final Consumer<? super E> handler;
+        private final BlockingQueue<DomainEvent> queue = new ArrayBlockingQueue<>(queueCapacity);
+        private final AtomicInteger unhandled = new AtomicInteger();
+        private final Counter dropped;
+        private final Counter failed;
+        private final Thread worker;
+
+        private Subscription(final String subscriber, final Class<E> type, final Consumer<? super E> handler) {
+            this.subscriber = subscriber;
+            this.type = type;
+            this.handler = handler;
+            this.dropped = meterRegistry.counter("events.dropped", "subscriber", subscriber);
+            this.failed = meterRegistry.counter("events.failed", "subscriber", subscriber);
+            Gauge.builder("events.queued", queue, BlockingQueue::size)
+                    .tag("subscriber", subscriber)
+                    .register(meterRegistry);
+            this.worker = new Thread(this::run, "events-" + subscriber);
+            this.worker.setDaemon(true);
+        }
+
+        private void offer(final DomainEvent event) {
+            unhandled.incrementAndGet();
+            boolean queued;
+            try {
+                queued = queue.offer(event, offerTimeout, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                queued = false;
+            }
+            if (!queued) {
+                unhandled.decrementAndGet();
+                dropped.increment();
+                LOGGER.warn("Dropped {} for {}, its queue is full", event.getClass().getSimpleName(), subscriber);
+            }
+        }
+
+        private void run() {
+            while (!Thread.currentThread().isInterrupted()) {
+                DomainEvent event;
+                try {
+                    event = queue.take();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                try {
+                    handler.accept(type.cast(event));
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    LOGGER.error("Subscriber {} failed to handle {}: {}", subscriber, event.getClass().getSimpleName(), e.getMessage(), e);
+                } finally {
+                    unhandled.decrementAndGet();
+                }
+            }
+        }
+    }
+}
\ No newline at end of file
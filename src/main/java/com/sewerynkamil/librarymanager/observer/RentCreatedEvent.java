@@ -0,0 +1,21 @@
+package com.sewerynkamil.librarymanager.observer;
+
+import com.sewerynkamil.librarymanager.domain.Mail;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import lombok.Getter;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Carries the mail the renting user's Observer produced for the new rent.
+ */
+
+@Getter
+public class RentCreatedEvent extends RentEvent {
+    private final Mail mail;
+
+    public RentCreatedEvent(final Rent rent) {
+        super(rent);
+        this.mail = rent.getUser().update(rent);
+    }
+}
\ No newline at end of file
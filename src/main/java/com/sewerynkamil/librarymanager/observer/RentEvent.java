@@ -0,0 +1,36 @@
+package com.sewerynkamil.librarymanager.observer;
+
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Getter
+public abstract class RentEvent extends DomainEvent {
+    private final Long rentId;
+    private final Long specimenId;
+    private final Long bookId;
+    private final String bookTitle;
+    private final Category category;
+    private final Long userId;
+    private final String userEmail;
+    private final LocalDate rentDate;
+    private final LocalDate returnDate;
+
+    protected RentEvent(final Rent rent) {
+        this.rentId = rent.getId();
+        this.specimenId = rent.getSpecimen().getId();
+        this.bookId = rent.getSpecimen().getBook().getId();
+        this.bookTitle = rent.getSpecimen().getBook().getTitle();
+        this.category = rent.getSpecimen().getBook().getCategory();
+        this.userId = rent.getUser().getId();
+        this.userEmail = rent.getUser().getEmail();
+        this.rentDate = rent.getRentDate();
+        this.returnDate = rent.getReturnDate();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.sewerynkamil.librarymanager.observer;
+
+import com.sewerynkamil.librarymanager.domain.Rent;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+public class RentProlongedEvent extends RentEvent {
+    public RentProlongedEvent(final Rent rent) {
+        super(rent);
+    }
+}
\ No newline at end of file
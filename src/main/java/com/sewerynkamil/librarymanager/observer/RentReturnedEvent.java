@@ -0,0 +1,15 @@
+package com.sewerynkamil.librarymanager.observer;
+
+import com.sewerynkamil.librarymanager.domain.Rent;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * The return date of a returned rent is the day it was returned.
+ */
+
+public class RentReturnedEvent extends RentEvent {
+    public RentReturnedEvent(final Rent rent) {
+        super(rent);
+    }
+}
\ No newline at end of file
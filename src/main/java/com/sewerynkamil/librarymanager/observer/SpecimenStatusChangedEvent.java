@@ -0,0 +1,20 @@
+package com.sewerynkamil.librarymanager.observer;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * A specimen was added with a status (old status null), removed (new status null) or changed its status.
+ */
+
+@AllArgsConstructor
+@Getter
+public class SpecimenStatusChangedEvent extends DomainEvent {
+    private final Long specimenId;
+    private final Long bookId;
+    private final Status oldStatus;
+    private final Status newStatus;
+}
\ No newline at end of file
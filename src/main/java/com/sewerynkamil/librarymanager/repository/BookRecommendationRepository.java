@@ -0,0 +1,24 @@
+package com.sewerynkamil.librarymanager.repository;
+
+import com.sewerynkamil.librarymanager.domain.BookRecommendation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Repository
+@Transactional
+public interface BookRecommendationRepository extends JpaRepository<BookRecommendation, BookRecommendation.Key> {
+    List<BookRecommendation> findAllByBookIdOrderByPosition(Long bookId);
+
+    @Modifying
+    @Query("DELETE FROM BookRecommendation r")
+    int deleteAllRecommendations();
+}
\ No newline at end of file
@@ -1,32 +1,49 @@
 package com.sewerynkamil.librarymanager.repository;
 
 import com.sewerynkamil.librarymanager.domain.Book;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 /**
  * Author Kamil Seweryn
  */
 
 @Repository
 @Transactional
-public interface BookRepository extends JpaRepository<Book, Long> {
+public interface BookRepository extends LoadingRepository<Book, Long> {
     @Override
     List<Book> findAll();
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Book> findByTitleStartsWithIgnoreCase(String title);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Book> findByAuthorStartsWithIgnoreCase(String author);
 
-    List<Book> findByCategoryStartsWithIgnoreCase(String category);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    List<Book> findByCategoryIn(Collection<Category> categories);
+
+    List<Book> findByAvailableSpecimensGreaterThan(int availableSpecimens);
+
+    List<Book> findByTitleStartsWithIgnoreCaseAndAvailableSpecimensGreaterThan(String title, int availableSpecimens);
+
+    List<Book> findByAuthorStartsWithIgnoreCaseAndAvailableSpecimensGreaterThan(String author, int availableSpecimens);
+
+    List<Book> findByCategoryInAndAvailableSpecimensGreaterThan(Collection<Category> categories, int availableSpecimens);
 
     @Override
     Optional<Book> findById(Long id);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     Book findByTitle(String title);
 
     @Override
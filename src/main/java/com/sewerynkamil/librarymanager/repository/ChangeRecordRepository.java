@@ -0,0 +1,23 @@
+package com.sewerynkamil.librarymanager.repository;
+
+import com.sewerynkamil.librarymanager.domain.ChangeRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Repository
+@Transactional
+public interface ChangeRecordRepository extends JpaRepository<ChangeRecord, Long> {
+    @Modifying
+    @Query("DELETE FROM ChangeRecord c WHERE c.changedAt < :changedAt")
+    int deleteByChangedAtBefore(@Param("changedAt") LocalDateTime changedAt);
+}
\ No newline at end of file
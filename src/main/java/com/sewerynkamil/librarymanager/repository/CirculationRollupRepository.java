@@ -0,0 +1,35 @@
+package com.sewerynkamil.librarymanager.repository;
+
+import com.sewerynkamil.librarymanager.domain.CirculationRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Repository
+@Transactional
+public interface CirculationRollupRepository extends JpaRepository<CirculationRollup, CirculationRollup.Key> {
+    @Override
+    List<CirculationRollup> findAll();
+
+    List<CirculationRollup> findAllByDayGreaterThanEqual(LocalDate day);
+
+    @Query("SELECT MAX(c.day) FROM CirculationRollup c")
+    LocalDate findLastDay();
+
+    @Modifying
+    @Query("DELETE FROM CirculationRollup c WHERE c.day >= :day")
+    int deleteByDayGreaterThanEqual(@Param("day") LocalDate day);
+
+    @Override
+    CirculationRollup save(CirculationRollup circulationRollup);
+}
\ No newline at end of file
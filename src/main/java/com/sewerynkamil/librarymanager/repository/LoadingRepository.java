@@ -0,0 +1,22 @@
+package com.sewerynkamil.librarymanager.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.repository.NoRepositoryBean;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Loads an entity by id or throws the given exception, so callers don't need a separate exists query.
+ */
+
+@NoRepositoryBean
+public interface LoadingRepository<T, ID> extends JpaRepository<T, ID> {
+    default <X extends Exception> T loadOrThrow(final ID id, final Supplier<X> exception) throws X {
+        return Optional.ofNullable(id)
+                .flatMap(this::findById)
+                .orElseThrow(exception);
+    }
+}
\ No newline at end of file
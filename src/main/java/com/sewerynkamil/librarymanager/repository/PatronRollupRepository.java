@@ -0,0 +1,29 @@
+package com.sewerynkamil.librarymanager.repository;
+
+import com.sewerynkamil.librarymanager.domain.PatronRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Repository
+@Transactional
+public interface PatronRollupRepository extends JpaRepository<PatronRollup, PatronRollup.Key> {
+    @Override
+    List<PatronRollup> findAll();
+
+    @Modifying
+    @Query("DELETE FROM PatronRollup p WHERE p.period >= :period")
+    int deleteByPeriodGreaterThanEqual(@Param("period") Integer period);
+
+    @Override
+    PatronRollup save(PatronRollup patronRollup);
+}
\ No newline at end of file
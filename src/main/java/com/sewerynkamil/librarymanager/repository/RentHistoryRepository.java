@@ -0,0 +1,42 @@
+package com.sewerynkamil.librarymanager.repository;
+
+import com.sewerynkamil.librarymanager.domain.RentHistory;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Repository
+@Transactional
+public interface RentHistoryRepository extends JpaRepository<RentHistory, Long> {
+    List<RentHistory> findAllByUserIdOrderByReturnDateDescIdDesc(Long userId);
+
+    List<RentHistory> findAllByBookIdOrderByReturnDateDescIdDesc(Long bookId);
+
+    List<RentHistory> findAllByPeriodOrderById(Integer period);
+
+    @Query("SELECT h FROM RentHistory h WHERE h.rentDate >= :day OR h.returnDate >= :day")
+    List<RentHistory> findAllRentedOrReturnedSince(@Param("day") LocalDate day);
+
+    @Query("SELECT DISTINCT h.period FROM RentHistory h WHERE h.period < :period ORDER BY h.period")
+    List<Integer> findPeriodsBefore(@Param("period") Integer period);
+
+    @Query("SELECT h.userId, h.bookId FROM RentHistory h")
+    List<Object[]> findAllUserAndBookIds();
+
+    @Modifying
+    @Query("DELETE FROM RentHistory h WHERE h.period = :period")
+    int deleteByPeriod(@Param("period") Integer period);
+
+    @Override
+    RentHistory save(RentHistory rentHistory);
+}
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.sewerynkamil.librarymanager.repository;
 
 import com.sewerynkamil.librarymanager.domain.Rent;
-import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -13,7 +17,7 @@ import java.util.List;
 
 @Repository
 @Transactional
-public interface RentRepository extends JpaRepository<Rent, Long> {
+public interface RentRepository extends LoadingRepository<Rent, Long> {
     @Override
     List<Rent> findAll();
 
@@ -25,12 +29,25 @@ public interface RentRepository extends JpaRepository<Rent, Long> {
 
     Rent findBySpecimenIdAndUserId(Long specimenId, Long userId);
 
+    @Query("SELECT r FROM Rent r JOIN FETCH r.specimen s JOIN FETCH s.book JOIN FETCH r.user WHERE r.id IN :ids")
+    List<Rent> findAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r FROM Rent r JOIN FETCH r.specimen s JOIN FETCH s.book JOIN FETCH r.user WHERE r.rentDate >= :day")
+    List<Rent> findAllRentedSince(@Param("day") LocalDate day);
+
     @Override
     Rent save(Rent rent);
 
     @Override
     void deleteById(Long rentId);
 
+    @Modifying
+    @Query("DELETE FROM Rent r WHERE r.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT r.user.id, r.specimen.book.id FROM Rent r")
+    List<Object[]> findAllUserAndBookIds();
+
     boolean existsBySpecimenId(Long id);
 
     boolean existsBySpecimenBookTitle(String title);
@@ -1,7 +1,7 @@
 package com.sewerynkamil.librarymanager.repository;
 
 import com.sewerynkamil.librarymanager.domain.Specimen;
-import org.springframework.data.jpa.repository.JpaRepository;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
 import org.springframework.stereotype.Repository;
 
 import javax.transaction.Transactional;
@@ -14,10 +14,10 @@ import java.util.Optional;
 
 @Repository
 @Transactional
-public interface SpecimenRepository extends JpaRepository<Specimen, Long> {
+public interface SpecimenRepository extends LoadingRepository<Specimen, Long> {
     List<Specimen> findAllByBookId(Long id);
 
-    List<Specimen> findAllByStatusAndBookId(String status, Long id);
+    List<Specimen> findAllByStatusAndBookId(Status status, Long id);
 
     @Override
     Optional<Specimen> findById(Long id);
@@ -27,4 +27,6 @@ public interface SpecimenRepository extends JpaRepository<Specimen, Long> {
 
     @Override
     void delete(Specimen specimen);
+
+    long countByStatus(Status status);
 }
\ No newline at end of file
@@ -1,7 +1,6 @@
 package com.sewerynkamil.librarymanager.repository;
 
 import com.sewerynkamil.librarymanager.domain.User;
-import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
 import javax.transaction.Transactional;
@@ -14,7 +13,7 @@ import java.util.Optional;
 
 @Repository
 @Transactional
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends LoadingRepository<User, Long> {
     @Override
     List<User> findAll();
 
@@ -27,7 +26,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
     @Override
     Optional<User> findById(Long id);
 
-    User findByEmail(String email);
+    Optional<User> findByEmail(String email);
 
     @Override
     User save(User user);
@@ -4,6 +4,7 @@ import com.sewerynkamil.librarymanager.domain.Mail;
 import com.sewerynkamil.librarymanager.domain.User;
 import com.sewerynkamil.librarymanager.repository.UserRepository;
 import com.sewerynkamil.librarymanager.service.EmailService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -25,6 +26,7 @@ public class RentedBooksScheduler {
         this.userRepository = userRepository;
     }
 
+    @Timed("scheduler.jobs")
     @Scheduled(cron = "0 0 23 * * 7")
     public void sendInformationAboutRentedBook() {
         for(User user : userRepository.findAll()) {
@@ -0,0 +1,27 @@
+package com.sewerynkamil.librarymanager.scheduler;
+
+import com.sewerynkamil.librarymanager.service.StatisticsService;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@Component
+public class StatisticsScheduler {
+    private StatisticsService statisticsService;
+
+    @Autowired
+    public StatisticsScheduler(StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    @Timed("scheduler.jobs")
+    @Scheduled(fixedDelayString = "${statistics.reconcile.delay}", initialDelayString = "${statistics.reconcile.delay}")
+    public void reconcileCounters() {
+        statisticsService.reconcile();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,93 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.config.hibernate.AvailabilityEventListener;
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.observer.EventBus;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Registers the listener maintaining the specimen counters of books and, on startup, recounts them from
+ * SPECIMENS, so books written before the counters existed or outside of Hibernate are corrected.
+ */
+
+@Service
+public class AvailabilityService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvailabilityService.class);
+    private static final String UPDATE = "UPDATE BOOKS SET TOTAL_SPECIMENS = ?, AVAILABLE_SPECIMENS = ?, " +
+            "RENTED_SPECIMENS = ?, LOST_SPECIMENS = ? WHERE ID = ?";
+
+    private EntityManagerFactory entityManagerFactory;
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public AvailabilityService(
+            EntityManagerFactory entityManagerFactory,
+            DataSource dataSource,
+            CatalogueVersionService catalogueVersionService,
+            EventBus eventBus) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+
+        AvailabilityEventListener listener = new AvailabilityEventListener(catalogueVersionService, eventBus);
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_INSERT, listener);
+        registry.appendListeners(EventType.POST_UPDATE, listener);
+        registry.appendListeners(EventType.POST_DELETE, listener);
+        registry.appendListeners(EventType.FLUSH, listener);
+        registry.appendListeners(EventType.AUTO_FLUSH, listener);
+    }
+
+    @PostConstruct
+    public int reconcile() {
+        Map<Long, int[]> counted = new HashMap<>();
+        jdbcTemplate.query("SELECT BOOK_ID, STATUS, COUNT(*) FROM SPECIMENS GROUP BY BOOK_ID, STATUS", row -> {
+            int[] counters = counted.computeIfAbsent(row.getLong(1), key -> new int[4]);
+            int count = row.getInt(3);
+            int status = row.getInt(2);
+            counters[0] += count;
+            if (status == Status.AVAILABLE.getCode()) {
+                counters[1] += count;
+            } else if (status == Status.RENTED.getCode()) {
+                counters[2] += count;
+            } else if (status == Status.LOST.getCode()) {
+                counters[3] += count;
+            }
+        });
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query("SELECT ID, TOTAL_SPECIMENS, AVAILABLE_SPECIMENS, RENTED_SPECIMENS, LOST_SPECIMENS FROM BOOKS", row -> {
+            long bookId = row.getLong(1);
+            int[] counters = counted.getOrDefault(bookId, new int[4]);
+            for (int i = 0; i < counters.length; i++) {
+                if (counters[i] != row.getInt(i + 2)) {
+                    updates.add(new Object[]{counters[0], counters[1], counters[2], counters[3], bookId});
+                    return;
+                }
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE, updates);
+            entityManagerFactory.getCache().evict(Book.class);
+            LOGGER.info("Recounted specimen counters of {} books", updates.size());
+        }
+        return updates.size();
+    }
+}
\ No newline at end of file
@@ -1,13 +1,24 @@
 package com.sewerynkamil.librarymanager.service;
 
 import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+import com.sewerynkamil.librarymanager.domain.enumerated.ChangedEntity;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
 import com.sewerynkamil.librarymanager.domain.exceptions.BookExistException;
 import com.sewerynkamil.librarymanager.domain.exceptions.BookNotExistException;
+import com.sewerynkamil.librarymanager.observer.BookChangedEvent;
+import com.sewerynkamil.librarymanager.observer.EventBus;
 import com.sewerynkamil.librarymanager.repository.BookRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 /**
@@ -17,55 +28,104 @@ import java.util.stream.Collectors;
 @Service
 public class BookService {
     private BookRepository bookRepository;
+    private StatisticsService statisticsService;
+    private EventBus eventBus;
+    private ChangeLogService changeLogService;
 
     @Autowired
-    public BookService(BookRepository bookRepository) {
+    public BookService(
+            BookRepository bookRepository,
+            StatisticsService statisticsService,
+            EventBus eventBus,
+            ChangeLogService changeLogService) {
         this.bookRepository = bookRepository;
+        this.statisticsService = statisticsService;
+        this.eventBus = eventBus;
+        this.changeLogService = changeLogService;
     }
 
+    @Transactional(readOnly = true)
     public List<Book> findAllBooksWithLazyLoading(final int offset, final int limit) {
-        return bookRepository.findAll().stream()
+        return findAllBooksWithLazyLoading(offset, limit, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Book> findAllBooksWithLazyLoading(final int offset, final int limit, final boolean available) {
+        return (available ? bookRepository.findByAvailableSpecimensGreaterThan(0) : bookRepository.findAll()).stream()
                 .skip(offset)
                 .limit(limit)
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<Book> findAllBooksByTitleStartsWithIgnoreCase(final String title) {
-        return bookRepository.findByTitleStartsWithIgnoreCase(title);
+        return findAllBooksByTitleStartsWithIgnoreCase(title, false);
     }
 
+    @Transactional(readOnly = true)
+    public List<Book> findAllBooksByTitleStartsWithIgnoreCase(final String title, final boolean available) {
+        return available
+                ? bookRepository.findByTitleStartsWithIgnoreCaseAndAvailableSpecimensGreaterThan(title, 0)
+                : bookRepository.findByTitleStartsWithIgnoreCase(title);
+    }
+
+    @Transactional(readOnly = true)
     public List<Book> findAllBooksByAuthorStartsWithIgnoreCase(final String author) {
-        return bookRepository.findByAuthorStartsWithIgnoreCase(author);
+        return findAllBooksByAuthorStartsWithIgnoreCase(author, false);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Book> findAllBooksByAuthorStartsWithIgnoreCase(final String author, final boolean available) {
+        return available
+                ? bookRepository.findByAuthorStartsWithIgnoreCaseAndAvailableSpecimensGreaterThan(author, 0)
+                : bookRepository.findByAuthorStartsWithIgnoreCase(author);
     }
 
+    @Transactional(readOnly = true)
     public List<Book> findAllBooksByCategoryStartsWithIgnoreCase(final String category) {
-        return bookRepository.findByCategoryStartsWithIgnoreCase(category);
+        return findAllBooksByCategoryStartsWithIgnoreCase(category, false);
     }
 
-    public Book findOneBook(final Long id) throws BookNotExistException {
-        Book book = bookRepository.findById(id).orElseThrow(BookNotExistException::new);
-        if(!bookRepository.existsByTitle(book.getTitle())) {
-            throw new BookNotExistException();
+    @Transactional(readOnly = true)
+    public List<Book> findAllBooksByCategoryStartsWithIgnoreCase(final String category, final boolean available) {
+        List<Category> categories = Arrays.stream(Category.values())
+                .filter(value -> value.getCategory().toLowerCase().startsWith(category.toLowerCase()))
+                .collect(Collectors.toList());
+        if (categories.isEmpty()) {
+            return new ArrayList<>();
         }
-        return book;
+        return available
+                ? bookRepository.findByCategoryInAndAvailableSpecimensGreaterThan(categories, 0)
+                : bookRepository.findByCategoryIn(categories);
     }
 
+    @Transactional(readOnly = true)
+    public Book findOneBook(final Long id) throws BookNotExistException {
+        return bookRepository.loadOrThrow(id, BookNotExistException::new);
+    }
+
+    @Transactional(rollbackFor = BookExistException.class)
     public Book saveNewBook(final Book book) throws BookExistException {
         if(bookRepository.existsByTitle(book.getTitle())) {
             throw new BookExistException();
         }
-        return bookRepository.save(book);
+        return save(book);
     }
 
+    @Transactional
     public Book updateBook(final Book book) {
-        return bookRepository.save(book);
+        return save(book);
     }
 
-    public void deleteBook(final Book book) throws BookNotExistException {
-        if(!bookRepository.existsByTitle(book.getTitle())) {
-            throw new BookNotExistException();
-        }
-        bookRepository.delete(book);
+    @Transactional
+    public void deleteBook(final Long id) throws BookNotExistException {
+        Book existingBook = bookRepository.loadOrThrow(id, BookNotExistException::new);
+        bookRepository.delete(existingBook);
+        statisticsService.changeBooks(-1);
+        existingBook.getSpecimenList().forEach(specimen -> statisticsService.changeSpecimens(specimen.getStatus(), -1));
+        changeLogService.record(ChangedEntity.BOOK, existingBook.getId(), Change.DELETED);
+        changeLogService.record(ChangedEntity.SPECIMEN, specimenIds(existingBook), Change.DELETED);
+        eventBus.publish(new BookChangedEvent(existingBook.getId(), Change.DELETED));
     }
 
     public boolean isBookExist(final String title) {
@@ -73,6 +133,35 @@ public class BookService {
     }
 
     public Long countBooks() {
-        return bookRepository.count();
+        return statisticsService.countBooks();
+    }
+
+    private Book save(final Book book) {
+        Change change = book.getId() == null ? Change.CREATED : Change.UPDATED;
+        Set<Long> existingSpecimenIds = specimenIds(book);
+        countNewBook(book);
+        Book savedBook = bookRepository.save(book);
+        changeLogService.record(ChangedEntity.BOOK, savedBook.getId(), change);
+        changeLogService.record(ChangedEntity.SPECIMEN, specimenIds(savedBook).stream()
+                .filter(id -> !existingSpecimenIds.contains(id))
+                .collect(Collectors.toList()), Change.CREATED);
+        eventBus.publish(new BookChangedEvent(savedBook.getId(), change));
+        return savedBook;
+    }
+
+    private Set<Long> specimenIds(final Book book) {
+        return book.getSpecimenList().stream()
+                .map(Specimen::getId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+
+    private void countNewBook(final Book book) {
+        if (book.getId() == null) {
+            statisticsService.changeBooks(1);
+        }
+        book.getSpecimenList().stream()
+                .filter(specimen -> specimen.getId() == null)
+                .forEach(specimen -> statisticsService.changeSpecimens(specimen.getStatus(), 1));
     }
 }
\ No newline at end of file
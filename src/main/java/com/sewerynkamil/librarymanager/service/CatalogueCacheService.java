@@ -0,0 +1,44 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Hibernate doesn't invalidate the cached Book.specimenList when a specimen is written from its own side,
+ * so the specimen writes evict it here - once right away and once more after commit.
+ */
+
+@Service
+public class CatalogueCacheService {
+    private static final String SPECIMEN_LIST_REGION = Book.class.getName() + ".specimenList";
+
+    private Cache cache;
+
+    @Autowired
+    public CatalogueCacheService(EntityManagerFactory entityManagerFactory) {
+        this.cache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+
+    public void evictSpecimenList(final Long bookId) {
+        if (bookId == null) {
+            return;
+        }
+        cache.evictCollectionData(SPECIMEN_LIST_REGION, bookId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    cache.evictCollectionData(SPECIMEN_LIST_REGION, bookId);
+                }
+            });
+        }
+    }
+}
\ No newline at end of file
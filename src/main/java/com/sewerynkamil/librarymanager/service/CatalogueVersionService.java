@@ -0,0 +1,114 @@
+package com.sewerynkamil.librarymanager.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Versions of the books and specimens catalogue used as ETags of the catalogue reads.
+ * A version is bumped once after commit of every writing transaction, however many rows it changed, so it can be
+ * checked without a database read. Last-Modified is the second of the latest bump and never runs ahead of the
+ * clock; versions written within the same second differ by their ETag only.
+ */
+
+@Service
+public class CatalogueVersionService {
+    private final String instance = Long.toString(System.currentTimeMillis(), 36);
+    private volatile long booksVersion;
+    private volatile long specimensVersion;
+    private volatile long booksLastModified = nextLastModified(0);
+    private volatile long specimensLastModified = booksLastModified;
+    private volatile long lastChange;
+
+    public String getBooksETag() {
+        return "W/\"books-" + instance + "-" + booksVersion + "\"";
+    }
+
+    public String getSpecimensETag() {
+        return "W/\"specimens-" + instance + "-" + specimensVersion + "\"";
+    }
+
+    public long getBooksLastModified() {
+        return booksLastModified;
+    }
+
+    public long getSpecimensLastModified() {
+        return specimensLastModified;
+    }
+
+    public long getLastChange() {
+        return lastChange;
+    }
+
+    public void booksChanged() {
+        Changes changes = pending();
+        if (changes == null) {
+            nextBooksVersion();
+        } else {
+            changes.books = true;
+        }
+    }
+
+    public void specimensChanged() {
+        Changes changes = pending();
+        if (changes == null) {
+            nextSpecimensVersion();
+        } else {
+            changes.specimens = true;
+        }
+    }
+
+    private synchronized void nextBooksVersion() {
+        booksLastModified = nextLastModified(booksLastModified);
+        booksVersion++;
+        // Specimens show the title of their book, so they change together with it
+        nextSpecimensVersion();
+    }
+
+    private synchronized void nextSpecimensVersion() {
+        specimensLastModified = nextLastModified(specimensLastModified);
+        specimensVersion++;
+        lastChange = System.currentTimeMillis();
+    }
+
+    private static long nextLastModified(final long previous) {
+        // HTTP dates have a resolution of one second and must not be later than the response's Date
+        long now = System.currentTimeMillis() / 1000 * 1000;
+        return Math.max(now, previous);
+    }
+
+    private Changes pending() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Changes pending = (Changes) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Changes changes = new Changes();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    if (changes.books) {
+                        nextBooksVersion();
+                    } else if (changes.specimens) {
+                        nextSpecimensVersion();
+                    }
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CatalogueVersionService.this);
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+
+    private static class Changes {
+        private boolean books;
+        private boolean specimens;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,232 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.ChangeRecord;
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+import com.sewerynkamil.librarymanager.domain.enumerated.ChangedEntity;
+import com.sewerynkamil.librarymanager.domain.enumerated.CodedEnum;
+import com.sewerynkamil.librarymanager.repository.ChangeRecordRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PreDestroy;
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Transactional outbox behind the change feed. Every write appends its change records in its own transaction,
+ * so a change is in the log exactly when it is in the database. Ids are allocated in order but transactions
+ * commit in any order, so the feed only serves ids below the oldest record whose transaction is still open:
+ * a consumer that moved its cursor past an id never sees a lower one appear later. Records older than
+ * changes.retention-days are pruned nightly.
+ *
+ * The feed reads the primary with plain JDBC, outside of any transaction and entity manager, so a connection
+ * is only held for the query itself. A long poll with nothing to return parks its DeferredResult instead of a
+ * request thread; when a transaction completes, only the waiters whose cursor is now behind the servable
+ * changes are queried again, on the feed's own thread.
+ */
+
+@Service
+public class ChangeLogService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeLogService.class);
+    private static final String FIND_CHANGES = "SELECT ID, ENTITY, ENTITY_ID, CHANGE_TYPE, CHANGED_AT FROM CHANGE_LOG " +
+            "WHERE ID > ? AND ID <= ? ORDER BY ID LIMIT ?";
+    private static final RowMapper<ChangeRecord> CHANGE_RECORD = (resultSet, row) -> {
+        ChangeRecord changeRecord = new ChangeRecord(
+                CodedEnum.fromCode(ChangedEntity.class, resultSet.getShort("ENTITY")),
+                resultSet.getLong("ENTITY_ID"),
+                CodedEnum.fromCode(Change.class, resultSet.getShort("CHANGE_TYPE")),
+                resultSet.getTimestamp("CHANGED_AT").toLocalDateTime());
+        changeRecord.setId(resultSet.getLong("ID"));
+        return changeRecord;
+    };
+
+    private final Object lock = new Object();
+    private final TreeSet<Long> open = new TreeSet<>();
+    private final List<Waiter<?>> waiters = new ArrayList<>();
+    private final ExecutorService feed = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "changes-feed");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private long completions;
+    private long committed;
+
+    private ChangeRecordRepository changeRecordRepository;
+    private JdbcTemplate jdbcTemplate;
+    private int retentionDays;
+
+    @Autowired
+    public ChangeLogService(
+            ChangeRecordRepository changeRecordRepository,
+            DataSource dataSource,
+            @Value("${changes.retention-days}") int retentionDays) {
+        this.changeRecordRepository = changeRecordRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.retentionDays = retentionDays;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(final ChangedEntity entity, final Long entityId, final Change change) {
+        record(entity, Collections.singletonList(entityId), change);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(final ChangedEntity entity, final Collection<Long> entityIds, final Change change) {
+        if (entityIds.isEmpty()) {
+            return;
+        }
+        LocalDateTime changedAt = LocalDateTime.now();
+        List<ChangeRecord> records = entityIds.stream()
+                .map(entityId -> new ChangeRecord(entity, entityId, change, changedAt))
+                .collect(Collectors.toList());
+        List<Long> ids;
+        // Ids are allocated and marked open under the lock, so no reader sees a higher id committed while a
+        // lower one is allocated but not yet open
+        synchronized (lock) {
+            ids = changeRecordRepository.saveAll(records).stream()
+                    .map(ChangeRecord::getId)
+                    .collect(Collectors.toList());
+            open.addAll(ids);
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCompletion(int status) {
+                completed(ids, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Changes after the cursor, oldest first, without waiting.
+     */
+    public List<ChangeRecord> findChanges(final long since, final int limit) {
+        long until;
+        synchronized (lock) {
+            until = until();
+        }
+        return jdbcTemplate.query(FIND_CHANGES, CHANGE_RECORD, since, until, limit);
+    }
+
+    /**
+     * Changes after the cursor, oldest first. When there are none, the result is completed by the first commit
+     * that makes changes after the cursor servable, or with no changes once waitMillis passed.
+     */
+    public <T> DeferredResult<T> awaitChanges(
+            final long since,
+            final int limit,
+            final long waitMillis,
+            final Function<List<ChangeRecord>, T> mapper) {
+        DeferredResult<T> result = waitMillis > 0 ? new DeferredResult<>(waitMillis) : new DeferredResult<>();
+        Waiter<T> waiter = new Waiter<>(since, limit, result, mapper);
+        result.onTimeout(() -> waiter.complete(Collections.emptyList()));
+        result.onCompletion(() -> {
+            synchronized (lock) {
+                waiters.remove(waiter);
+            }
+        });
+        poll(waiter, waitMillis > 0);
+        return result;
+    }
+
+    @Scheduled(cron = "${changes.prune-cron}")
+    public void prune() {
+        int deleted = changeRecordRepository.deleteByChangedAtBefore(LocalDateTime.now().minusDays(retentionDays));
+        LOGGER.info("Pruned {} change log rows", deleted);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        feed.shutdownNow();
+    }
+
+    private void completed(final List<Long> ids, final boolean committedIds) {
+        List<Waiter<?>> behind = new ArrayList<>();
+        synchronized (lock) {
+            open.removeAll(ids);
+            if (committedIds) {
+                committed = Math.max(committed, Collections.max(ids));
+            }
+            completions++;
+            long servable = Math.min(committed, until());
+            for (Iterator<Waiter<?>> iterator = waiters.iterator(); iterator.hasNext(); ) {
+                Waiter<?> waiter = iterator.next();
+                if (waiter.since < servable) {
+                    iterator.remove();
+                    behind.add(waiter);
+                }
+            }
+        }
+        behind.forEach(waiter -> feed.execute(() -> poll(waiter, true)));
+    }
+
+    private void poll(final Waiter<?> waiter, final boolean wait) {
+        try {
+            while (true) {
+                long seenCompletions;
+                long until;
+                synchronized (lock) {
+                    seenCompletions = completions;
+                    until = until();
+                }
+                List<ChangeRecord> changes = jdbcTemplate.query(FIND_CHANGES, CHANGE_RECORD, waiter.since, until, waiter.limit);
+                if (!changes.isEmpty() || !wait) {
+                    waiter.complete(changes);
+                    return;
+                }
+                synchronized (lock) {
+                    // A transaction completed while querying could have made changes servable, so look again
+                    if (completions == seenCompletions && !waiter.result.isSetOrExpired()) {
+                        waiters.add(waiter);
+                        return;
+                    }
+                }
+                if (waiter.result.isSetOrExpired()) {
+                    return;
+                }
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to read changes after {}: {}", waiter.since, e.getMessage(), e);
+            waiter.result.setErrorResult(e);
+        }
+    }
+
+    private long until() {
+        return open.isEmpty() ? Long.MAX_VALUE : open.first() - 1;
+    }
+
+    private static class Waiter<T> {
+        private final long since;
+        private final int limit;
+        private final DeferredResult<T> result;
+        private final Function<List<ChangeRecord>, T> mapper;
+
+        private Waiter(final long since, final int limit, final DeferredResult<T> result, final Function<List<ChangeRecord>, T> mapper) {
+            this.since = since;
+            this.limit = limit;
+            this.result = result;
+            this.mapper = mapper;
+        }
+
+        private void complete(final List<ChangeRecord> changes) {
+            result.setResult(mapper.apply(changes));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,300 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.CirculationRollup;
+import com.sewerynkamil.librarymanager.domain.PatronRollup;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.RentHistory;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.dto.CirculationDto;
+import com.sewerynkamil.librarymanager.dto.CirculationTopDto;
+import com.sewerynkamil.librarymanager.repository.CirculationRollupRepository;
+import com.sewerynkamil.librarymanager.repository.PatronRollupRepository;
+import com.sewerynkamil.librarymanager.repository.RentHistoryRepository;
+import com.sewerynkamil.librarymanager.repository.RentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Circulation rollups fed by checkouts and returns. Once the rent transaction commits, the events are added
+ * to the in-memory monthly view the circulation endpoint reads and queued. Every circulation.flush-delay the
+ * queue is written to the per day and book and per month and patron rollup tables in one transaction, so
+ * the desk never waits on aggregation and the endpoint never scans rents. Events still queued when the
+ * application stops without a flush are lost from the tables, so on startup the month of the last rolled up
+ * day and everything after it is rebuilt from rents and the rent history (all of it when the tables are
+ * empty) before the view is loaded from the rollup tables.
+ */
+
+@Service
+public class CirculationService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(CirculationService.class);
+
+    private CirculationRollupRepository circulationRollupRepository;
+    private PatronRollupRepository patronRollupRepository;
+    private RentRepository rentRepository;
+    private RentHistoryRepository rentHistoryRepository;
+    private TransactionTemplate transactionTemplate;
+
+    private final Map<Integer, MonthView> months = new ConcurrentHashMap<>();
+    private final Map<Long, String> titles = new ConcurrentHashMap<>();
+    private final Map<Long, String> emails = new ConcurrentHashMap<>();
+    private final Queue<Event> unflushed = new ConcurrentLinkedQueue<>();
+
+    @Autowired
+    public CirculationService(
+            CirculationRollupRepository circulationRollupRepository,
+            PatronRollupRepository patronRollupRepository,
+            RentRepository rentRepository,
+            RentHistoryRepository rentHistoryRepository,
+            PlatformTransactionManager transactionManager) {
+        this.circulationRollupRepository = circulationRollupRepository;
+        this.patronRollupRepository = patronRollupRepository;
+        this.rentRepository = rentRepository;
+        this.rentHistoryRepository = rentHistoryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public synchronized void load() {
+        flush();
+        reconcile();
+        months.clear();
+        circulationRollupRepository.findAll().forEach(this::view);
+        patronRollupRepository.findAll().forEach(this::view);
+    }
+
+    public void recordCheckout(final Rent rent) {
+        record(new Event(true, rent.getRentDate(), rent));
+    }
+
+    public void recordReturn(final Rent rent, final LocalDate returnDate) {
+        record(new Event(false, returnDate, rent));
+    }
+
+    public CirculationDto getCirculation(final int monthCount, final int top) {
+        Map<String, Map<String, Long>> checkoutsPerMonth = new LinkedHashMap<>();
+        Map<String, Long> returnsPerMonth = new LinkedHashMap<>();
+        Map<Long, Long> books = new HashMap<>();
+        Map<Long, Long> patrons = new HashMap<>();
+        YearMonth month = YearMonth.now().minusMonths(monthCount - 1);
+        for (int i = 0; i < monthCount; i++, month = month.plusMonths(1)) {
+            MonthView view = months.get(RentHistory.period(month.atDay(1)));
+            Map<String, Long> categories = new LinkedHashMap<>();
+            long returns = 0;
+            if (view != null) {
+                for (Category category : Category.values()) {
+                    AtomicLong checkouts = view.categories.get(category);
+                    if (checkouts != null && checkouts.get() > 0) {
+                        categories.put(category.getCategory(), checkouts.get());
+                    }
+                }
+                returns = view.returns.get();
+                view.books.forEach((bookId, checkouts) -> books.merge(bookId, checkouts.get(), Long::sum));
+                view.patrons.forEach((userId, checkouts) -> patrons.merge(userId, checkouts.get(), Long::sum));
+            }
+            checkoutsPerMonth.put(month.toString(), categories);
+            returnsPerMonth.put(month.toString(), returns);
+        }
+        return new CirculationDto(checkoutsPerMonth, returnsPerMonth, top(books, titles, top), top(patrons, emails, top));
+    }
+
+    private List<CirculationTopDto> top(final Map<Long, Long> checkouts, final Map<Long, String> names, final int top) {
+        return checkouts.entrySet().stream()
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<Long, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(top)
+                .map(entry -> new CirculationTopDto(entry.getKey(), names.get(entry.getKey()), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void record(final Event event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(Collections.singletonList(event));
+            return;
+        }
+        List<Event> pending = (List<Event>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            List<Event> events = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, events);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    apply(events);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CirculationService.this);
+                }
+            });
+            pending = events;
+        }
+        pending.add(event);
+    }
+
+    private void apply(final List<Event> events) {
+        events.forEach(this::view);
+        unflushed.addAll(events);
+    }
+
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${circulation.flush-delay}")
+    public synchronized void flush() {
+        List<Event> events = new ArrayList<>();
+        for (Event event = unflushed.poll(); event != null; event = unflushed.poll()) {
+            events.add(event);
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.execute(status -> {
+                events.forEach(this::write);
+                return null;
+            });
+        } catch (RuntimeException e) {
+            LOGGER.error("Failed to write {} circulation events, retrying on the next flush: {}", events.size(), e.getMessage(), e);
+            unflushed.addAll(events);
+        }
+    }
+
+    private void write(final Event event) {
+        CirculationRollup circulation = circulationRollupRepository
+                .findById(new CirculationRollup.Key(event.day, event.bookId))
+                .orElseGet(() -> new CirculationRollup(event.day, event.bookId, event.bookTitle, event.category, 0, 0));
+        if (event.checkout) {
+            circulation.setCheckouts(circulation.getCheckouts() + 1);
+            int period = RentHistory.period(event.day);
+            PatronRollup patron = patronRollupRepository
+                    .findById(new PatronRollup.Key(period, event.userId))
+                    .orElseGet(() -> new PatronRollup(period, event.userId, event.userEmail, 0));
+            patron.setCheckouts(patron.getCheckouts() + 1);
+            patronRollupRepository.save(patron);
+        } else {
+            circulation.setReturns(circulation.getReturns() + 1);
+        }
+        circulationRollupRepository.save(circulation);
+    }
+
+    private void view(final Event event) {
+        MonthView view = month(RentHistory.period(event.day));
+        titles.put(event.bookId, event.bookTitle);
+        if (event.checkout) {
+            emails.put(event.userId, event.userEmail);
+            view.categories.computeIfAbsent(event.category, key -> new AtomicLong()).incrementAndGet();
+            view.books.computeIfAbsent(event.bookId, key -> new AtomicLong()).incrementAndGet();
+            view.patrons.computeIfAbsent(event.userId, key -> new AtomicLong()).incrementAndGet();
+        } else {
+            view.returns.incrementAndGet();
+        }
+    }
+
+    private void view(final CirculationRollup circulation) {
+        MonthView view = month(RentHistory.period(circulation.getDay()));
+        titles.put(circulation.getBookId(), circulation.getBookTitle());
+        view.categories.computeIfAbsent(circulation.getCategory(), key -> new AtomicLong()).addAndGet(circulation.getCheckouts());
+        view.books.computeIfAbsent(circulation.getBookId(), key -> new AtomicLong()).addAndGet(circulation.getCheckouts());
+        view.returns.addAndGet(circulation.getReturns());
+    }
+
+    private void view(final PatronRollup patron) {
+        emails.put(patron.getUserId(), patron.getUserEmail());
+        month(patron.getPeriod()).patrons.computeIfAbsent(patron.getUserId(), key -> new AtomicLong()).addAndGet(patron.getCheckouts());
+    }
+
+    private MonthView month(final int period) {
+        return months.computeIfAbsent(period, key -> new MonthView());
+    }
+
+    private void reconcile() {
+        LocalDate lastDay = circulationRollupRepository.findLastDay();
+        LocalDate from = lastDay == null ? LocalDate.MIN : lastDay.withDayOfMonth(1);
+        int count = transactionTemplate.execute(status -> {
+            List<Event> events = new ArrayList<>();
+            if (lastDay == null) {
+                patronRollupRepository.deleteAll();
+                rentRepository.findAll().forEach(rent -> events.add(new Event(true, rent.getRentDate(), rent)));
+                rentHistoryRepository.findAll().forEach(history -> events.addAll(Event.of(history, from)));
+            } else {
+                circulationRollupRepository.deleteByDayGreaterThanEqual(from);
+                patronRollupRepository.deleteByPeriodGreaterThanEqual(RentHistory.period(from));
+                rentRepository.findAllRentedSince(from).forEach(rent -> events.add(new Event(true, rent.getRentDate(), rent)));
+                rentHistoryRepository.findAllRentedOrReturnedSince(from).forEach(history -> events.addAll(Event.of(history, from)));
+            }
+            events.forEach(this::write);
+            return events.size();
+        });
+        if (count > 0) {
+            LOGGER.info("Rebuilt circulation rollups from {} from {} events", lastDay == null ? "the beginning" : from, count);
+        }
+    }
+
+    private static class MonthView {
+        private final Map<Category, AtomicLong> categories = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> books = new ConcurrentHashMap<>();
+        private final Map<Long, AtomicLong> patrons = new ConcurrentHashMap<>();
+        private final AtomicLong returns = new AtomicLong();
+    }
+
+    private static class Event {
+        private final boolean checkout;
+        private final LocalDate day;
+        private final Long bookId;
+        private final String bookTitle;
+        private final Category category;
+        private final Long userId;
+        private final String userEmail;
+
+        private Event(final boolean checkout, final LocalDate day, final Rent rent) {
+            this.checkout = checkout;
+            this.day = day;
+            this.bookId = rent.getSpecimen().getBook().getId();
+            this.bookTitle = rent.getSpecimen().getBook().getTitle();
+            this.category = rent.getSpecimen().getBook().getCategory();
+            this.userId = rent.getUser().getId();
+            this.userEmail = rent.getUser().getEmail();
+        }
+
+        private static List<Event> of(final RentHistory history, final LocalDate from) {
+            List<Event> events = new ArrayList<>();
+            if (!history.getRentDate().isBefore(from)) {
+                events.add(new Event(true, history.getRentDate(), history));
+            }
+            if (!history.getReturnDate().isBefore(from)) {
+                events.add(new Event(false, history.getReturnDate(), history));
+            }
+            return events;
+        }
+
+        private Event(final boolean checkout, final LocalDate day, final RentHistory history) {
+            this.checkout = checkout;
+            this.day = day;
+            this.bookId = history.getBookId();
+            this.bookTitle = history.getBookTitle();
+            this.category = history.getCategory();
+            this.userId = history.getUserId();
+            this.userEmail = history.getUserEmail();
+        }
+    }
+}
\ No newline at end of file
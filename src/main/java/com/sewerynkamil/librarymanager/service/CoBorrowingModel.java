@@ -0,0 +1,137 @@
+package com.sewerynkamil.librarymanager.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Item to item co-borrowing model. Each basket holds the distinct books one reader borrowed. Baskets are split
+ * across a fork/join pool, every task counts the book pairs of its readers into primitive maps and the partial
+ * counts are merged on join. Neighbours are ranked by cosine similarity, the number of shared readers divided
+ * by the geometric mean of both books' readers, so bestsellers do not end up next to every book.
+ */
+
+public class CoBorrowingModel {
+    private static final int MIN_BASKETS_PER_TASK = 256;
+    private static final int TASKS_PER_WORKER = 4;
+    private static final Comparator<Neighbour> BEST_FIRST = Comparator
+            .comparingDouble(Neighbour::getScore).reversed()
+            .thenComparing(Comparator.comparingLong(Neighbour::getCoBorrowers).reversed())
+            .thenComparingLong(Neighbour::getBookId);
+
+    private CoBorrowingModel() {
+    }
+
+    public static Map<Long, List<Neighbour>> build(
+            final List<long[]> baskets,
+            final int neighbours,
+            final long minCoBorrowers,
+            final ForkJoinPool pool) {
+        int basketsPerTask = Math.max(MIN_BASKETS_PER_TASK, baskets.size() / (pool.getParallelism() * TASKS_PER_WORKER));
+        Counts counts = pool.invoke(new CountTask(baskets, basketsPerTask, 0, baskets.size()));
+        return pool.submit(() -> counts.pairs.entrySet().parallelStream()
+                .map(entry -> new AbstractMap.SimpleEntry<>(entry.getKey(),
+                        top(entry.getKey(), entry.getValue(), counts.borrowers, neighbours, minCoBorrowers)))
+                .filter(entry -> !entry.getValue().isEmpty())
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)))
+                .join();
+    }
+
+    private static List<Neighbour> top(
+            final long bookId,
+            final LongLongMap coBorrowed,
+            final LongLongMap borrowers,
+            final int neighbours,
+            final long minCoBorrowers) {
+        PriorityQueue<Neighbour> best = new PriorityQueue<>(neighbours + 1, BEST_FIRST.reversed());
+        double readers = borrowers.get(bookId);
+        coBorrowed.forEach((otherId, coBorrowers) -> {
+            if (coBorrowers < minCoBorrowers) {
+                return;
+            }
+            best.add(new Neighbour(otherId, coBorrowers, coBorrowers / Math.sqrt(readers * borrowers.get(otherId))));
+            if (best.size() > neighbours) {
+                best.poll();
+            }
+        });
+        List<Neighbour> top = new ArrayList<>(best);
+        top.sort(BEST_FIRST);
+        return top;
+    }
+
+    private static class CountTask extends RecursiveTask<Counts> {
+        private final List<long[]> baskets;
+        private final int basketsPerTask;
+        private final int from;
+        private final int to;
+
+        private CountTask(final List<long[]> baskets, final int basketsPerTask, final int from, final int to) {
+            this.baskets = baskets;
+            this.basketsPerTask = basketsPerTask;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Counts compute() {
+            if (to - from <= basketsPerTask) {
+                Counts counts = new Counts();
+                for (int i = from; i < to; i++) {
+                    counts.add(baskets.get(i));
+                }
+                return counts;
+            }
+            int middle = (from + to) >>> 1;
+            CountTask left = new CountTask(baskets, basketsPerTask, from, middle);
+            left.fork();
+            Counts right = new CountTask(baskets, basketsPerTask, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    private static class Counts {
+        private final Map<Long, LongLongMap> pairs = new HashMap<>();
+        private final LongLongMap borrowers = new LongLongMap();
+
+        private void add(final long[] basket) {
+            for (long bookId : basket) {
+                borrowers.add(bookId, 1);
+                if (basket.length > 1) {
+                    LongLongMap coBorrowed = pairs.computeIfAbsent(bookId, key -> new LongLongMap(basket.length));
+                    for (long otherId : basket) {
+                        if (otherId != bookId) {
+                            coBorrowed.add(otherId, 1);
+                        }
+                    }
+                }
+            }
+        }
+
+        private Counts merge(final Counts other) {
+            Counts larger = pairs.size() >= other.pairs.size() ? this : other;
+            Counts smaller = larger == this ? other : this;
+            larger.borrowers.addAll(smaller.borrowers);
+            smaller.pairs.forEach((bookId, coBorrowed) -> {
+                LongLongMap existing = larger.pairs.putIfAbsent(bookId, coBorrowed);
+                if (existing != null) {
+                    existing.addAll(coBorrowed);
+                }
+            });
+            return larger;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Neighbour {
+        private final long bookId;
+        private final long coBorrowers;
+        private final double score;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,118 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.config.hibernate.RequestStatistics;
+import com.sewerynkamil.librarymanager.config.hibernate.StatisticsEventListener;
+import com.sewerynkamil.librarymanager.config.hibernate.StatisticsSessionEventListener;
+import com.sewerynkamil.librarymanager.dto.HibernateStatisticsDto;
+import com.sewerynkamil.librarymanager.dto.RequestTypeStatisticsDto;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Session factory wide Hibernate statistics plus the per request figures, grouped by controller method.
+ */
+
+@Service
+public class HibernateStatisticsService {
+    private Statistics statistics;
+
+    private final Map<String, RequestTypeStatistics> requestTypes = new ConcurrentHashMap<>();
+
+    @Autowired
+    public HibernateStatisticsService(
+            EntityManagerFactory entityManagerFactory,
+            @Value("${statistics.slow-query.threshold}") long slowQueryThreshold) {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.statistics = sessionFactory.getStatistics();
+
+        StatisticsEventListener listener = new StatisticsEventListener();
+        EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_LOAD, listener);
+        registry.appendListeners(EventType.INIT_COLLECTION, listener);
+        StatisticsSessionEventListener.setSlowQueryThreshold(slowQueryThreshold);
+    }
+
+    public void record(final RequestStatistics request) {
+        requestTypes.computeIfAbsent(request.getRequestType(), type -> new RequestTypeStatistics()).add(request);
+    }
+
+    public HibernateStatisticsDto getStatistics() {
+        Map<String, RequestTypeStatisticsDto> requests = new TreeMap<>();
+        requestTypes.forEach((type, requestType) -> requests.put(type, requestType.toDto()));
+        return new HibernateStatisticsDto(
+                statistics.getQueryExecutionCount(),
+                statistics.getPrepareStatementCount(),
+                statistics.getEntityLoadCount(),
+                statistics.getCollectionFetchCount(),
+                statistics.getSecondLevelCacheHitCount(),
+                statistics.getSecondLevelCacheMissCount(),
+                ratio(statistics.getSecondLevelCacheHitCount(), statistics.getSecondLevelCacheMissCount()),
+                statistics.getQueryExecutionMaxTimeQueryString(),
+                statistics.getQueryExecutionMaxTime(),
+                requests);
+    }
+
+    public void reset() {
+        statistics.clear();
+        requestTypes.clear();
+    }
+
+    private static double ratio(final long hits, final long misses) {
+        return hits + misses == 0 ? 0 : (double) hits / (hits + misses);
+    }
+
+    private static class RequestTypeStatistics {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder statements = new LongAdder();
+        private final AtomicLong maxStatements = new AtomicLong();
+        private final LongAdder statementNanos = new LongAdder();
+        private final LongAdder slowStatements = new LongAdder();
+        private final LongAdder entityLoads = new LongAdder();
+        private final LongAdder collectionLoads = new LongAdder();
+        private final LongAdder cacheHits = new LongAdder();
+        private final LongAdder cacheMisses = new LongAdder();
+
+        void add(final RequestStatistics request) {
+            requests.increment();
+            statements.add(request.getStatements());
+            maxStatements.accumulateAndGet(request.getStatements(), Math::max);
+            statementNanos.add(request.getStatementNanos());
+            slowStatements.add(request.getSlowStatements());
+            entityLoads.add(request.getEntityLoads());
+            collectionLoads.add(request.getCollectionLoads());
+            cacheHits.add(request.getCacheHits());
+            cacheMisses.add(request.getCacheMisses());
+        }
+
+        RequestTypeStatisticsDto toDto() {
+            long count = requests.sum();
+            return new RequestTypeStatisticsDto(
+                    count,
+                    statements.sum(),
+                    maxStatements.get(),
+                    count == 0 ? 0 : (double) statements.sum() / count,
+                    statementNanos.sum() / (double) TimeUnit.MILLISECONDS.toNanos(1),
+                    slowStatements.sum(),
+                    entityLoads.sum(),
+                    collectionLoads.sum(),
+                    cacheHits.sum(),
+                    cacheMisses.sum(),
+                    ratio(cacheHits.sum(), cacheMisses.sum()));
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.exceptions.IdempotencyKeyConflictException;
+import com.sewerynkamil.librarymanager.domain.exceptions.IdempotencyStoreFullException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Remembers the result of a request sent with an idempotency key, so a retried request is answered with the
+ * first result instead of running again. A duplicate arriving while the first request is still running waits
+ * for it, up to idempotency.wait-timeout ms. Only completed results are kept: when the first request fails its
+ * claim is released and the next duplicate runs it again. Keys belong to the user who sent them, so two users
+ * never share a key. Completed keys expire after idempotency.ttl ms and at most idempotency.capacity keys are
+ * kept, the oldest completed one dropped first. A key still running is never dropped: when every kept key is
+ * still running a new one is refused until one of them finishes.
+ */
+
+@Service
+public class IdempotencyService {
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+    private final int capacity;
+    private final long ttl;
+    private final long waitTimeout;
+    private final Clock clock;
+
+    @Autowired
+    public IdempotencyService(
+            @Value("${idempotency.capacity}") int capacity,
+            @Value("${idempotency.ttl}") long ttl,
+            @Value("${idempotency.wait-timeout}") long waitTimeout) {
+        this(capacity, ttl, waitTimeout, Clock.systemDefaultZone());
+    }
+
+    public IdempotencyService(int capacity, long ttl, long waitTimeout, Clock clock) {
+        this.capacity = capacity;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.clock = clock;
+    }
+
+    /**
+     * Claims the owner's key for the request, or returns the result stored for it. The request describes what
+     * the key was sent with; the same key sent with another request is rejected. Without a key nothing is stored.
+     */
+    public <T> Claim<T> claim(final String owner, final String key, final String request) {
+        if (key == null || key.isEmpty()) {
+            return new Claim<>(null, null);
+        }
+        String ownedKey = owner + " " + key;
+        long deadline = clock.millis() + waitTimeout;
+        while (true) {
+            Entry entry;
+            synchronized (this) {
+                evictExpired();
+                entry = entries.get(ownedKey);
+                if (entry == null) {
+                    if (entries.size() >= capacity && !evictEldestCompleted()) {
+                        throw new IdempotencyStoreFullException();
+                    }
+                    entry = new Entry(request, clock.millis());
+                    entries.put(ownedKey, entry);
+                    return new Claim<>(ownedKey, entry);
+                }
+            }
+            if (!entry.request.equals(request)) {
+                throw new IdempotencyKeyConflictException(key);
+            }
+            if (entry.completed) {
+                return new Claim<>(null, entry);
+            }
+            long remaining = deadline - clock.millis();
+            try {
+                if (remaining <= 0 || !entry.done.await(remaining, TimeUnit.MILLISECONDS)) {
+                    throw new IdempotencyKeyConflictException(key);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IdempotencyKeyConflictException(key);
+            }
+        }
+    }
+
+    public synchronized int size() {
+        evictExpired();
+        return entries.size();
+    }
+
+    private void evictExpired() {
+        long now = clock.millis();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.createdAt + ttl > now) {
+                return;
+            }
+            if (entry.completed) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private boolean evictEldestCompleted() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().completed) {
+                iterator.remove();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private synchronized void release(final String key, final Entry entry) {
+        entries.remove(key, entry);
+    }
+
+    private static class Entry {
+        private final String request;
+        private final long createdAt;
+        private final CountDownLatch done = new CountDownLatch(1);
+        private volatile boolean completed;
+        private volatile Object result;
+
+        private Entry(final String request, final long createdAt) {
+            this.request = request;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * Either a replay of a stored result or the right to run the request. Closing a claim that was not
+     * completed releases the key and wakes the duplicates waiting for it.
+     */
+    public class Claim<T> implements AutoCloseable {
+        private final String key;
+        private final Entry entry;
+
+        private Claim(final String key, final Entry entry) {
+            this.key = key;
+            this.entry = entry;
+        }
+
+        public boolean isReplay() {
+            return key == null && entry != null;
+        }
+
+        @SuppressWarnings("unchecked")
+        public T getResult() {
+            return entry == null ? null : (T) entry.result;
+        }
+
+        public T complete(final T result) {
+            if (key != null && !entry.completed) {
+                entry.result = result;
+                entry.completed = true;
+                entry.done.countDown();
+            }
+            return result;
+        }
+
+        @Override
+        public void close() {
+            if (key != null && !entry.completed) {
+                release(key, entry);
+                entry.done.countDown();
+            }
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import com.sewerynkamil.librarymanager.repository.RentRepository;
+import com.sewerynkamil.librarymanager.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Fills the database with a synthetic library for load testing. The same seed always produces
+ * the same books, specimens, users and rents. Data is written in chunks, one transaction each.
+ */
+
+@Service
+public class LibraryDataGenerator {
+    public static final String LIBRARIAN = "admin@library.com";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LibraryDataGenerator.class);
+    private static final int CHUNK_SIZE = 500;
+
+    private static final String[] FIRST_NAMES = {"Adam", "Anna", "Bolesław", "Eliza", "Henryk", "Maria", "Stefan", "Wisława", "Zofia", "Jan", "Olga", "Witold"};
+    private static final String[] LAST_NAMES = {"Mickiewicz", "Sienkiewicz", "Prus", "Orzeszkowa", "Reymont", "Słowacki", "Kochanowski", "Fredro", "Żeromski", "Tokarczuk", "Lem", "Gombrowicz"};
+    private static final String[] ADJECTIVES = {"Silent", "Lost", "Golden", "Dark", "Forgotten", "Burning", "Hidden", "Last", "Broken", "Endless", "Crimson", "Northern"};
+    private static final String[] NOUNS = {"River", "Kingdom", "Garden", "Letters", "Empire", "Forest", "Promise", "Voyage", "Winter", "Tower", "Harbour", "Symphony"};
+    private static final String[] PUBLISHERS = {"Znak", "Czytelnik", "Wydawnictwo Literackie", "Iskry", "Prószyński", "Rebis", "Albatros", "Ossolineum"};
+
+    private BookRepository bookRepository;
+    private UserRepository userRepository;
+    private RentRepository rentRepository;
+    private PasswordEncoder bcryptEncoder;
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public LibraryDataGenerator(
+            BookRepository bookRepository,
+            UserRepository userRepository,
+            RentRepository rentRepository,
+            PasswordEncoder bcryptEncoder,
+            PlatformTransactionManager transactionManager) {
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.rentRepository = rentRepository;
+        this.bcryptEncoder = bcryptEncoder;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void generate(final int books, final int specimens, final int users, final String password, final long seed) {
+        Random random = new Random(seed);
+        long start = System.currentTimeMillis();
+
+        String encodedPassword = bcryptEncoder.encode(password);
+        transactionTemplate.execute(status -> userRepository.save(
+                new User("Librarian", "Librarian", LIBRARIAN, 500000000, encodedPassword, Role.ADMIN)));
+        List<User> savedUsers = generateUsers(users, encodedPassword);
+        int rents = 0;
+        for (int from = 0; from < books; from += CHUNK_SIZE) {
+            rents += generateBooks(from, Math.min(from + CHUNK_SIZE, books), books, specimens, savedUsers, random);
+        }
+
+        LOGGER.info("Generated {} books, {} specimens, {} users plus the librarian and {} rents in {} ms.",
+                books, specimens, users, rents, System.currentTimeMillis() - start);
+    }
+
+    public static String email(final int user) {
+        return "user" + user + "@library.com";
+    }
+
+    private List<User> generateUsers(final int users, final String encodedPassword) {
+        List<User> savedUsers = new ArrayList<>(users);
+        for (int from = 0; from < users; from += CHUNK_SIZE) {
+            List<User> chunk = new ArrayList<>();
+            for (int i = from; i < Math.min(from + CHUNK_SIZE, users); i++) {
+                chunk.add(new User(
+                        FIRST_NAMES[i % FIRST_NAMES.length],
+                        LAST_NAMES[i / FIRST_NAMES.length % LAST_NAMES.length],
+                        email(i),
+                        500000001 + i,
+                        encodedPassword,
+                        Role.USER));
+            }
+            savedUsers.addAll(transactionTemplate.execute(status -> userRepository.saveAll(chunk)));
+        }
+        return savedUsers;
+    }
+
+    private int generateBooks(final int from, final int to, final int books, final int specimens, final List<User> users, final Random random) {
+        Category[] categories = Category.values();
+        List<Book> chunk = new ArrayList<>();
+        List<Rent> rents = new ArrayList<>();
+
+        for (int i = from; i < to; i++) {
+            Book book = new Book(
+                    FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)],
+                    ADJECTIVES[random.nextInt(ADJECTIVES.length)] + " " + NOUNS[random.nextInt(NOUNS.length)] + " " + i,
+                    categories[i % categories.length],
+                    1800 + random.nextInt(220));
+
+            for (int j = i; j < specimens; j += books) {
+                Specimen specimen = new Specimen(
+                        randomStatus(random, users.isEmpty()),
+                        PUBLISHERS[random.nextInt(PUBLISHERS.length)],
+                        Math.max(book.getYearOfFirstPublication(), 1950 + random.nextInt(70)),
+                        book,
+                        9788300000000L + j);
+                book.getSpecimenList().add(specimen);
+
+                if (specimen.getStatus() == Status.RENTED) {
+                    Rent rent = new Rent(specimen, users.get(random.nextInt(users.size())));
+                    rent.setRentDate(LocalDate.now().minusDays(random.nextInt(30)));
+                    rent.setReturnDate(rent.getRentDate().plusDays(30));
+                    rents.add(rent);
+                }
+            }
+            chunk.add(book);
+        }
+
+        transactionTemplate.execute(status -> {
+            bookRepository.saveAll(chunk);
+            return rentRepository.saveAll(rents);
+        });
+        return rents.size();
+    }
+
+    private Status randomStatus(final Random random, final boolean noUsers) {
+        int roll = random.nextInt(100);
+        if (roll < 70 || (roll < 90 && noUsers)) {
+            return Status.AVAILABLE;
+        } else if (roll < 90) {
+            return Status.RENTED;
+        } else if (roll < 97) {
+            return Status.UNAVAILABLE;
+        }
+        return Status.LOST;
+    }
+}
\ No newline at end of file
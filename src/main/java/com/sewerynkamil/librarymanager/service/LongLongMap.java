@@ -0,0 +1,116 @@
+package com.sewerynkamil.librarymanager.service;
+
+import java.util.Arrays;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Open addressing map from long to long counters kept in two primitive arrays, so millions of entries cost
+ * sixteen bytes each instead of a boxed key, a boxed value and a node. Keys must not be Long.MIN_VALUE,
+ * which marks free slots. Not thread safe.
+ */
+
+public class LongLongMap {
+    private static final long FREE = Long.MIN_VALUE;
+
+    private long[] keys;
+    private long[] values;
+    private int size;
+
+    public LongLongMap() {
+        this(8);
+    }
+
+    public LongLongMap(final int expected) {
+        int capacity = Integer.highestOneBit(Math.max(expected * 2 - 1, 8)) * 2;
+        this.keys = new long[capacity];
+        this.values = new long[capacity];
+        Arrays.fill(keys, FREE);
+    }
+
+    public long add(final long key, final long delta) {
+        int slot = slot(key);
+        if (keys[slot] == FREE) {
+            keys[slot] = key;
+            values[slot] = delta;
+            if (++size * 2 > keys.length) {
+                resize();
+            }
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    public long get(final long key) {
+        int slot = slot(key);
+        return keys[slot] == FREE ? 0 : values[slot];
+    }
+
+    public boolean containsKey(final long key) {
+        return keys[slot(key)] != FREE;
+    }
+
+    public void addAll(final LongLongMap other) {
+        other.forEach(this::add);
+    }
+
+    public void forEach(final EntryConsumer consumer) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != FREE) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    public long[] keys() {
+        long[] result = new long[size];
+        int i = 0;
+        for (long key : keys) {
+            if (key != FREE) {
+                result[i++] = key;
+            }
+        }
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int slot(final long key) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("Unsupported key: " + key);
+        }
+        int mask = keys.length - 1;
+        int slot = (int) mix(key) & mask;
+        while (keys[slot] != FREE && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        keys = new long[oldKeys.length * 2];
+        values = new long[oldValues.length * 2];
+        Arrays.fill(keys, FREE);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int slot = slot(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private static long mix(final long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return hash ^ (hash >>> 32);
+    }
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long key, long value);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,159 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.CirculationRollup;
+import com.sewerynkamil.librarymanager.domain.enumerated.PopularityWindow;
+import com.sewerynkamil.librarymanager.dto.PopularBookDto;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import com.sewerynkamil.librarymanager.repository.CirculationRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Trending books over the last 24 hours, 7 days and 30 days. Every committed rent is added to the current
+ * bucket of each window, a Space-Saving summary of popularity.capacity books, and buckets older than the window
+ * are cleared as time moves on, so memory stays bounded whatever the number of books or rents. On startup the
+ * windows are seeded from the daily circulation rollups.
+ */
+
+@Service
+public class PopularityService {
+    private BookRepository bookRepository;
+    private CirculationRollupRepository circulationRollupRepository;
+    private Clock clock;
+
+    private final Map<PopularityWindow, SlidingWindow> windows = new EnumMap<>(PopularityWindow.class);
+
+    @Autowired
+    public PopularityService(
+            BookRepository bookRepository,
+            CirculationRollupRepository circulationRollupRepository,
+            @Value("${popularity.capacity}") int capacity) {
+        this(bookRepository, circulationRollupRepository, capacity, Clock.systemDefaultZone());
+    }
+
+    public PopularityService(
+            BookRepository bookRepository,
+            CirculationRollupRepository circulationRollupRepository,
+            int capacity,
+            Clock clock) {
+        this.bookRepository = bookRepository;
+        this.circulationRollupRepository = circulationRollupRepository;
+        this.clock = clock;
+        for (PopularityWindow window : PopularityWindow.values()) {
+            windows.put(window, new SlidingWindow(window, capacity));
+        }
+    }
+
+    @PostConstruct
+    public void seed() {
+        LocalDate today = LocalDate.now(clock);
+        long now = clock.millis();
+        for (CirculationRollup rollup : circulationRollupRepository.findAllByDayGreaterThanEqual(today.minusDays(30))) {
+            long time = rollup.getDay().equals(today)
+                    ? now
+                    : rollup.getDay().atStartOfDay(clock.getZone()).toInstant().toEpochMilli();
+            record(rollup.getBookId(), rollup.getCheckouts(), time);
+        }
+    }
+
+    public void recordRent(final Long bookId) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(bookId, 1, clock.millis());
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                record(bookId, 1, clock.millis());
+            }
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public List<PopularBookDto> findPopularBooks(final PopularityWindow window, final int limit) {
+        List<Map.Entry<Long, long[]>> top = top(window, limit);
+        Map<Long, Book> books = bookRepository.findAllById(top.stream().map(Map.Entry::getKey).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return top.stream()
+                .filter(entry -> books.containsKey(entry.getKey()))
+                .map(entry -> {
+                    Book book = books.get(entry.getKey());
+                    long[] total = entry.getValue();
+                    return new PopularBookDto(book.getId(), book.getAuthor(), book.getTitle(),
+                            book.getCategory().getCategory(), total[0], total[0] - total[1]);
+                })
+                .collect(Collectors.toList());
+    }
+
+    private synchronized List<Map.Entry<Long, long[]>> top(final PopularityWindow window, final int limit) {
+        Map<Long, long[]> totals = windows.get(window).totals(clock.millis());
+        return totals.entrySet().stream()
+                .sorted(Comparator.comparingLong((Map.Entry<Long, long[]> entry) -> entry.getValue()[0]).reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .collect(Collectors.toList());
+    }
+
+    private synchronized void record(final long bookId, final long weight, final long time) {
+        if (weight > 0) {
+            windows.values().forEach(window -> window.add(bookId, weight, time));
+        }
+    }
+
+    private static class SlidingWindow {
+        private final long bucketLength;
+        private final SpaceSaving[] buckets;
+        private long current = Long.MIN_VALUE;
+
+        private SlidingWindow(final PopularityWindow window, final int capacity) {
+            this.bucketLength = window.getBucketLength().toMillis();
+            this.buckets = new SpaceSaving[window.getBuckets()];
+            for (int i = 0; i < buckets.length; i++) {
+                buckets[i] = new SpaceSaving(capacity);
+            }
+        }
+
+        private void add(final long key, final long weight, final long time) {
+            long bucket = advance(time);
+            if (bucket > current - buckets.length) {
+                buckets[(int) Math.floorMod(bucket, (long) buckets.length)].add(key, weight);
+            }
+        }
+
+        private Map<Long, long[]> totals(final long time) {
+            advance(time);
+            Map<Long, long[]> totals = new HashMap<>();
+            for (SpaceSaving bucket : buckets) {
+                bucket.mergeInto(totals);
+            }
+            return totals;
+        }
+
+        private long advance(final long time) {
+            long bucket = Math.floorDiv(time, bucketLength);
+            if (bucket > current) {
+                long expired = current == Long.MIN_VALUE ? buckets.length : Math.min(bucket - current, buckets.length);
+                for (long i = 0; i < expired; i++) {
+                    buckets[(int) Math.floorMod(bucket - i, (long) buckets.length)].clear();
+                }
+                current = bucket;
+            }
+            return bucket;
+        }
+    }
+}
\ No newline at end of file
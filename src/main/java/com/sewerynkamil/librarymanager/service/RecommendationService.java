@@ -0,0 +1,145 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.BookRecommendation;
+import com.sewerynkamil.librarymanager.domain.RentHistory;
+import com.sewerynkamil.librarymanager.dto.RecommendationDto;
+import com.sewerynkamil.librarymanager.repository.BookRecommendationRepository;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import com.sewerynkamil.librarymanager.repository.RentHistoryRepository;
+import com.sewerynkamil.librarymanager.repository.RentRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * "Readers of this book also borrowed". On recommendations.cron the current rents, the rent history and its
+ * archive are read as reader and book pairs, the co-borrowing model is built on a fork/join pool and the top
+ * recommendations.neighbours of every book replace the BOOK_RECOMMENDATIONS table in one transaction. Requests
+ * only read the rows of one book by primary key.
+ */
+
+@Service
+public class RecommendationService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RecommendationService.class);
+    private static final String INSERT = "INSERT INTO BOOK_RECOMMENDATIONS " +
+            "(BOOK_ID, POSITION, RECOMMENDED_BOOK_ID, CO_BORROWERS, SCORE) VALUES (?, ?, ?, ?, ?)";
+    private static final int BATCH_SIZE = 1000;
+
+    private BookRepository bookRepository;
+    private BookRecommendationRepository bookRecommendationRepository;
+    private RentRepository rentRepository;
+    private RentHistoryRepository rentHistoryRepository;
+    private RentHistoryArchive rentHistoryArchive;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private int neighbours;
+    private int minCoBorrowers;
+
+    @Autowired
+    public RecommendationService(
+            BookRepository bookRepository,
+            BookRecommendationRepository bookRecommendationRepository,
+            RentRepository rentRepository,
+            RentHistoryRepository rentHistoryRepository,
+            RentHistoryArchive rentHistoryArchive,
+            DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            @Value("${recommendations.neighbours}") int neighbours,
+            @Value("${recommendations.min-co-borrowers}") int minCoBorrowers) {
+        this.bookRepository = bookRepository;
+        this.bookRecommendationRepository = bookRecommendationRepository;
+        this.rentRepository = rentRepository;
+        this.rentHistoryRepository = rentHistoryRepository;
+        this.rentHistoryArchive = rentHistoryArchive;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.neighbours = neighbours;
+        this.minCoBorrowers = minCoBorrowers;
+    }
+
+    @Transactional(readOnly = true)
+    public List<RecommendationDto> findRecommendations(final Long bookId) {
+        List<BookRecommendation> recommendations = bookRecommendationRepository.findAllByBookIdOrderByPosition(bookId);
+        Map<Long, Book> books = bookRepository.findAllById(recommendations.stream()
+                .map(BookRecommendation::getRecommendedBookId)
+                .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Book::getId, Function.identity()));
+        return recommendations.stream()
+                .filter(recommendation -> books.containsKey(recommendation.getRecommendedBookId()))
+                .map(recommendation -> {
+                    Book book = books.get(recommendation.getRecommendedBookId());
+                    return new RecommendationDto(book.getId(), book.getAuthor(), book.getTitle(),
+                            book.getCategory().getCategory(), recommendation.getCoBorrowers(), recommendation.getScore());
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(cron = "${recommendations.cron}")
+    public synchronized int rebuild() {
+        long start = System.currentTimeMillis();
+        List<long[]> baskets = baskets();
+        ForkJoinPool pool = new ForkJoinPool();
+        Map<Long, List<CoBorrowingModel.Neighbour>> model;
+        try {
+            model = CoBorrowingModel.build(baskets, neighbours, minCoBorrowers, pool);
+        } finally {
+            pool.shutdown();
+        }
+        List<Object[]> rows = new ArrayList<>();
+        model.forEach((bookId, top) -> {
+            for (int position = 0; position < top.size(); position++) {
+                CoBorrowingModel.Neighbour neighbour = top.get(position);
+                rows.add(new Object[]{bookId, position, neighbour.getBookId(), neighbour.getCoBorrowers(), neighbour.getScore()});
+            }
+        });
+        transactionTemplate.execute(status -> {
+            bookRecommendationRepository.deleteAllRecommendations();
+            for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(INSERT, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+            }
+            return null;
+        });
+        LOGGER.info("Rebuilt {} recommendations for {} books from {} readers in {} ms",
+                rows.size(), model.size(), baskets.size(), System.currentTimeMillis() - start);
+        return rows.size();
+    }
+
+    private List<long[]> baskets() {
+        Map<Long, LongLongMap> books = new HashMap<>();
+        rentRepository.findAllUserAndBookIds().forEach(row -> borrowed(books, (Long) row[0], (Long) row[1]));
+        rentHistoryRepository.findAllUserAndBookIds().forEach(row -> borrowed(books, (Long) row[0], (Long) row[1]));
+        try {
+            for (RentHistory history : rentHistoryArchive.find(entry -> true)) {
+                borrowed(books, history.getUserId(), history.getBookId());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return books.values().stream()
+                .map(LongLongMap::keys)
+                .collect(Collectors.toList());
+    }
+
+    private void borrowed(final Map<Long, LongLongMap> books, final Long userId, final Long bookId) {
+        books.computeIfAbsent(userId, key -> new LongLongMap()).add(bookId, 1);
+    }
+}
\ No newline at end of file
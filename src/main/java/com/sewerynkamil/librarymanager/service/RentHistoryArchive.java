@@ -0,0 +1,173 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sewerynkamil.librarymanager.domain.RentHistory;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Compacted months of rent history, one gzipped JSON-lines file per month. Disabled while
+ * rent-history.archive-dir is empty. Next to every month lies an index of the user and book ids it holds, kept
+ * in memory once read, so looking up one patron or book only unpacks the months that mention it. Months
+ * archived without an index get one the first time they are searched.
+ */
+
+@Component
+public class RentHistoryArchive {
+    private static final String PREFIX = "rent-history-";
+    private static final String SUFFIX = ".jsonl.gz";
+    private static final String INDEX_SUFFIX = ".idx.json";
+
+    private final Path directory;
+    private final Map<Path, Index> indexes = new ConcurrentHashMap<>();
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    public RentHistoryArchive(@Value("${rent-history.archive-dir:}") String directory) {
+        this.directory = directory.isEmpty() ? null : Paths.get(directory);
+    }
+
+    public boolean isEnabled() {
+        return directory != null;
+    }
+
+    public void write(final int period, final List<RentHistory> rentHistory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = file(period);
+        Path temporary = directory.resolve(file.getFileName() + ".tmp");
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(Files.newOutputStream(temporary)), StandardCharsets.UTF_8)) {
+            for (RentHistory entry : rentHistory) {
+                writer.write(objectMapper.writeValueAsString(entry));
+                writer.write('\n');
+            }
+        }
+        Path index = indexFile(file);
+        Path temporaryIndex = directory.resolve(index.getFileName() + ".tmp");
+        Index written = new Index(rentHistory);
+        objectMapper.writeValue(temporaryIndex.toFile(), written);
+        // Without its index a month is indexed again when searched, a stale index could hide entries
+        indexes.remove(file);
+        Files.deleteIfExists(index);
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        Files.move(temporaryIndex, index, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        indexes.put(file, written);
+    }
+
+    public List<RentHistory> read(final int period) throws IOException {
+        Path file = file(period);
+        return Files.exists(file) ? read(file, entry -> true) : new ArrayList<>();
+    }
+
+    public List<RentHistory> findByUserId(final Long userId) throws IOException {
+        return find(index -> index.getUserIds().contains(userId), entry -> userId.equals(entry.getUserId()));
+    }
+
+    public List<RentHistory> findByBookId(final Long bookId) throws IOException {
+        return find(index -> index.getBookIds().contains(bookId), entry -> bookId.equals(entry.getBookId()));
+    }
+
+    public List<RentHistory> find(final Predicate<RentHistory> filter) throws IOException {
+        if (!isEnabled() || !Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        List<RentHistory> found = new ArrayList<>();
+        for (Path file : files()) {
+            found.addAll(read(file, filter));
+        }
+        return found;
+    }
+
+    private List<RentHistory> find(final Predicate<Index> candidate, final Predicate<RentHistory> filter) throws IOException {
+        if (!isEnabled() || !Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        List<RentHistory> found = new ArrayList<>();
+        for (Path file : files()) {
+            if (candidate.test(index(file))) {
+                found.addAll(read(file, filter));
+            }
+        }
+        return found;
+    }
+
+    private Index index(final Path file) throws IOException {
+        Index index = indexes.get(file);
+        if (index != null) {
+            return index;
+        }
+        Path indexFile = indexFile(file);
+        if (Files.exists(indexFile)) {
+            index = objectMapper.readValue(indexFile.toFile(), Index.class);
+        } else {
+            index = new Index(read(file, entry -> true));
+            objectMapper.writeValue(indexFile.toFile(), index);
+        }
+        indexes.put(file, index);
+        return index;
+    }
+
+    private Path indexFile(final Path file) {
+        String name = file.getFileName().toString();
+        return file.resolveSibling(name.substring(0, name.length() - SUFFIX.length()) + INDEX_SUFFIX);
+    }
+
+    private List<Path> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> file.getFileName().toString().startsWith(PREFIX))
+                    .filter(file -> file.getFileName().toString().endsWith(SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private List<RentHistory> read(final Path file, final Predicate<RentHistory> filter) throws IOException {
+        List<RentHistory> found = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                RentHistory entry = objectMapper.readValue(line, RentHistory.class);
+                if (filter.test(entry)) {
+                    found.add(entry);
+                }
+            }
+        }
+        return found;
+    }
+
+    private Path file(final int period) {
+        return directory.resolve(PREFIX + period + SUFFIX);
+    }
+
+    @Getter
+    @NoArgsConstructor
+    private static class Index {
+        private Set<Long> userIds = new HashSet<>();
+        private Set<Long> bookIds = new HashSet<>();
+
+        private Index(final List<RentHistory> rentHistory) {
+            rentHistory.forEach(entry -> {
+                userIds.add(entry.getUserId());
+                bookIds.add(entry.getBookId());
+            });
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,119 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.RentHistory;
+import com.sewerynkamil.librarymanager.repository.RentHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Returned rents are appended to RENT_HISTORY. Months older than rent-history.retention-months are
+ * compacted into the archive and deleted from the table, so the table only holds recent months.
+ */
+
+@Service
+public class RentHistoryService {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RentHistoryService.class);
+    private static final Comparator<RentHistory> NEWEST_FIRST = Comparator
+            .comparing(RentHistory::getReturnDate)
+            .thenComparing(RentHistory::getId)
+            .reversed();
+
+    private RentHistoryRepository rentHistoryRepository;
+    private RentHistoryArchive rentHistoryArchive;
+    private int retentionMonths;
+
+    @Autowired
+    public RentHistoryService(
+            RentHistoryRepository rentHistoryRepository,
+            RentHistoryArchive rentHistoryArchive,
+            @Value("${rent-history.retention-months}") int retentionMonths) {
+        this.rentHistoryRepository = rentHistoryRepository;
+        this.rentHistoryArchive = rentHistoryArchive;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @Transactional
+    public RentHistory record(final Rent rent, final LocalDate returnDate) {
+        return rentHistoryRepository.save(new RentHistory(rent, returnDate));
+    }
+
+    @Transactional
+    public List<RentHistory> recordAll(final Collection<Rent> rents, final LocalDate returnDate) {
+        return rentHistoryRepository.saveAll(rents.stream()
+                .map(rent -> new RentHistory(rent, returnDate))
+                .collect(Collectors.toList()));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RentHistory> findAllByUserId(final Long userId) {
+        List<RentHistory> history = new ArrayList<>(rentHistoryRepository.findAllByUserIdOrderByReturnDateDescIdDesc(userId));
+        history.addAll(archived(() -> rentHistoryArchive.findByUserId(userId)));
+        history.sort(NEWEST_FIRST);
+        return history;
+    }
+
+    @Transactional(readOnly = true)
+    public List<RentHistory> findAllByBookId(final Long bookId) {
+        List<RentHistory> history = new ArrayList<>(rentHistoryRepository.findAllByBookIdOrderByReturnDateDescIdDesc(bookId));
+        history.addAll(archived(() -> rentHistoryArchive.findByBookId(bookId)));
+        history.sort(NEWEST_FIRST);
+        return history;
+    }
+
+    @Scheduled(cron = "${rent-history.compaction-cron}")
+    public void compact() {
+        if (!rentHistoryArchive.isEnabled()) {
+            return;
+        }
+        int cutoff = RentHistory.period(LocalDate.now().minusMonths(retentionMonths));
+        for (Integer period : rentHistoryRepository.findPeriodsBefore(cutoff)) {
+            try {
+                compact(period);
+            } catch (IOException e) {
+                LOGGER.error("Failed to compact rent history of {}: {}", period, e.getMessage(), e);
+                return;
+            }
+        }
+    }
+
+    private void compact(final int period) throws IOException {
+        // Rows archived by an earlier run that failed before deleting them are written once
+        Map<Long, RentHistory> entries = new LinkedHashMap<>();
+        rentHistoryArchive.read(period).forEach(entry -> entries.put(entry.getId(), entry));
+        rentHistoryRepository.findAllByPeriodOrderById(period).forEach(entry -> entries.put(entry.getId(), entry));
+        rentHistoryArchive.write(period, new ArrayList<>(entries.values()));
+        int deleted = rentHistoryRepository.deleteByPeriod(period);
+        LOGGER.info("Compacted {} rent history rows of {}", deleted, period);
+    }
+
+    private List<RentHistory> archived(final ArchiveLookup lookup) {
+        try {
+            return lookup.find();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private interface ArchiveLookup {
+        List<RentHistory> find() throws IOException;
+    }
+}
\ No newline at end of file
@@ -3,42 +3,84 @@ package com.sewerynkamil.librarymanager.service;
 import com.sewerynkamil.librarymanager.domain.Rent;
 import com.sewerynkamil.librarymanager.domain.Specimen;
 import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+import com.sewerynkamil.librarymanager.domain.enumerated.ChangedEntity;
+import com.sewerynkamil.librarymanager.domain.enumerated.RentBatchResult;
 import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.domain.exceptions.RentNotExistException;
 import com.sewerynkamil.librarymanager.domain.exceptions.SpecimenNotExistException;
 import com.sewerynkamil.librarymanager.domain.exceptions.UserNotExistException;
+import com.sewerynkamil.librarymanager.dto.RentBatchResultDto;
+import com.sewerynkamil.librarymanager.observer.EventBus;
+import com.sewerynkamil.librarymanager.observer.RentCreatedEvent;
+import com.sewerynkamil.librarymanager.observer.RentProlongedEvent;
+import com.sewerynkamil.librarymanager.observer.RentReturnedEvent;
 import com.sewerynkamil.librarymanager.repository.RentRepository;
 import com.sewerynkamil.librarymanager.repository.SpecimenRepository;
 import com.sewerynkamil.librarymanager.repository.UserRepository;
+import org.hibernate.Session;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
 import java.time.LocalDate;
-import java.util.List;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * Author Kamil Seweryn
+ *
+ * Rent, prolongation and return each run as a single read-write transaction: the repositories join it and
+ * managed entities are written by one flush at commit. A returned rent is recorded in the rent history before
+ * its row is deleted, and every rent and specimen change is appended to the change log in the same transaction.
+ * The rent email and the other reactions to a rent are events published on the EventBus, delivered to their
+ * subscribers only once the commit succeeded.
+ *
+ * Batch returns and prolongations from the desk load all rents with one query, write the history, specimen
+ * and rent rows of the flush in JDBC batches, delete the returned rents with one statement and report the
+ * result of every requested id, so a pile of books costs a handful of round trips instead of a few per book.
  */
 
 @Service
 public class RentService {
+    private static final int PROLONGATION_DAYS = 30;
+    private static final int JDBC_BATCH_SIZE = 50;
+
     private RentRepository rentRepository;
     private SpecimenRepository specimenRepository;
     private UserRepository userRepository;
-    private EmailService emailService;
+    private StatisticsService statisticsService;
+    private RentHistoryService rentHistoryService;
+    private CirculationService circulationService;
+    private EventBus eventBus;
+    private ChangeLogService changeLogService;
+    private EntityManager entityManager;
 
     @Autowired
     public RentService(
             RentRepository rentRepository,
             SpecimenRepository specimenRepository,
             UserRepository userRepository,
-            EmailService emailService) {
+            StatisticsService statisticsService,
+            RentHistoryService rentHistoryService,
+            CirculationService circulationService,
+            EventBus eventBus,
+            ChangeLogService changeLogService,
+            EntityManager entityManager) {
         this.rentRepository = rentRepository;
         this.specimenRepository = specimenRepository;
         this.userRepository = userRepository;
-        this.emailService = emailService;
+        this.statisticsService = statisticsService;
+        this.rentHistoryService = rentHistoryService;
+        this.circulationService = circulationService;
+        this.eventBus = eventBus;
+        this.changeLogService = changeLogService;
+        this.entityManager = entityManager;
     }
 
+    @Transactional(readOnly = true)
     public List<Rent> findAllRentsWithLazyLoading(final int offset, final int limit) {
         return rentRepository.findAll().stream()
                 .skip(offset)
@@ -46,54 +88,143 @@ public class RentService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<Rent> findAllRentsByBookTitleStartsWithIgnoreCase(final String title) {
         return rentRepository.findBySpecimenBookTitleStartsWithIgnoreCase(title);
     }
 
+    @Transactional(readOnly = true)
     public List<Rent> findAllRentsByUserEmailStartsWithIgnoreCase(final String email) {
         return rentRepository.findByUserEmailStartsWithIgnoreCase(email);
     }
 
+    @Transactional(readOnly = true)
     public List<Rent> findAllRentsByUserId(final Long userId) {
         return rentRepository.findAllByUserId(userId);
     }
 
+    @Transactional(rollbackFor = {SpecimenNotExistException.class, UserNotExistException.class})
     public Rent rentBook(final Long specimenId, final Long userId) throws SpecimenNotExistException, UserNotExistException {
-        Specimen specimen = specimenRepository.findById(specimenId).orElseThrow(SpecimenNotExistException::new);
-        specimen.setStatus(Status.RENTED.getStatus());
-        specimenRepository.save(specimen);
-
-        User user = userRepository.findById(userId).orElseThrow(UserNotExistException::new);
-
-        Rent rent = new Rent(specimen, user);
-        emailService.send(user.update(rent));
-        return rentRepository.save(rent);
+        Specimen specimen = specimenRepository.loadOrThrow(specimenId, SpecimenNotExistException::new);
+        User user = userRepository.loadOrThrow(userId, UserNotExistException::new);
+
+        Status oldStatus = specimen.getStatus();
+        specimen.setStatus(Status.RENTED);
+        Rent savedRent = rentRepository.save(new Rent(specimen, user));
+        statisticsService.changeSpecimenStatus(oldStatus, specimen.getStatus());
+        statisticsService.changeRents(1);
+        circulationService.recordCheckout(savedRent);
+        changeLogService.record(ChangedEntity.RENT, savedRent.getId(), Change.CREATED);
+        changeLogService.record(ChangedEntity.SPECIMEN, specimen.getId(), Change.UPDATED);
+        eventBus.publish(new RentCreatedEvent(savedRent));
+        return savedRent;
     }
 
+    @Transactional
     public Rent prolongationRent(final Long specimenId, final Long userId) {
         Rent rent = rentRepository.findBySpecimenIdAndUserId(specimenId, userId);
-        rent.setReturnDate(rent.getReturnDate().plusDays(30));
-        return rentRepository.save(rent);
+        rent.setReturnDate(rent.getReturnDate().plusDays(PROLONGATION_DAYS));
+        changeLogService.record(ChangedEntity.RENT, rent.getId(), Change.UPDATED);
+        eventBus.publish(new RentProlongedEvent(rent));
+        return rent;
+    }
+
+    @Transactional
+    public List<RentBatchResultDto> prolongRents(final List<Long> ids) {
+        List<Long> distinctIds = distinct(ids);
+        Map<Long, Rent> rents = findRents(distinctIds);
+        useJdbcBatches();
+        rents.values().forEach(rent -> {
+            rent.setReturnDate(rent.getReturnDate().plusDays(PROLONGATION_DAYS));
+            eventBus.publish(new RentProlongedEvent(rent));
+        });
+        changeLogService.record(ChangedEntity.RENT, rents.keySet(), Change.UPDATED);
+        return report(distinctIds, rents, RentBatchResult.PROLONGED, Rent::getReturnDate);
     }
 
-    public void returnBook(final Long id) {
-        Rent rent = rentRepository.findById(id).get();
-        rent.getSpecimen().setStatus(Status.AVAILABLE.getStatus());
-        rent.setReturnDate(LocalDate.now());
-        rent.getSpecimen().getRentList().remove(rent);
-        rent.getUser().getRentList().remove(rent);
-        rentRepository.deleteById(id);
+    @Transactional(rollbackFor = RentNotExistException.class)
+    public void returnBook(final Long id) throws RentNotExistException {
+        returnRents(Collections.singletonList(rentRepository.loadOrThrow(id, RentNotExistException::new)));
     }
 
+    @Transactional
+    public List<RentBatchResultDto> returnBooks(final List<Long> ids) {
+        List<Long> distinctIds = distinct(ids);
+        Map<Long, Rent> rents = findRents(distinctIds);
+        useJdbcBatches();
+        LocalDate returnDate = returnRents(rents.values());
+        return report(distinctIds, rents, RentBatchResult.RETURNED, rent -> returnDate);
+    }
+
+    @Transactional(readOnly = true)
     public boolean isRentExistBySpecimenId(final Long id) {
         return rentRepository.existsBySpecimenId(id);
     }
 
+    @Transactional(readOnly = true)
     public boolean isRentExistBySpecimenBookTitle(final String title) {
         return rentRepository.existsBySpecimenBookTitle(title);
     }
 
     public Long countRents() {
-        return rentRepository.count();
+        return statisticsService.countRents();
+    }
+
+    private LocalDate returnRents(final Collection<Rent> rents) {
+        LocalDate returnDate = LocalDate.now();
+        if (rents.isEmpty()) {
+            return returnDate;
+        }
+        // Deleted before anything else is changed, so no flush precedes the statement, and detached, so the
+        // flush at commit writes nothing for the deleted rows
+        List<Long> ids = rents.stream().map(Rent::getId).collect(Collectors.toList());
+        rentRepository.deleteAllByIdIn(ids);
+        rents.forEach(entityManager::detach);
+        rentHistoryService.recordAll(rents, returnDate);
+        for (Rent rent : rents) {
+            circulationService.recordReturn(rent, returnDate);
+            Status oldStatus = rent.getSpecimen().getStatus();
+            rent.getSpecimen().setStatus(Status.AVAILABLE);
+            rent.setReturnDate(returnDate);
+            rent.getSpecimen().getRentList().remove(rent);
+            rent.getUser().getRentList().remove(rent);
+            statisticsService.changeSpecimenStatus(oldStatus, Status.AVAILABLE);
+            eventBus.publish(new RentReturnedEvent(rent));
+        }
+        changeLogService.record(ChangedEntity.RENT, ids, Change.DELETED);
+        changeLogService.record(ChangedEntity.SPECIMEN, rents.stream().map(rent -> rent.getSpecimen().getId()).collect(Collectors.toList()), Change.UPDATED);
+        statisticsService.changeRents(-rents.size());
+        return returnDate;
+    }
+
+    private Map<Long, Rent> findRents(final List<Long> ids) {
+        Map<Long, Rent> rents = new LinkedHashMap<>();
+        if (!ids.isEmpty()) {
+            rentRepository.findAllByIdIn(ids).forEach(rent -> rents.put(rent.getId(), rent));
+        }
+        return rents;
+    }
+
+    private void useJdbcBatches() {
+        entityManager.unwrap(Session.class).setJdbcBatchSize(JDBC_BATCH_SIZE);
+    }
+
+    private static List<Long> distinct(final List<Long> ids) {
+        return ids.stream()
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+    }
+
+    private static List<RentBatchResultDto> report(
+            final List<Long> ids,
+            final Map<Long, Rent> rents,
+            final RentBatchResult result,
+            final Function<Rent, LocalDate> returnDate) {
+        return ids.stream()
+                .map(id -> Optional.ofNullable(rents.get(id))
+                        .map(rent -> new RentBatchResultDto(id, result.getResult(), returnDate.apply(rent)))
+                        .orElseGet(() -> new RentBatchResultDto(id, RentBatchResult.NOT_FOUND.getResult(), null)))
+                .collect(Collectors.toList());
     }
 }
\ No newline at end of file
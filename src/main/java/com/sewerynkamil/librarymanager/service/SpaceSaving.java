@@ -0,0 +1,86 @@
+package com.sewerynkamil.librarymanager.service;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Space-Saving heavy hitters summary over at most capacity keys. A new key evicts the smallest counter and
+ * inherits its count as the error, so every estimate is an upper bound that exceeds the true count by at most
+ * the error. Not thread safe.
+ */
+
+public class SpaceSaving {
+    private static final Comparator<Counter> BY_COUNT = Comparator
+            .comparingLong((Counter counter) -> counter.count)
+            .thenComparingLong(counter -> counter.key);
+
+    private final int capacity;
+    private final Map<Long, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> ordered = new TreeSet<>(BY_COUNT);
+
+    public SpaceSaving(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    public void add(final long key, final long weight) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            ordered.remove(counter);
+            counter.count += weight;
+            ordered.add(counter);
+            return;
+        }
+        long error = 0;
+        if (counters.size() >= capacity) {
+            Counter smallest = ordered.pollFirst();
+            counters.remove(smallest.key);
+            error = smallest.count;
+        }
+        counter = new Counter(key, error + weight, error);
+        counters.put(key, counter);
+        ordered.add(counter);
+    }
+
+    public long estimate(final long key) {
+        Counter counter = counters.get(key);
+        return counter == null ? 0 : counter.count;
+    }
+
+    public long error(final long key) {
+        Counter counter = counters.get(key);
+        return counter == null ? 0 : counter.error;
+    }
+
+    public void mergeInto(final Map<Long, long[]> totals) {
+        counters.values().forEach(counter -> {
+            long[] total = totals.computeIfAbsent(counter.key, key -> new long[2]);
+            total[0] += counter.count;
+            total[1] += counter.error;
+        });
+    }
+
+    public int size() {
+        return counters.size();
+    }
+
+    public void clear() {
+        counters.clear();
+        ordered.clear();
+    }
+
+    private static class Counter {
+        private final long key;
+        private long count;
+        private final long error;
+
+        private Counter(long key, long count, long error) {
+            this.key = key;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
\ No newline at end of file
@@ -1,12 +1,18 @@
 package com.sewerynkamil.librarymanager.service;
 
+import com.sewerynkamil.librarymanager.domain.Book;
 import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+import com.sewerynkamil.librarymanager.domain.enumerated.ChangedEntity;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
 import com.sewerynkamil.librarymanager.domain.exceptions.SpecimenNotExistException;
 import com.sewerynkamil.librarymanager.repository.SpecimenRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 /**
  * Author Kamil Seweryn
@@ -15,34 +21,66 @@ import java.util.List;
 @Service
 public class SpecimenService {
     private SpecimenRepository specimenRepository;
+    private StatisticsService statisticsService;
+    private CatalogueCacheService catalogueCacheService;
+    private ChangeLogService changeLogService;
 
     @Autowired
-    public SpecimenService(SpecimenRepository specimenRepository) {
+    public SpecimenService(
+            SpecimenRepository specimenRepository,
+            StatisticsService statisticsService,
+            CatalogueCacheService catalogueCacheService,
+            ChangeLogService changeLogService) {
         this.specimenRepository = specimenRepository;
+        this.statisticsService = statisticsService;
+        this.catalogueCacheService = catalogueCacheService;
+        this.changeLogService = changeLogService;
     }
 
+    @Transactional(readOnly = true)
     public List<Specimen> findAllSpecimensForOneBookByBookId(final Long bookId) {
         return specimenRepository.findAllByBookId(bookId);
     }
 
+    @Transactional(readOnly = true)
     public List<Specimen> findAllSpecimensForOneBookByStatusAndBookId(final String status, final Long bookId) {
-        return specimenRepository.findAllByStatusAndBookId(status, bookId);
+        return specimenRepository.findAllByStatusAndBookId(Status.fromStatus(status), bookId);
     }
 
+    @Transactional(readOnly = true)
     public Specimen findOneSpecimen(final Long id) throws SpecimenNotExistException {
-        return specimenRepository.findById(id).orElseThrow(SpecimenNotExistException::new);
+        return specimenRepository.loadOrThrow(id, SpecimenNotExistException::new);
     }
 
+    @Transactional
     public Specimen saveNewSpecimen(final Specimen specimen) {
-        return specimenRepository.save(specimen);
+        return updateSpecimen(specimen);
     }
 
+    @Transactional
     public Specimen updateSpecimen(final Specimen specimen) {
-        return specimenRepository.save(specimen);
+        Optional<Specimen> oldSpecimen = specimen.getId() == null ? Optional.empty() : specimenRepository.findById(specimen.getId());
+        Status oldStatus = oldSpecimen.map(Specimen::getStatus).orElse(null);
+        Long oldBookId = oldSpecimen.map(Specimen::getBook).map(Book::getId).orElse(null);
+
+        Specimen savedSpecimen = specimenRepository.save(specimen);
+        statisticsService.changeSpecimenStatus(oldStatus, savedSpecimen.getStatus());
+        changeLogService.record(ChangedEntity.SPECIMEN, savedSpecimen.getId(), oldSpecimen.isPresent() ? Change.UPDATED : Change.CREATED);
+        catalogueCacheService.evictSpecimenList(oldBookId);
+        catalogueCacheService.evictSpecimenList(bookId(savedSpecimen));
+        return savedSpecimen;
     }
 
+    @Transactional
     public void deleteSpecimen(final Specimen specimen) {
         specimen.getBook().getSpecimenList().remove(specimen);
         specimenRepository.delete(specimen);
+        statisticsService.changeSpecimens(specimen.getStatus(), -1);
+        changeLogService.record(ChangedEntity.SPECIMEN, specimen.getId(), Change.DELETED);
+        catalogueCacheService.evictSpecimenList(bookId(specimen));
+    }
+
+    private Long bookId(final Specimen specimen) {
+        return Optional.ofNullable(specimen.getBook()).map(Book::getId).orElse(null);
     }
 }
\ No newline at end of file
@@ -0,0 +1,154 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import com.sewerynkamil.librarymanager.repository.RentRepository;
+import com.sewerynkamil.librarymanager.repository.SpecimenRepository;
+import com.sewerynkamil.librarymanager.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * In-memory counters behind the count endpoints. Changes are published after commit
+ * and the counters are periodically reconciled against the database.
+ */
+
+@Service
+public class StatisticsService {
+    private static final String BOOKS = "books";
+    private static final String USERS = "users";
+    private static final String RENTS = "rents";
+    private static final String SPECIMENS = "specimens:";
+
+    private BookRepository bookRepository;
+    private UserRepository userRepository;
+    private RentRepository rentRepository;
+    private SpecimenRepository specimenRepository;
+
+    private final Map<String, AtomicLong> counters = new ConcurrentHashMap<>();
+
+    @Autowired
+    public StatisticsService(
+            BookRepository bookRepository,
+            UserRepository userRepository,
+            RentRepository rentRepository,
+            SpecimenRepository specimenRepository) {
+        this.bookRepository = bookRepository;
+        this.userRepository = userRepository;
+        this.rentRepository = rentRepository;
+        this.specimenRepository = specimenRepository;
+    }
+
+    @PostConstruct
+    public void reconcile() {
+        counter(BOOKS).set(bookRepository.count());
+        counter(USERS).set(userRepository.count());
+        counter(RENTS).set(rentRepository.count());
+        for (Status status : Status.values()) {
+            counter(SPECIMENS + status.getStatus()).set(specimenRepository.countByStatus(status));
+        }
+    }
+
+    public Long countBooks() {
+        return read(BOOKS);
+    }
+
+    public Long countUsers() {
+        return read(USERS);
+    }
+
+    public Long countRents() {
+        return read(RENTS);
+    }
+
+    public Long countSpecimensByStatus(final String status) {
+        return read(SPECIMENS + status);
+    }
+
+    public Map<String, Long> countSpecimensPerStatus() {
+        Map<String, Long> specimens = new LinkedHashMap<>();
+        for (Status status : Status.values()) {
+            specimens.put(status.getStatus(), countSpecimensByStatus(status.getStatus()));
+        }
+        return specimens;
+    }
+
+    public void changeBooks(final long delta) {
+        change(BOOKS, delta);
+    }
+
+    public void changeUsers(final long delta) {
+        change(USERS, delta);
+    }
+
+    public void changeRents(final long delta) {
+        change(RENTS, delta);
+    }
+
+    public void changeSpecimens(final Status status, final long delta) {
+        if (status != null) {
+            change(SPECIMENS + status.getStatus(), delta);
+        }
+    }
+
+    public void changeSpecimenStatus(final Status oldStatus, final Status newStatus) {
+        if (oldStatus != newStatus) {
+            changeSpecimens(oldStatus, -1);
+            changeSpecimens(newStatus, 1);
+        }
+    }
+
+    private AtomicLong counter(final String name) {
+        return counters.computeIfAbsent(name, key -> new AtomicLong());
+    }
+
+    private Long read(final String name) {
+        Map<String, Long> pending = pendingChanges(false);
+        long delta = pending == null ? 0 : pending.getOrDefault(name, 0L);
+        return counter(name).get() + delta;
+    }
+
+    private void change(final String name, final long delta) {
+        Map<String, Long> pending = pendingChanges(true);
+        if (pending == null) {
+            counter(name).addAndGet(delta);
+        } else {
+            pending.merge(name, delta, Long::sum);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> pendingChanges(final boolean create) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+        Map<String, Long> pending = (Map<String, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null && create) {
+            Map<String, Long> changes = new ConcurrentHashMap<>();
+            TransactionSynchronizationManager.bindResource(this, changes);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    changes.forEach((name, delta) -> counter(name).addAndGet(delta));
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(StatisticsService.this);
+                }
+            });
+            pending = changes;
+        }
+        return pending;
+    }
+}
\ No newline at end of file
@@ -1,10 +1,14 @@
 package com.sewerynkamil.librarymanager.service;
 
 import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+import com.sewerynkamil.librarymanager.domain.enumerated.ChangedEntity;
 import com.sewerynkamil.librarymanager.domain.enumerated.Role;
 import com.sewerynkamil.librarymanager.domain.exceptions.UserExistException;
 import com.sewerynkamil.librarymanager.domain.exceptions.UserHasRentsException;
 import com.sewerynkamil.librarymanager.domain.exceptions.UserNotExistException;
+import com.sewerynkamil.librarymanager.observer.EventBus;
+import com.sewerynkamil.librarymanager.observer.UserChangedEvent;
 import com.sewerynkamil.librarymanager.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -13,6 +17,7 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.HashSet;
 import java.util.List;
@@ -27,13 +32,25 @@ import java.util.stream.Collectors;
 public class UserService implements UserDetailsService {
     private UserRepository userRepository;
     private PasswordEncoder bcryptEncoder;
+    private StatisticsService statisticsService;
+    private EventBus eventBus;
+    private ChangeLogService changeLogService;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder bcryptEncoder) {
+    public UserService(
+            UserRepository userRepository,
+            PasswordEncoder bcryptEncoder,
+            StatisticsService statisticsService,
+            EventBus eventBus,
+            ChangeLogService changeLogService) {
         this.userRepository = userRepository;
         this.bcryptEncoder = bcryptEncoder;
+        this.statisticsService = statisticsService;
+        this.eventBus = eventBus;
+        this.changeLogService = changeLogService;
     }
 
+    @Transactional(readOnly = true)
     public List<User> findAllUsersWithLazyLoading(final int offset, final int limit) {
         return userRepository.findAll().stream()
                 .skip(offset)
@@ -41,85 +58,95 @@ public class UserService implements UserDetailsService {
                 .collect(Collectors.toList());
     }
 
+    @Transactional(readOnly = true)
     public List<User> findAllUsersByNameStartsWithIgnoreCase(final String name) {
         return userRepository.findByNameStartsWithIgnoreCase(name);
     }
 
+    @Transactional(readOnly = true)
     public List<User> findAllUsersBySurnameStartsWithIgnoreCase(final String surname) {
         return userRepository.findBySurnameStartsWithIgnoreCase(surname);
     }
 
+    @Transactional(readOnly = true)
     public List<User> findAllUsersByEmailStartsWithIgnoreCase(final String email) {
         return userRepository.findByEmailStartsWithIgnoreCase(email);
     }
 
+    @Transactional(readOnly = true)
     public User findOneUserById(final Long id) throws UserNotExistException {
-        return userRepository.findById(id).orElseThrow(UserNotExistException::new);
+        return userRepository.loadOrThrow(id, UserNotExistException::new);
     }
 
+    @Transactional(readOnly = true)
     public User findOneUserByEmail(final String email) throws UserNotExistException {
-        User user = userRepository.findByEmail(email);
-        if(!isUserExist(user.getEmail())) {
-            throw new UserNotExistException();
-        }
-        return user;
+        return userRepository.findByEmail(email).orElseThrow(UserNotExistException::new);
     }
 
+    @Transactional(rollbackFor = UserExistException.class)
     public User saveUser(final User user) throws UserExistException {
         if(userRepository.existsByEmail(user.getEmail())) {
             throw new UserExistException();
         } else if(user.getEmail().equals("admin@library.com")) {
-            user.setRole(Role.ADMIN.getRole());
+            user.setRole(Role.ADMIN);
         }
         user.setPassword(bcryptEncoder.encode(user.getPassword()));
-        return userRepository.save(user);
+        if(user.getId() == null) {
+            statisticsService.changeUsers(1);
+        }
+        User savedUser = userRepository.save(user);
+        changeLogService.record(ChangedEntity.USER, savedUser.getId(), Change.CREATED);
+        eventBus.publish(new UserChangedEvent(savedUser.getId(), Change.CREATED));
+        return savedUser;
     }
 
+    @Transactional
     public User updateUser(final User user) {
-        return userRepository.save(user);
+        User savedUser = userRepository.save(user);
+        changeLogService.record(ChangedEntity.USER, savedUser.getId(), Change.UPDATED);
+        eventBus.publish(new UserChangedEvent(savedUser.getId(), Change.UPDATED));
+        return savedUser;
     }
 
-    public void deleteUserById(final User user) throws UserNotExistException, UserHasRentsException {
-        if(!userRepository.existsByEmail(user.getEmail())) {
-            throw new UserNotExistException();
-        } else if (!userRepository.findByEmail(user.getEmail()).getRentList().isEmpty()) {
+    @Transactional
+    public void deleteUserById(final Long id) throws UserNotExistException, UserHasRentsException {
+        User existingUser = userRepository.loadOrThrow(id, UserNotExistException::new);
+        if(!existingUser.getRentList().isEmpty()) {
             throw new UserHasRentsException();
         }
-        userRepository.delete(user);
+        userRepository.delete(existingUser);
+        statisticsService.changeUsers(-1);
+        changeLogService.record(ChangedEntity.USER, existingUser.getId(), Change.DELETED);
+        eventBus.publish(new UserChangedEvent(existingUser.getId(), Change.DELETED));
     }
 
+    @Transactional(readOnly = true)
     public boolean isUserHasRents(final String email) {
-        return !userRepository.findByEmail(email).getRentList().isEmpty();
+        return userRepository.findByEmail(email)
+                .map(user -> !user.getRentList().isEmpty())
+                .orElse(false);
     }
 
+    @Transactional(readOnly = true)
     public boolean isUserExist(final String email) {
         return userRepository.existsByEmail(email);
     }
 
     public Long countUsers() {
-        return userRepository.count();
+        return statisticsService.countUsers();
     }
 
     @Override
+    @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = null;
-
-        try {
-            user = findOneUserByEmail(username);
-        } catch (UserNotExistException e) {
-            e.getMessage();
-        }
-
-        if(user == null) {
-            throw new UsernameNotFoundException("User not found with email: " + username);
-        } else {
-            return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), getAuthority(user));
-        }
+        User user = userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + username));
+        return new org.springframework.security.core.userdetails.User(user.getEmail(), user.getPassword(), getAuthority(user));
     }
 
     private Set<SimpleGrantedAuthority> getAuthority(User user) {
         Set<SimpleGrantedAuthority> authorities = new HashSet<>();
-        authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getRole()));
+        authorities.add(new SimpleGrantedAuthority("ROLE_" + user.getRole().getRole()));
         return authorities;
     }
 }
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.sewerynkamil.librarymanager.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Maximum number of SQL statements every HTTP request performed by the annotated test may issue.
+ * Enforced by {@link StatementBudgetRule}.
+ */
+
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface StatementBudget {
+    int value();
+}
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.sewerynkamil.librarymanager.config;
+
+import org.junit.Assert;
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Fails a test annotated with {@link StatementBudget} when any HTTP request it performed
+ * issued more SQL statements than the budget allows.
+ */
+
+public class StatementBudgetRule implements TestRule {
+    @Override
+    public Statement apply(final Statement base, final Description description) {
+        StatementBudget budget = description.getAnnotation(StatementBudget.class);
+        if (budget == null) {
+            return base;
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                StatementCounter.reset();
+                base.evaluate();
+                for (StatementCounter.CountedRequest request : StatementCounter.requests()) {
+                    if (request.getStatements().size() > budget.value()) {
+                        Assert.fail(request.getRequest() + " issued " + request.getStatements().size()
+                                + " SQL statements, the budget is " + budget.value() + ":\n"
+                                + String.join("\n", request.getStatements()));
+                    }
+                }
+            }
+        };
+    }
+}
\ No newline at end of file
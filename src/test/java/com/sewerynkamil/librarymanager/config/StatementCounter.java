@@ -0,0 +1,69 @@
+package com.sewerynkamil.librarymanager.config;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Statements counted per HTTP request. MockMvc handles the request on the test thread,
+ * so the request in progress is kept in a thread local.
+ */
+
+public final class StatementCounter {
+    private static final ThreadLocal<CountedRequest> CURRENT = new ThreadLocal<>();
+    private static final List<CountedRequest> REQUESTS = new ArrayList<>();
+
+    private StatementCounter() {
+    }
+
+    static void begin(final String request) {
+        CURRENT.set(new CountedRequest(request));
+    }
+
+    static void statement(final String sql) {
+        CountedRequest request = CURRENT.get();
+        if (request != null) {
+            request.statements.add(sql);
+        }
+    }
+
+    static void end() {
+        CountedRequest request = CURRENT.get();
+        CURRENT.remove();
+        if (request != null) {
+            synchronized (REQUESTS) {
+                REQUESTS.add(request);
+            }
+        }
+    }
+
+    public static void reset() {
+        synchronized (REQUESTS) {
+            REQUESTS.clear();
+        }
+    }
+
+    public static List<CountedRequest> requests() {
+        synchronized (REQUESTS) {
+            return new ArrayList<>(REQUESTS);
+        }
+    }
+
+    public static class CountedRequest {
+        private final String request;
+        private final List<String> statements = new ArrayList<>();
+
+        CountedRequest(final String request) {
+            this.request = request;
+        }
+
+        public String getRequest() {
+            return request;
+        }
+
+        public List<String> getStatements() {
+            return statements;
+        }
+    }
+}
\ No newline at end of file
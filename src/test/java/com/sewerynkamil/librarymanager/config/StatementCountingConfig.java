@@ -0,0 +1,95 @@
+package com.sewerynkamil.librarymanager.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Test only - wraps the DataSource so every statement prepared on a connection is counted
+ * against the HTTP request being handled on the same thread.
+ */
+
+@Configuration
+public class StatementCountingConfig {
+    @Bean
+    public static BeanPostProcessor statementCountingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource && !(bean instanceof StatementCountingDataSource)
+                        ? new StatementCountingDataSource((DataSource) bean)
+                        : bean;
+            }
+        };
+    }
+
+    @Bean
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public OncePerRequestFilter statementCountingFilter() {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+                    throws ServletException, IOException {
+                String query = request.getQueryString() == null ? "" : "?" + request.getQueryString();
+                StatementCounter.begin(request.getMethod() + " " + request.getRequestURI() + query);
+                try {
+                    chain.doFilter(request, response);
+                } finally {
+                    StatementCounter.end();
+                }
+            }
+        };
+    }
+
+    static class StatementCountingDataSource extends DelegatingDataSource {
+        StatementCountingDataSource(DataSource dataSource) {
+            super(dataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return counting(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return counting(super.getConnection(username, password));
+        }
+
+        private static Connection counting(final Connection connection) {
+            return (Connection) Proxy.newProxyInstance(
+                    StatementCountingDataSource.class.getClassLoader(),
+                    new Class<?>[] {Connection.class},
+                    (proxy, method, args) -> {
+                        String name = method.getName();
+                        if (name.equals("prepareStatement") || name.equals("prepareCall")) {
+                            StatementCounter.statement((String) args[0]);
+                        } else if (name.equals("createStatement")) {
+                            StatementCounter.statement(name);
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException e) {
+                            throw e.getTargetException();
+                        }
+                    });
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,19 @@
+package com.sewerynkamil.librarymanager.config;
+
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Test only - collects the finished spans in memory.
+ */
+
+@Configuration
+public class TracingTestConfig {
+    @Bean
+    public InMemorySpanExporter inMemorySpanExporter() {
+        return InMemorySpanExporter.create();
+    }
+}
\ No newline at end of file
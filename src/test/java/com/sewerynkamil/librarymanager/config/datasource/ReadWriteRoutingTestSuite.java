@@ -0,0 +1,197 @@
+package com.sewerynkamil.librarymanager.config.datasource;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.service.BookService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.rule.OutputCapture;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Two in-memory H2 databases stand in for the primary and its replica. Replication is a
+ * snapshot of the primary taken with SCRIPT, after which the replica's copy is renamed
+ * so every read shows which database served it.
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:primary;DB_CLOSE_DELAY=-1",
+        "datasource.replica.jdbc-url=jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1",
+        "datasource.replica.max-lag=1000",
+        "datasource.replica.heartbeat-delay=3600000"})
+@AutoConfigureMockMvc
+@MockBean(JavaMailSender.class)
+public class ReadWriteRoutingTestSuite {
+    private static final String PRIMARY_TITLE = "Primary title";
+    private static final String REPLICA_TITLE = "Replica title";
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    @Rule
+    public OutputCapture outputCapture = new OutputCapture();
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+    private Book book;
+
+    @Before
+    public void replicate() throws Exception {
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        book = bookService.saveNewBook(new Book("Author", PRIMARY_TITLE, Category.FANTASY, 2011));
+        Thread.sleep(10);
+
+        replicaLagMonitor.heartbeat();
+        replica.execute("DROP ALL OBJECTS");
+        primary.queryForList("SCRIPT", String.class).forEach(replica::execute);
+        replica.update("UPDATE BOOKS SET TITLE = ?", REPLICA_TITLE);
+        replicaLagMonitor.heartbeat();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @After
+    public void cleanUp() {
+        primary.update("DELETE FROM SPECIMENS");
+        primary.update("DELETE FROM BOOKS");
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    public void testReadOnlyTransactionsUseReplica() throws Exception {
+        // Given
+        outputCapture.expect(not(containsString("not identical to originally prepared Connection")));
+
+        // When
+        Book found = bookService.findOneBook(book.getId());
+
+        // Then
+        Assert.assertTrue(replicaLagMonitor.isAvailable());
+        Assert.assertEquals(REPLICA_TITLE, found.getTitle());
+    }
+
+    @Test
+    public void testWritesUsePrimary() throws Exception {
+        // When
+        bookService.saveNewBook(new Book("Author", "Second title", Category.DRAMA, 2012));
+
+        // Then
+        Assert.assertEquals(1, count(primary, "Second title"));
+        Assert.assertEquals(0, count(replica, "Second title"));
+    }
+
+    @Test
+    public void testLaggingReplicaFallsBackToPrimary() throws Exception {
+        // Given
+        replica.update("UPDATE REPLICA_HEARTBEAT SET BEAT = BEAT - 60000");
+        replicaLagMonitor.heartbeat();
+
+        // When
+        Book found = bookService.findOneBook(book.getId());
+
+        // Then
+        Assert.assertTrue(replicaLagMonitor.getLag() >= 60000);
+        Assert.assertEquals(PRIMARY_TITLE, found.getTitle());
+    }
+
+    @Test
+    public void testUnavailableReplicaFallsBackToPrimary() throws Exception {
+        // Given
+        replica.execute("DROP ALL OBJECTS");
+        replicaLagMonitor.heartbeat();
+
+        // When
+        Book found = bookService.findOneBook(book.getId());
+
+        // Then
+        Assert.assertFalse(replicaLagMonitor.isAvailable());
+        Assert.assertEquals(PRIMARY_TITLE, found.getTitle());
+    }
+
+    @Test
+    public void testCatalogueChangeIsReadFromPrimaryUntilReplicated() throws Exception {
+        // Given
+        Book changed = bookService.findOneBook(book.getId());
+        changed.setTitle(PRIMARY_TITLE + " changed");
+        bookService.updateBook(changed);
+        entityManagerFactory.getCache().evictAll();
+
+        // When
+        Book found = bookService.findOneBook(book.getId());
+
+        // Then
+        Assert.assertEquals(PRIMARY_TITLE + " changed", found.getTitle());
+    }
+
+    @Test
+    @WithMockUser
+    public void testEndpointLagTolerance() throws Exception {
+        // Given
+        Thread.sleep(1100);
+        replicaLagMonitor.heartbeat();
+
+        // When & Then
+        mockMvc.perform(get("/v1/books").param("offset", "0").param("limit", "10"))
+                .andExpect(jsonPath("$[0].title").value(REPLICA_TITLE));
+        entityManagerFactory.getCache().evictAll();
+        mockMvc.perform(get("/v1/books/" + book.getId()))
+                .andExpect(jsonPath("$.title").value(PRIMARY_TITLE));
+    }
+
+    @Test
+    public void testUnwrapReachesPrimary() throws Exception {
+        // Given
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor, 1000);
+
+        // When & Then
+        Assert.assertTrue(routing.isWrapperFor(HikariDataSource.class));
+        Assert.assertSame(primaryDataSource.unwrap(HikariDataSource.class), routing.unwrap(HikariDataSource.class));
+        Assert.assertSame(routing, routing.unwrap(ReadWriteRoutingDataSource.class));
+    }
+
+    private int count(final JdbcTemplate database, final String title) {
+        return database.queryForObject("SELECT COUNT(*) FROM BOOKS WHERE TITLE = ?", Integer.class, title);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.sewerynkamil.librarymanager.config.migration;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+public class EnumCodeMigrationTestSuite {
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @Before
+    public void createLegacySchema() {
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:migration", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE BOOKS (ID BIGINT PRIMARY KEY, CATEGORY VARCHAR(255) NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE SPECIMENS (ID BIGINT PRIMARY KEY, STATUS VARCHAR(255) NOT NULL, BOOK_ID BIGINT)");
+        jdbcTemplate.execute("CREATE TABLE USERS (ID BIGINT PRIMARY KEY, ROLE VARCHAR(255) NOT NULL)");
+        jdbcTemplate.update("INSERT INTO BOOKS VALUES (1, 'Science fiction'), (2, 'Fantasy')");
+        jdbcTemplate.update("INSERT INTO SPECIMENS VALUES (1, 'Available', 1), (2, 'Rented', 1), (3, 'Lost', 2)");
+        jdbcTemplate.update("INSERT INTO USERS VALUES (1, 'Admin'), (2, 'User')");
+    }
+
+    @After
+    public void dropSchema() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    public void testMigrate() {
+        // When
+        new EnumCodeMigration(dataSource).migrate();
+
+        // Then
+        Assert.assertEquals(Category.SCIENCE_FICTION.getCode(), code("SELECT CATEGORY FROM BOOKS WHERE ID = 1"));
+        Assert.assertEquals(Status.RENTED.getCode(), code("SELECT STATUS FROM SPECIMENS WHERE ID = 2"));
+        Assert.assertEquals(Status.LOST.getCode(), code("SELECT STATUS FROM SPECIMENS WHERE ID = 3"));
+        Assert.assertEquals(Role.ADMIN.getCode(), code("SELECT ROLE FROM USERS WHERE ID = 1"));
+        Assert.assertEquals("SMALLINT", jdbcTemplate.queryForObject(
+                "SELECT TYPE_NAME FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'SPECIMENS' AND COLUMN_NAME = 'STATUS'", String.class));
+    }
+
+    @Test
+    public void testMigrateTwice() {
+        // Given
+        EnumCodeMigration migration = new EnumCodeMigration(dataSource);
+        migration.migrate();
+
+        // When
+        migration.migrate();
+
+        // Then
+        List<Integer> statuses = jdbcTemplate.queryForList("SELECT STATUS FROM SPECIMENS ORDER BY ID", Integer.class);
+        Assert.assertEquals(Status.AVAILABLE.getCode(), statuses.get(0).intValue());
+        Assert.assertEquals(3, statuses.size());
+    }
+
+    @Test
+    public void testMigrateRejectsUnknownValues() {
+        // Given
+        jdbcTemplate.update("INSERT INTO SPECIMENS VALUES (4, 'Availabel', 2)");
+
+        // When
+        try {
+            new EnumCodeMigration(dataSource).migrate();
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            // Then
+            Assert.assertTrue(e.getMessage().contains("Availabel"));
+        }
+    }
+
+    @Test
+    public void testMigrateResumesAfterCharacterColumnWasDropped() {
+        // Given
+        jdbcTemplate.execute("ALTER TABLE SPECIMENS ADD COLUMN STATUS_CODE SMALLINT");
+        jdbcTemplate.update("UPDATE SPECIMENS SET STATUS_CODE = CASE ID WHEN 1 THEN ? WHEN 2 THEN ? ELSE ? END",
+                Status.AVAILABLE.getCode(), Status.RENTED.getCode(), Status.LOST.getCode());
+        jdbcTemplate.execute("ALTER TABLE SPECIMENS DROP COLUMN STATUS");
+        jdbcTemplate.execute("ALTER TABLE BOOKS ADD COLUMN CATEGORY_CODE SMALLINT");
+        jdbcTemplate.update("UPDATE BOOKS SET CATEGORY_CODE = ?", Category.FANTASY.getCode());
+        jdbcTemplate.execute("ALTER TABLE BOOKS DROP COLUMN CATEGORY");
+        jdbcTemplate.execute("ALTER TABLE BOOKS ADD COLUMN CATEGORY SMALLINT");
+
+        // When
+        new EnumCodeMigration(dataSource).migrate();
+
+        // Then
+        Assert.assertEquals(Status.RENTED.getCode(), code("SELECT STATUS FROM SPECIMENS WHERE ID = 2"));
+        Assert.assertEquals(Status.LOST.getCode(), code("SELECT STATUS FROM SPECIMENS WHERE ID = 3"));
+        Assert.assertEquals(Category.FANTASY.getCode(), code("SELECT CATEGORY FROM BOOKS WHERE ID = 1"));
+        Assert.assertEquals(0, code("SELECT COUNT(*) FROM INFORMATION_SCHEMA.COLUMNS WHERE COLUMN_NAME LIKE '%_CODE'"));
+        Assert.assertEquals("NO", jdbcTemplate.queryForObject(
+                "SELECT IS_NULLABLE FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'SPECIMENS' AND COLUMN_NAME = 'STATUS'", String.class));
+        Assert.assertEquals("NO", jdbcTemplate.queryForObject(
+                "SELECT IS_NULLABLE FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_NAME = 'BOOKS' AND COLUMN_NAME = 'CATEGORY'", String.class));
+    }
+
+    private int code(final String sql) {
+        return jdbcTemplate.queryForObject(sql, Integer.class);
+    }
+}
\ No newline at end of file
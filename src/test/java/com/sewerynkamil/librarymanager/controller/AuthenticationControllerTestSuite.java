@@ -73,7 +73,7 @@ public class AuthenticationControllerTestSuite {
     public void testRegisterNewUser() throws Exception {
         // Given
         com.sewerynkamil.librarymanager.domain.User user = new com.sewerynkamil.librarymanager.domain.
-                User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER.getRole());
+                User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER);
         user.setId(1L);
 
         when(userService.saveUser(any(com.sewerynkamil.librarymanager.domain.User.class))).thenReturn(user);
@@ -5,9 +5,15 @@ import com.sewerynkamil.librarymanager.config.security.AuthenticationEntryPointJ
 import com.sewerynkamil.librarymanager.config.security.TokenUtilJwt;
 import com.sewerynkamil.librarymanager.domain.Book;
 import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.PopularityWindow;
 import com.sewerynkamil.librarymanager.dto.BookDto;
+import com.sewerynkamil.librarymanager.dto.PopularBookDto;
+import com.sewerynkamil.librarymanager.dto.RecommendationDto;
 import com.sewerynkamil.librarymanager.mapper.BookMapper;
 import com.sewerynkamil.librarymanager.service.BookService;
+import com.sewerynkamil.librarymanager.service.CatalogueVersionService;
+import com.sewerynkamil.librarymanager.service.PopularityService;
+import com.sewerynkamil.librarymanager.service.RecommendationService;
 import com.sewerynkamil.librarymanager.service.UserService;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -21,13 +27,18 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -52,12 +63,21 @@ public class BookControllerTestSuite {
     @MockBean
     private BookMapper bookMapper;
 
+    @MockBean
+    private CatalogueVersionService catalogueVersionService;
+
+    @MockBean
+    private PopularityService popularityService;
+
+    @MockBean
+    private RecommendationService recommendationService;
+
     @Test
     @WithMockUser
     public void testGetAllBooksWithLazyLoading() throws Exception {
         // Given
         List<Book> bookList = new ArrayList<>();
-        when(bookService.findAllBooksWithLazyLoading(anyInt(), anyInt())).thenReturn(bookList);
+        when(bookService.findAllBooksWithLazyLoading(anyInt(), anyInt(), anyBoolean())).thenReturn(bookList);
 
         // When & Then
         mockMvc.perform(get("/v1/books")
@@ -68,13 +88,29 @@ public class BookControllerTestSuite {
                 .andExpect(jsonPath("$", hasSize(0)));
     }
 
+    @Test
+    @WithMockUser
+    public void testGetAllBooksWithLazyLoadingAsCbor() throws Exception {
+        // Given
+        List<Book> bookList = new ArrayList<>();
+        when(bookService.findAllBooksWithLazyLoading(anyInt(), anyInt(), anyBoolean())).thenReturn(bookList);
+
+        // When & Then
+        mockMvc.perform(get("/v1/books")
+                .param("offset", "10")
+                .param("limit", "100")
+                .accept("application/cbor"))
+                .andExpect(status().is(200))
+                .andExpect(content().contentTypeCompatibleWith("application/cbor"));
+    }
+
     @Test
     @WithMockUser
     public void testGetAllBooksByTitleStartsWithIgnoreCase() throws Exception {
         // Given
         List<Book> bookList = new ArrayList<>();
         String test = "tit";
-        when(bookService.findAllBooksByTitleStartsWithIgnoreCase(anyString())).thenReturn(bookList);
+        when(bookService.findAllBooksByTitleStartsWithIgnoreCase(anyString(), anyBoolean())).thenReturn(bookList);
 
         // When & Then
         mockMvc.perform(get("/v1/books/titles/" + test)
@@ -89,7 +125,7 @@ public class BookControllerTestSuite {
         // Given
         List<Book> bookList = new ArrayList<>();
         String test = "aut";
-        when(bookService.findAllBooksByAuthorStartsWithIgnoreCase(anyString())).thenReturn(bookList);
+        when(bookService.findAllBooksByAuthorStartsWithIgnoreCase(anyString(), anyBoolean())).thenReturn(bookList);
 
         // When & Then
         mockMvc.perform(get("/v1/books/authors/" + test)
@@ -104,7 +140,7 @@ public class BookControllerTestSuite {
         // Given
         List<Book> bookList = new ArrayList<>();
         String test = "cat";
-        when(bookService.findAllBooksByCategoryStartsWithIgnoreCase(anyString())).thenReturn(bookList);
+        when(bookService.findAllBooksByCategoryStartsWithIgnoreCase(anyString(), anyBoolean())).thenReturn(bookList);
 
         // When & Then
         mockMvc.perform(get("/v1/books/categories/" + test)
@@ -117,7 +153,7 @@ public class BookControllerTestSuite {
     @WithMockUser
     public void testGetOneBook() throws Exception {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.THRILLER), 2001);
+        Book book = new Book("Author", "Title", Category.THRILLER, 2001);
         book.setId(1L);
 
         BookDto bookDto = new BookDto("Author", "Title", Category.categoryFactory(Category.THRILLER), 2001);
@@ -133,6 +169,41 @@ public class BookControllerTestSuite {
                 .andExpect(jsonPath("$.title", is("Title")));
     }
 
+    @Test
+    @WithMockUser
+    public void testGetOneBookWithETag() throws Exception {
+        // Given
+        Book book = new Book("Author", "Title", Category.THRILLER, 2001);
+        book.setId(1L);
+
+        BookDto bookDto = new BookDto("Author", "Title", Category.categoryFactory(Category.THRILLER), 2001);
+
+        when(catalogueVersionService.getBooksETag()).thenReturn("W/\"books-1\"");
+        when(bookService.findOneBook(book.getId())).thenReturn(book);
+        when(bookMapper.mapToBookDto(any(Book.class))).thenReturn(bookDto);
+
+        // When & Then
+        mockMvc.perform(get("/v1/books/" + book.getId())
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andExpect(header().string("ETag", "W/\"books-1\""))
+                .andExpect(header().string("Cache-Control", "no-cache, private"));
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetOneBookNotModified() throws Exception {
+        // Given
+        when(catalogueVersionService.getBooksETag()).thenReturn("W/\"books-1\"");
+
+        // When & Then
+        mockMvc.perform(get("/v1/books/1")
+                .header("If-None-Match", "W/\"books-1\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(304));
+        verify(bookService, never()).findOneBook(anyLong());
+    }
+
     @Test
     @WithMockUser
     public void testIsBookExist() throws Exception {
@@ -164,7 +235,7 @@ public class BookControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testSaveNewBook() throws Exception {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.ROMANCE), 2001);
+        Book book = new Book("Author", "Title", Category.ROMANCE, 2001);
         book.setId(1L);
 
         BookDto bookDto = new BookDto("Author", "Title", Category.categoryFactory(Category.ROMANCE), 2001);
@@ -187,7 +258,7 @@ public class BookControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testUpdateBook() throws Exception {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2001);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2001);
         book.setId(1L);
 
         BookDto updatedBook = new BookDto("Author_Updated", "Title_Updated", Category.categoryFactory(Category.FABLE), 2001);
@@ -213,7 +284,7 @@ public class BookControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testDeleteBook() throws Exception {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.COMIC), 2001);
+        Book book = new Book("Author", "Title", Category.COMIC, 2001);
         book.setId(1L);
 
         when(bookService.saveNewBook(book)).thenReturn(book);
@@ -223,5 +294,78 @@ public class BookControllerTestSuite {
                 .param("id", "1")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().is(200));
+        verify(bookService).deleteBook(1L);
+        verify(bookService, never()).findOneBook(anyLong());
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetPopularBooks() throws Exception {
+        // Given
+        List<PopularBookDto> popularBooks = Collections.singletonList(
+                new PopularBookDto(1L, "Author", "Title", "Fantasy", 12L, 10L));
+        when(popularityService.findPopularBooks(PopularityWindow.DAY, 5)).thenReturn(popularBooks);
+
+        // When & Then
+        mockMvc.perform(get("/v1/books/popular")
+                .param("window", "24h")
+                .param("limit", "5")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title", is("Title")))
+                .andExpect(jsonPath("$[0].rents", is(12)));
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetPopularBooksWithUnknownWindow() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/v1/books/popular")
+                .param("window", "1y")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(400));
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetRecommendations() throws Exception {
+        // Given
+        List<RecommendationDto> recommendations = Collections.singletonList(
+                new RecommendationDto(2L, "Author", "Title", "Fantasy", 4L, 0.5));
+        when(recommendationService.findRecommendations(1L)).thenReturn(recommendations);
+
+        // When & Then
+        mockMvc.perform(get("/v1/books/1/recommendations")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].id", is(2)))
+                .andExpect(jsonPath("$[0].coBorrowers", is(4)))
+                .andExpect(jsonPath("$[0].score", is(0.5)));
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetAvailableBooks() throws Exception {
+        // Given
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
+        List<Book> bookList = Collections.singletonList(book);
+        BookDto bookDto = new BookDto(1L, "Author", "Title", "Fantasy", 2011, 5, 3, 1, 1);
+        when(bookService.findAllBooksWithLazyLoading(0, 10, true)).thenReturn(bookList);
+        when(bookMapper.mapToBookDtoList(bookList)).thenReturn(Collections.singletonList(bookDto));
+
+        // When & Then
+        mockMvc.perform(get("/v1/books")
+                .param("offset", "0")
+                .param("limit", "10")
+                .param("available", "true")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].totalSpecimens", is(5)))
+                .andExpect(jsonPath("$[0].availableSpecimens", is(3)))
+                .andExpect(jsonPath("$[0].rentedSpecimens", is(1)))
+                .andExpect(jsonPath("$[0].lostSpecimens", is(1)));
     }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.sewerynkamil.librarymanager.controller;
+
+import com.sewerynkamil.librarymanager.config.security.AuthenticationEntryPointJwt;
+import com.sewerynkamil.librarymanager.config.security.TokenUtilJwt;
+import com.sewerynkamil.librarymanager.domain.ChangeRecord;
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+import com.sewerynkamil.librarymanager.domain.enumerated.ChangedEntity;
+import com.sewerynkamil.librarymanager.mapper.ChangeMapper;
+import com.sewerynkamil.librarymanager.service.ChangeLogService;
+import com.sewerynkamil.librarymanager.service.UserService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.MockBeans;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.hamcrest.Matchers.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(ChangeController.class)
+@Import(ChangeMapper.class)
+@MockBeans({
+        @MockBean(UserService.class),
+        @MockBean(TokenUtilJwt.class),
+        @MockBean(AuthenticationEntryPointJwt.class)
+})
+public class ChangeControllerTestSuite {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ChangeLogService changeLogService;
+
+    @Test
+    @WithMockUser(roles = "Admin")
+    public void testGetChanges() throws Exception {
+        // Given
+        ChangeRecord book = new ChangeRecord(ChangedEntity.BOOK, 3L, Change.CREATED, LocalDateTime.of(2026, 1, 20, 10, 0));
+        book.setId(11L);
+        ChangeRecord rent = new ChangeRecord(ChangedEntity.RENT, 7L, Change.DELETED, LocalDateTime.of(2026, 1, 20, 10, 5));
+        rent.setId(12L);
+        when(changeLogService.awaitChanges(eq(10L), eq(100), eq(0L), any())).thenAnswer(answer(Arrays.asList(book, rent)));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/v1/changes")
+                .param("since", "10")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.cursor", is(12)))
+                .andExpect(jsonPath("$.changes", hasSize(2)))
+                .andExpect(jsonPath("$.changes[0].entity", is("Book")))
+                .andExpect(jsonPath("$.changes[0].entityId", is(3)))
+                .andExpect(jsonPath("$.changes[0].change", is("Created")))
+                .andExpect(jsonPath("$.changes[1].entity", is("Rent")))
+                .andExpect(jsonPath("$.changes[1].change", is("Deleted")));
+    }
+
+    @Test
+    @WithMockUser(roles = "Admin")
+    public void testGetChangesKeepsCursorAndCapsLongPoll() throws Exception {
+        // Given
+        when(changeLogService.awaitChanges(anyLong(), anyInt(), anyLong(), any())).thenAnswer(answer(new ArrayList<>()));
+
+        // When
+        MvcResult result = mockMvc.perform(get("/v1/changes")
+                .param("since", "42")
+                .param("limit", "5000")
+                .param("wait", "600000")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.cursor", is(42)))
+                .andExpect(jsonPath("$.changes", hasSize(0)));
+        verify(changeLogService).awaitChanges(eq(42L), eq(1000), eq(30000L), any());
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetChangesRequiresAdmin() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/v1/changes")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(403));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Answer<DeferredResult<Object>> answer(final List<ChangeRecord> changes) {
+        return invocation -> {
+            DeferredResult<Object> result = new DeferredResult<>();
+            result.setResult(((Function<List<ChangeRecord>, Object>) invocation.getArgument(3)).apply(changes));
+            return result;
+        };
+    }
+}
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.sewerynkamil.librarymanager.controller;
+
+import com.sewerynkamil.librarymanager.config.hibernate.StatisticsSessionEventListener;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.rule.OutputCapture;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@MockBean(JavaMailSender.class)
+public class HibernateStatisticsTestSuite {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Rule
+    public OutputCapture outputCapture = new OutputCapture();
+
+    @After
+    public void restoreThreshold() {
+        StatisticsSessionEventListener.setSlowQueryThreshold(200);
+    }
+
+    @Test
+    @WithMockUser(roles = "Admin")
+    public void testStatisticsPerRequestType() throws Exception {
+        // Given
+        mockMvc.perform(delete("/actuator/hibernate"))
+                .andExpect(status().is(204));
+
+        // When
+        mockMvc.perform(get("/v1/books/exist/Title"))
+                .andExpect(status().is(200));
+
+        // Then
+        mockMvc.perform(get("/actuator/hibernate"))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.statements", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.requests['BookController.isBookExist'].requests", is(1)))
+                .andExpect(jsonPath("$.requests['BookController.isBookExist'].statements", greaterThanOrEqualTo(1)))
+                .andExpect(jsonPath("$.requests['BookController.isBookExist'].slowStatements", is(0)));
+    }
+
+    @Test
+    @WithMockUser
+    public void testStatisticsRequireAdmin() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/hibernate"))
+                .andExpect(status().is(403));
+    }
+
+    @Test
+    @WithMockUser
+    public void testSlowQueryLog() throws Exception {
+        // Given
+        StatisticsSessionEventListener.setSlowQueryThreshold(0);
+
+        // When
+        mockMvc.perform(get("/v1/books/exist/Title"))
+                .andExpect(status().is(200));
+
+        // Then
+        outputCapture.expect(containsString("Slow query"));
+        outputCapture.expect(containsString("from BookController.isBookExist"));
+    }
+}
\ No newline at end of file
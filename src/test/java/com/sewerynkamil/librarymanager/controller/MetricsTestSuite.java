@@ -0,0 +1,105 @@
+package com.sewerynkamil.librarymanager.controller;
+
+import com.sewerynkamil.librarymanager.config.security.TokenUtilJwt;
+import com.sewerynkamil.librarymanager.repository.RentHistoryRepository;
+import com.sewerynkamil.librarymanager.scheduler.StatisticsScheduler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@MockBean(JavaMailSender.class)
+public class MetricsTestSuite {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StatisticsScheduler statisticsScheduler;
+
+    @Autowired
+    private RentHistoryRepository rentHistoryRepository;
+
+    @Autowired
+    private TokenUtilJwt tokenUtil;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @WithMockUser(roles = "Admin")
+    public void testPrometheusEndpoint() throws Exception {
+        // Given
+        mockMvc.perform(get("/v1/books/exist/Title"))
+                .andExpect(status().is(200));
+        statisticsScheduler.reconcileCounters();
+        rentHistoryRepository.findAllByBookIdOrderByReturnDateDescIdDesc(1L);
+
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().is(200))
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket{application=\"library-manager\",exception=\"None\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/v1/books/exist/{title}\"")))
+                .andExpect(content().string(containsString("repository_invocations_seconds_count{application=\"library-manager\",exception=\"none\",method=\"existsByTitle\",repository=\"BookRepository\",}")))
+                .andExpect(content().string(containsString("repository_invocations_seconds_count{application=\"library-manager\",exception=\"none\",method=\"findAllByBookIdOrderByReturnDateDescIdDesc\",repository=\"RentHistoryRepository\",}")))
+                .andExpect(content().string(containsString("scheduler_jobs_seconds_count{application=\"library-manager\",class=\"com.sewerynkamil.librarymanager.scheduler.StatisticsScheduler\",exception=\"none\",method=\"reconcileCounters\",}")))
+                .andExpect(content().string(containsString("jwt_filter_seconds")))
+                .andExpect(content().string(containsString("hikaricp_connections")));
+    }
+
+    @Test
+    public void testJwtFilterTimesFailedAuthentication() throws Exception {
+        // Given
+        String token = tokenUtil.generateToken(new org.springframework.security.core.userdetails.User(
+                "deleted@library.com", "password", Collections.emptyList()));
+        double before = errors();
+
+        // When
+        try {
+            mockMvc.perform(get("/v1/books/count")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+            Assert.fail();
+        } catch (UsernameNotFoundException e) {
+            // expected, the filter lets it escape
+        }
+
+        // Then
+        Assert.assertEquals(before + 1, errors(), 0);
+    }
+
+    @Test
+    @WithMockUser
+    public void testPrometheusEndpointRequiresAdmin() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().is(403));
+    }
+
+    private double errors() {
+        Timer timer = meterRegistry.find("jwt.filter").tag("outcome", "error").timer();
+        return timer == null ? 0 : timer.count();
+    }
+}
\ No newline at end of file
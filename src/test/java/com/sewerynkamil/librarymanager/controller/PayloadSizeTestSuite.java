@@ -0,0 +1,57 @@
+package com.sewerynkamil.librarymanager.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.dto.BookDto;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * Payload size of the 1000 item BookDto page of BookDtoSerializationBenchmark as JSON, gzipped JSON and CBOR.
+ */
+
+public class PayloadSizeTestSuite {
+    private static final int PAGE_SIZE = 1000;
+
+    @Test
+    public void testGzipAndCborShrinkBookPage() throws Exception {
+        // Given
+        ObjectMapper jsonMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        List<BookDto> page = new ArrayList<>();
+        Category[] categories = Category.values();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            page.add(new BookDto(
+                    (long) i,
+                    "Author " + i,
+                    "Title of the book number " + i,
+                    Category.categoryFactory(categories[i % categories.length]),
+                    1900 + i % 120));
+        }
+
+        // When
+        int json = jsonMapper.writeValueAsBytes(page).length;
+        ByteArrayOutputStream gzipped = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(gzipped)) {
+            jsonMapper.writeValue(gzip, page);
+        }
+        int cbor = cborMapper.writeValueAsBytes(page).length;
+
+        // Then
+        Assert.assertTrue("JSON + gzip " + gzipped.size() + " of JSON " + json + " bytes", gzipped.size() * 10 < json);
+        Assert.assertTrue("CBOR " + cbor + " of JSON " + json + " bytes", cbor * 10 < json * 9);
+    }
+}
\ No newline at end of file
@@ -5,13 +5,20 @@ import com.sewerynkamil.librarymanager.config.security.AuthenticationEntryPointJ
 import com.sewerynkamil.librarymanager.config.security.TokenUtilJwt;
 import com.sewerynkamil.librarymanager.domain.Book;
 import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.RentHistory;
 import com.sewerynkamil.librarymanager.domain.Specimen;
 import com.sewerynkamil.librarymanager.domain.User;
 import com.sewerynkamil.librarymanager.domain.enumerated.Category;
 import com.sewerynkamil.librarymanager.domain.enumerated.Role;
 import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.domain.exceptions.RentNotExistException;
+import com.sewerynkamil.librarymanager.dto.RentBatchResultDto;
 import com.sewerynkamil.librarymanager.dto.RentDto;
+import com.sewerynkamil.librarymanager.dto.RentHistoryDto;
+import com.sewerynkamil.librarymanager.mapper.RentHistoryMapper;
 import com.sewerynkamil.librarymanager.mapper.RentMapper;
+import com.sewerynkamil.librarymanager.service.IdempotencyService;
+import com.sewerynkamil.librarymanager.service.RentHistoryService;
 import com.sewerynkamil.librarymanager.service.RentService;
 import com.sewerynkamil.librarymanager.service.UserService;
 import org.junit.Test;
@@ -20,6 +27,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.boot.test.mock.mockito.MockBeans;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.junit4.SpringRunner;
@@ -27,11 +35,16 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -43,6 +56,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @RunWith(SpringRunner.class)
 @WebMvcTest(RentController.class)
+@Import(IdempotencyService.class)
 @MockBeans({
         @MockBean(UserService.class),
         @MockBean(TokenUtilJwt.class),
@@ -58,6 +72,12 @@ public class RentControllerTestSuite {
     @MockBean
     private RentMapper rentMapper;
 
+    @MockBean
+    private RentHistoryService rentHistoryService;
+
+    @MockBean
+    private RentHistoryMapper rentHistoryMapper;
+
     @Test
     @WithMockUser(roles = "Admin")
     public void testGetAllRentsWithLazyLoading() throws Exception {
@@ -163,11 +183,11 @@ public class RentControllerTestSuite {
     @WithMockUser
     public void testRentBook() throws Exception {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.HUMOR), 2001);
+        Book book = new Book("Author", "Title", Category.HUMOR, 2001);
         book.setId(1L);
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 1234567891011L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 1234567891011L);
         specimen.setId(2L);
-        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER.getRole());
+        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER);
         user.setId(3L);
 
         Rent rent = new Rent(specimen, user);
@@ -190,15 +210,50 @@ public class RentControllerTestSuite {
                 .andExpect(status().is(200));
     }
 
+    @Test
+    @WithMockUser
+    public void testRentBookReplaysRetryWithIdempotencyKey() throws Exception {
+        // Given
+        Book book = new Book("Author", "Title", Category.HUMOR, 2001);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 1234567891011L);
+        specimen.setId(2L);
+        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER);
+        user.setId(3L);
+        Rent rent = new Rent(specimen, user);
+        rent.setId(4L);
+
+        when(rentService.rentBook(2L, 3L)).thenReturn(rent);
+        when(rentMapper.mapToRentDto(rent))
+                .thenReturn(new RentDto(4L, 2L, book.getTitle(), user.getEmail(), rent.getRentDate(), rent.getReturnDate()))
+                .thenReturn(new RentDto(5L, 2L, book.getTitle(), user.getEmail(), rent.getRentDate(), rent.getReturnDate()));
+
+        // When & Then
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(post("/v1/rents/3")
+                    .param("specimenId", "2")
+                    .header("Idempotency-Key", "8f14e45f-ceea-467a-9575-6b2f5d4f1a2c")
+                    .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().is(200))
+                    .andExpect(jsonPath("$.rentId", is(4)));
+        }
+        verify(rentService, times(1)).rentBook(2L, 3L);
+
+        mockMvc.perform(post("/v1/rents/3")
+                .param("specimenId", "7")
+                .header("Idempotency-Key", "8f14e45f-ceea-467a-9575-6b2f5d4f1a2c")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(409));
+    }
+
     @Test
     @WithMockUser
     public void testProlongationBook() throws Exception {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.AUTOBIOGRAPHY), 2001);
+        Book book = new Book("Author", "Title", Category.AUTOBIOGRAPHY, 2001);
         book.setId(1L);
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 1234567891011L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 1234567891011L);
         specimen.setId(2L);
-        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER.getRole());
+        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER);
         user.setId(3L);
 
         Rent rent = new Rent(specimen, user);
@@ -226,11 +281,11 @@ public class RentControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testDeleteRent() throws Exception {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.BIOGRAPHY), 2001);
+        Book book = new Book("Author", "Title", Category.BIOGRAPHY, 2001);
         book.setId(1L);
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 1234567891011L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 1234567891011L);
         specimen.setId(2L);
-        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER.getRole());
+        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER);
         user.setId(3L);
 
         Rent rent = new Rent(specimen, user);
@@ -244,4 +299,98 @@ public class RentControllerTestSuite {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().is(200));
     }
+
+    @Test
+    @WithMockUser(roles = "Admin")
+    public void testDeleteNotExistingRent() throws Exception {
+        // Given
+        doThrow(new RentNotExistException()).when(rentService).returnBook(4L);
+
+        // When & Then
+        mockMvc.perform(delete("/v1/rents/")
+                .param("id", "4")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(404));
+    }
+
+    @Test
+    @WithMockUser(roles = "Admin")
+    public void testReturnBooks() throws Exception {
+        // Given
+        List<RentBatchResultDto> results = Arrays.asList(
+                new RentBatchResultDto(4L, "Returned", LocalDate.of(2026, 10, 19)),
+                new RentBatchResultDto(5L, "Not found", null));
+        when(rentService.returnBooks(Arrays.asList(4L, 5L))).thenReturn(results);
+
+        // When & Then
+        mockMvc.perform(post("/v1/rents/returns")
+                .contentType(MediaType.APPLICATION_JSON)
+                .characterEncoding("UTF-8")
+                .content("[4,5]"))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].result", is("Returned")))
+                .andExpect(jsonPath("$[0].returnDate", is("2026-10-19")))
+                .andExpect(jsonPath("$[1].rentId", is(5)))
+                .andExpect(jsonPath("$[1].result", is("Not found")));
+    }
+
+    @Test
+    @WithMockUser
+    public void testReturnBooksRequiresAdmin() throws Exception {
+        // When & Then
+        mockMvc.perform(post("/v1/rents/returns")
+                .contentType(MediaType.APPLICATION_JSON)
+                .characterEncoding("UTF-8")
+                .content("[4,5]"))
+                .andExpect(status().is(403));
+    }
+
+    @Test
+    @WithMockUser(roles = "Admin")
+    public void testProlongationBooks() throws Exception {
+        // Given
+        List<RentBatchResultDto> results = Collections.singletonList(
+                new RentBatchResultDto(4L, "Prolonged", LocalDate.of(2026, 12, 18)));
+        when(rentService.prolongRents(Collections.singletonList(4L))).thenReturn(results);
+
+        // When & Then
+        mockMvc.perform(put("/v1/rents/prolongations")
+                .contentType(MediaType.APPLICATION_JSON)
+                .characterEncoding("UTF-8")
+                .content("[4]"))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].result", is("Prolonged")))
+                .andExpect(jsonPath("$[0].returnDate", is("2026-12-18")));
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetRentHistoryByUserId() throws Exception {
+        // Given
+        List<RentHistory> rentHistoryList = new ArrayList<>();
+        List<RentHistoryDto> rentHistoryDtoList = new ArrayList<>();
+        rentHistoryDtoList.add(new RentHistoryDto(1L, 2L, 3L, "Title", 4L, "email@gmail.com",
+                LocalDate.of(2026, 1, 5), LocalDate.of(2026, 2, 4), LocalDate.of(2026, 1, 20)));
+        when(rentHistoryService.findAllByUserId(4L)).thenReturn(rentHistoryList);
+        when(rentHistoryMapper.mapToRentHistoryDtoList(rentHistoryList)).thenReturn(rentHistoryDtoList);
+
+        // When & Then
+        mockMvc.perform(get("/v1/rents/history/user/4")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].bookTitle", is("Title")))
+                .andExpect(jsonPath("$[0].returnDate", is("2026-01-20")));
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetRentHistoryByBookIdRequiresAdmin() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/v1/rents/history/book/3")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(403));
+    }
 }
\ No newline at end of file
@@ -9,6 +9,7 @@ import com.sewerynkamil.librarymanager.domain.enumerated.Category;
 import com.sewerynkamil.librarymanager.domain.enumerated.Status;
 import com.sewerynkamil.librarymanager.dto.SpecimenDto;
 import com.sewerynkamil.librarymanager.mapper.SpecimenMapper;
+import com.sewerynkamil.librarymanager.service.CatalogueVersionService;
 import com.sewerynkamil.librarymanager.service.SpecimenService;
 import com.sewerynkamil.librarymanager.service.UserService;
 import org.junit.Test;
@@ -28,7 +29,8 @@ import java.util.List;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
-
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -55,6 +57,9 @@ public class SpecimenControllerTestSuite {
     @MockBean
     private SpecimenMapper specimenMapper;
 
+    @MockBean
+    private CatalogueVersionService catalogueVersionService;
+
     @Test
     @WithMockUser(roles = "Admin")
     public void testGetAllSpecimensForOneBook() throws Exception {
@@ -89,8 +94,8 @@ public class SpecimenControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testGetOneSpecimen() throws Exception {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.ACTION), 2001);
-        Specimen specimen = new Specimen(Status.UNAVAILABLE.getStatus(), "Publisher", 2001, book, 1234567891011L);
+        Book book = new Book("Author", "Title", Category.ACTION, 2001);
+        Specimen specimen = new Specimen(Status.UNAVAILABLE, "Publisher", 2001, book, 1234567891011L);
         SpecimenDto specimenDto = new SpecimenDto(Status.UNAVAILABLE.getStatus(), "Publisher", 2001, book.getTitle(), 1234567891011L);
 
         when(specimenService.findOneSpecimen(anyLong())).thenReturn(specimen);
@@ -109,8 +114,8 @@ public class SpecimenControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testSaveNewSpecimen() throws Exception {
         // Given
-        Book book = new Book("Author", "2Title", Category.categoryFactory(Category.TRAGEDY), 2001);
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 1234567891011L);
+        Book book = new Book("Author", "2Title", Category.TRAGEDY, 2001);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 1234567891011L);
         SpecimenDto specimenDto = new SpecimenDto(Status.AVAILABLE.getStatus(), "Publisher", 2001, book.getTitle(), 1234567891011L);
 
         when(specimenService.saveNewSpecimen(any(Specimen.class))).thenReturn(specimen);
@@ -131,9 +136,9 @@ public class SpecimenControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testUpdateSpecimen() throws Exception {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2001);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2001);
         book.setId(1L);
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2005, book, 1234567891111L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2005, book, 1234567891111L);
 
         SpecimenDto updatedSpecimen = new SpecimenDto(Status.RENTED.getStatus(), "Pub", 2005, book.getTitle(), 1234567891111L);
 
@@ -158,8 +163,8 @@ public class SpecimenControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testDeleteSpecimen() throws Exception {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.DRAMA), 2001);
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 1234567891011L);
+        Book book = new Book("Author", "Title", Category.DRAMA, 2001);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 1234567891011L);
         specimen.setId(1L);
 
         when(specimenService.saveNewSpecimen(specimen)).thenReturn(specimen);
@@ -170,4 +175,19 @@ public class SpecimenControllerTestSuite {
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().is(200));
     }
+
+    @Test
+    @WithMockUser
+    public void testGetAllSpecimensForOneBookWithStatusNotModified() throws Exception {
+        // Given
+        when(catalogueVersionService.getSpecimensETag()).thenReturn("W/\"specimens-1\"");
+
+        // When & Then
+        mockMvc.perform(get("/v1/specimens/1")
+                .param("status", Status.AVAILABLE.getStatus())
+                .header("If-None-Match", "W/\"specimens-1\"")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(304));
+        verify(specimenService, never()).findAllSpecimensForOneBookByStatusAndBookId(anyString(), anyLong());
+    }
 }
\ No newline at end of file
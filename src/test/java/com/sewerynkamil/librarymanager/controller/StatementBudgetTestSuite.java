@@ -0,0 +1,133 @@
+package com.sewerynkamil.librarymanager.controller;
+
+import com.sewerynkamil.librarymanager.config.StatementBudget;
+import com.sewerynkamil.librarymanager.config.StatementBudgetRule;
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import com.sewerynkamil.librarymanager.repository.UserRepository;
+import com.sewerynkamil.librarymanager.service.LibraryDataGenerator;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Transactional;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@MockBean(JavaMailSender.class)
+@Transactional
+public class StatementBudgetTestSuite {
+    @Rule
+    public StatementBudgetRule statementBudgetRule = new StatementBudgetRule();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private LibraryDataGenerator libraryDataGenerator;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Book book;
+    private User user;
+
+    @Before
+    public void generateLibrary() {
+        libraryDataGenerator.generate(20, 100, 10, "password", 42L);
+        book = bookRepository.findAll().get(0);
+        user = userRepository.findByEmail(LibraryDataGenerator.email(0)).get();
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+    }
+
+    @Test
+    @WithMockUser(roles = "Admin")
+    @StatementBudget(5)
+    public void testGetAllUsersWithLazyLoading() throws Exception {
+        mockMvc.perform(get("/v1/users?offset=0&limit=10"))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$", hasSize(10)));
+    }
+
+    @Test
+    @WithMockUser
+    @StatementBudget(3)
+    public void testGetAllBooksWithLazyLoading() throws Exception {
+        mockMvc.perform(get("/v1/books?offset=0&limit=10"))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$", hasSize(10)));
+    }
+
+    @Test
+    @WithMockUser
+    @StatementBudget(2)
+    public void testGetBooksByCategory() throws Exception {
+        mockMvc.perform(get("/v1/books/categories/" + book.getCategory()))
+                .andExpect(status().is(200));
+    }
+
+    @Test
+    @WithMockUser
+    @StatementBudget(1)
+    public void testGetOneBook() throws Exception {
+        mockMvc.perform(get("/v1/books/" + book.getId()))
+                .andExpect(status().is(200));
+    }
+
+    @Test
+    @WithMockUser
+    @StatementBudget(2)
+    public void testGetSpecimensForOneBook() throws Exception {
+        mockMvc.perform(get("/v1/specimens/" + book.getId() + "?status=Available"))
+                .andExpect(status().is(200));
+    }
+
+    @Test
+    @WithMockUser(roles = "Admin")
+    @StatementBudget(5)
+    public void testGetAllRents() throws Exception {
+        mockMvc.perform(get("/v1/rents?offset=0&limit=10"))
+                .andExpect(status().is(200));
+    }
+
+    @Test
+    @WithMockUser
+    @StatementBudget(4)
+    public void testGetRentsForOneUser() throws Exception {
+        mockMvc.perform(get("/v1/rents/user/" + user.getId()))
+                .andExpect(status().is(200));
+    }
+}
\ No newline at end of file
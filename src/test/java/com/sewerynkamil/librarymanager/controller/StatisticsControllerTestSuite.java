@@ -0,0 +1,110 @@
+package com.sewerynkamil.librarymanager.controller;
+
+import com.sewerynkamil.librarymanager.config.security.AuthenticationEntryPointJwt;
+import com.sewerynkamil.librarymanager.config.security.TokenUtilJwt;
+import com.sewerynkamil.librarymanager.controller.statistics.StatisticsController;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.dto.CirculationDto;
+import com.sewerynkamil.librarymanager.dto.CirculationTopDto;
+import com.sewerynkamil.librarymanager.service.CirculationService;
+import com.sewerynkamil.librarymanager.service.StatisticsService;
+import com.sewerynkamil.librarymanager.service.UserService;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.mock.mockito.MockBeans;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@WebMvcTest(StatisticsController.class)
+@MockBeans({
+        @MockBean(UserService.class),
+        @MockBean(TokenUtilJwt.class),
+        @MockBean(AuthenticationEntryPointJwt.class)
+})
+public class StatisticsControllerTestSuite {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private StatisticsService statisticsService;
+
+    @MockBean
+    private CirculationService circulationService;
+
+    @Test
+    @WithMockUser
+    public void testGetStatistics() throws Exception {
+        // Given
+        Map<String, Long> specimens = new LinkedHashMap<>();
+        specimens.put(Status.AVAILABLE.getStatus(), 7L);
+        specimens.put(Status.RENTED.getStatus(), 3L);
+
+        when(statisticsService.countBooks()).thenReturn(5L);
+        when(statisticsService.countUsers()).thenReturn(2L);
+        when(statisticsService.countRents()).thenReturn(3L);
+        when(statisticsService.countSpecimensPerStatus()).thenReturn(specimens);
+
+        // When & Then
+        mockMvc.perform(get("/v1/stats")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.books").value(5))
+                .andExpect(jsonPath("$.users").value(2))
+                .andExpect(jsonPath("$.rents").value(3))
+                .andExpect(jsonPath("$.specimens.Available").value(7))
+                .andExpect(jsonPath("$.specimens.Rented").value(3));
+    }
+
+    @Test
+    @WithMockUser(roles = "Admin")
+    public void testGetCirculation() throws Exception {
+        // Given
+        Map<String, Map<String, Long>> checkoutsPerMonth = new LinkedHashMap<>();
+        checkoutsPerMonth.put("2026-10", Collections.singletonMap("Fantasy", 4L));
+        CirculationDto circulation = new CirculationDto(
+                checkoutsPerMonth,
+                Collections.singletonMap("2026-10", 2L),
+                Collections.singletonList(new CirculationTopDto(1L, "Title", 4L)),
+                Collections.singletonList(new CirculationTopDto(2L, "email@gmail.com", 3L)));
+        when(circulationService.getCirculation(1, 100)).thenReturn(circulation);
+
+        // When & Then
+        mockMvc.perform(get("/v1/stats/circulation")
+                .param("months", "1")
+                .param("top", "500")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200))
+                .andExpect(jsonPath("$.checkoutsPerMonth['2026-10'].Fantasy").value(4))
+                .andExpect(jsonPath("$.returnsPerMonth['2026-10']").value(2))
+                .andExpect(jsonPath("$.topTitles[0].name").value("Title"))
+                .andExpect(jsonPath("$.topPatrons[0].checkouts").value(3));
+    }
+
+    @Test
+    @WithMockUser
+    public void testGetCirculationRequiresAdmin() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/v1/stats/circulation")
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(403));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,223 @@
+package com.sewerynkamil.librarymanager.controller;
+
+import com.sewerynkamil.librarymanager.config.security.TokenUtilJwt;
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.service.BookService;
+import com.sewerynkamil.librarymanager.service.UserService;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.api.trace.StatusCode;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.rule.OutputCapture;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.client.RestTemplate;
+
+import javax.transaction.Transactional;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@AutoConfigureMockMvc
+@MockBean(JavaMailSender.class)
+public class TracingTestSuite {
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private InMemorySpanExporter spanExporter;
+
+    @Autowired
+    private OpenTelemetrySdk openTelemetry;
+
+    @Autowired
+    private Tracer tracer;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenUtilJwt tokenUtil;
+
+    @Autowired
+    private RestTemplateBuilder restTemplateBuilder;
+
+    @Rule
+    public OutputCapture outputCapture = new OutputCapture();
+
+    @Before
+    public void resetSpans() {
+        finishedSpans();
+        spanExporter.reset();
+    }
+
+    @Test
+    @Transactional
+    @WithMockUser
+    public void testRequestSpansContinueIncomingTrace() throws Exception {
+        // Given
+        Book book = bookService.saveNewBook(new Book("Author", "Title", Category.FANTASY, 2011));
+
+        // When
+        mockMvc.perform(get("/v1/books/" + book.getId())
+                .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"))
+                .andExpect(status().is(200));
+        List<SpanData> spans = finishedSpans();
+
+        // Then
+        SpanData server = span(spans, "GET /v1/books/{id}");
+        SpanData service = span(spans, "BookService.findOneBook");
+        SpanData repository = span(spans, "BookRepository.loadOrThrow");
+        Assert.assertEquals(SpanKind.SERVER, server.getKind());
+        Assert.assertEquals(TRACE_ID, server.getTraceId());
+        Assert.assertEquals("00f067aa0ba902b7", server.getParentSpanId());
+        Assert.assertEquals(server.getSpanId(), service.getParentSpanId());
+        Assert.assertEquals(service.getSpanId(), repository.getParentSpanId());
+        Assert.assertEquals(SpanKind.CLIENT, repository.getKind());
+    }
+
+    @Test
+    @Transactional
+    public void testAuthenticationSpan() throws Exception {
+        // Given
+        User user = userService.saveUser(new User("User", "Surname", "tracing@library.com", 123456789, "password", Role.USER));
+        String token = tokenUtil.generateToken(userService.loadUserByUsername(user.getEmail()));
+        resetSpans();
+
+        // When
+        mockMvc.perform(get("/v1/books/count")
+                .header(HttpHeaders.AUTHORIZATION, "Bearer " + token)
+                .contentType(MediaType.APPLICATION_JSON))
+                .andExpect(status().is(200));
+        List<SpanData> spans = finishedSpans();
+
+        // Then
+        SpanData server = span(spans, "GET /v1/books/count");
+        SpanData filter = span(spans, "RequestFilterJwt");
+        SpanData loadUser = span(spans, "UserService.loadUserByUsername");
+        Assert.assertEquals(server.getSpanId(), filter.getParentSpanId());
+        Assert.assertEquals(filter.getSpanId(), loadUser.getParentSpanId());
+        Assert.assertEquals("authenticated", filter.getAttributes().asMap().entrySet().stream()
+                .filter(attribute -> attribute.getKey().getKey().equals("outcome"))
+                .map(attribute -> attribute.getValue().toString())
+                .findFirst()
+                .orElse(null));
+    }
+
+    @Test
+    public void testAuthenticationSpanEndsWhenUserIsGone() throws Exception {
+        // Given
+        String token = tokenUtil.generateToken(new org.springframework.security.core.userdetails.User(
+                "deleted@library.com", "password", Collections.emptyList()));
+
+        // When
+        try {
+            mockMvc.perform(get("/v1/books/count")
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer " + token));
+            Assert.fail();
+        } catch (UsernameNotFoundException e) {
+            // expected, the filter lets it escape
+        }
+        List<SpanData> spans = finishedSpans();
+
+        // Then
+        SpanData filter = span(spans, "RequestFilterJwt");
+        Assert.assertEquals(StatusCode.ERROR, filter.getStatus().getStatusCode());
+        Assert.assertEquals("exception", filter.getEvents().get(0).getName());
+        Assert.assertEquals("error", filter.getAttributes().get(AttributeKey.stringKey("outcome")));
+    }
+
+    @Test
+    public void testTraceIdInLogs() throws Exception {
+        // When
+        mockMvc.perform(get("/v1/books/count")
+                .header("traceparent", "00-" + TRACE_ID + "-00f067aa0ba902b7-01"));
+
+        // Then
+        outputCapture.expect(containsString("[" + TRACE_ID + ","));
+    }
+
+    @Test
+    public void testOutboundCallSpan() {
+        // Given
+        RestTemplate restTemplate = restTemplateBuilder.build();
+        MockRestServiceServer server = MockRestServiceServer.bindTo(restTemplate).build();
+        server.expect(requestTo("https://api.nytimes.com/svc/topstories/v2/arts.json?api-key=key"))
+                .andExpect(header("traceparent", startsWith("00-")))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+
+        // When
+        Span parent = tracer.spanBuilder("parent").startSpan();
+        try (Scope scope = parent.makeCurrent()) {
+            restTemplate.getForObject("https://api.nytimes.com/svc/topstories/v2/arts.json?api-key=key", String.class);
+        } finally {
+            parent.end();
+        }
+        List<SpanData> spans = finishedSpans();
+
+        // Then
+        server.verify();
+        SpanData client = span(spans, "GET api.nytimes.com");
+        Assert.assertEquals(SpanKind.CLIENT, client.getKind());
+        Assert.assertEquals(parent.getSpanContext().getSpanId(), client.getParentSpanId());
+        Assert.assertFalse(client.getAttributes().toString().contains("api-key"));
+    }
+
+    private List<SpanData> finishedSpans() {
+        openTelemetry.getSdkTracerProvider().forceFlush().join(10, TimeUnit.SECONDS);
+        return spanExporter.getFinishedSpanItems();
+    }
+
+    private SpanData span(final List<SpanData> spans, final String name) {
+        return spans.stream()
+                .filter(span -> span.getName().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No " + name + " span in " + spans.stream()
+                        .map(SpanData::getName)
+                        .collect(Collectors.toList())));
+    }
+}
\ No newline at end of file
@@ -25,6 +25,8 @@ import java.util.List;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -115,7 +117,7 @@ public class UserControllerTestSuite {
     @WithMockUser
     public void testGetOneUserById() throws Exception {
         // Given
-        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER.getRole());
+        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER);
         user.setId(1L);
 
         UserDto userDto = new UserDto("John", "Doe", "john@doe.com", 123456789, "482acv58");
@@ -135,7 +137,7 @@ public class UserControllerTestSuite {
     @WithMockUser
     public void testGetOneUserByEmail() throws Exception {
         // Given
-        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER.getRole());
+        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER);
         user.setId(1L);
 
         UserDto userDto = new UserDto("John", "Doe", "john@doe.com", 123456789, "482acv58");
@@ -196,7 +198,7 @@ public class UserControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testSaveNewUser() throws Exception {
         // Given
-        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER.getRole());
+        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER);
         user.setId(1L);
 
         UserDto userDto = new UserDto("John", "Doe", "john@doe.com", 123456789, "482acv58");
@@ -219,7 +221,7 @@ public class UserControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testUpdateUser() throws Exception {
         // Given
-        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER.getRole());
+        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER);
         user.setId(1L);
 
         UserDto updatedUser = new UserDto("Jan", "Kowalski", "john@doe.com", 123456789, "482acv58");
@@ -245,7 +247,7 @@ public class UserControllerTestSuite {
     @WithMockUser(roles = "Admin")
     public void testDeleteUser() throws Exception {
         // Given
-        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER.getRole());
+        User user = new User("John", "Doe", "john@doe.com", 123456789, "482acv58", Role.USER);
         user.setId(1L);
 
         when(userService.saveUser(user)).thenReturn(user);
@@ -255,5 +257,7 @@ public class UserControllerTestSuite {
                 .param("id", "1")
                 .contentType(MediaType.APPLICATION_JSON))
                 .andExpect(status().is(200));
+        verify(userService).deleteUserById(1L);
+        verify(userService, never()).findOneUserById(anyLong());
     }
 }
\ No newline at end of file
@@ -31,7 +31,7 @@ public class BookMapperTestSuite {
     @Transactional
     public void testMapToBookDto() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         book.setId(1L);
 
         // When
@@ -63,8 +63,8 @@ public class BookMapperTestSuite {
     public void testMapToBookDtoList() {
         // Given
         List<Book> bookList = new ArrayList<>();
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2008);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.FABLE), 2009);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2008);
+        Book book2 = new Book("Author2", "Title2", Category.FABLE, 2009);
         book1.setId(1L);
         book2.setId(2L);
         bookList.add(book1);
@@ -36,11 +36,11 @@ public class RentMapperTestSuite {
     @Transactional
     public void testMapToRentDto() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         book.setId(1L);
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2005, book, 1234567891111L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2005, book, 1234567891111L);
         specimen.setId(2L);
-        User user = new User("Name", "Surname", "name@gmail.com", 123456789, "password", Role.USER.getRole());
+        User user = new User("Name", "Surname", "name@gmail.com", 123456789, "password", Role.USER);
         user.setId(3L);
         Rent rent = new Rent(specimen, user);
         rent.setId(4L);
@@ -58,13 +58,13 @@ public class RentMapperTestSuite {
     public void testMapToRentDtoList() {
         // Given
         List<Rent> rentList = new ArrayList<>();
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         book.setId(1L);
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2005, book, 1234567891111L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2005, book, 1234567891111L);
         specimen1.setId(2L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2005, book, 1234567891111L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2005, book, 1234567891111L);
         specimen2.setId(3L);
-        User user = new User("Name", "Surname", "name@gmail.com", 123456789, "password", Role.USER.getRole());
+        User user = new User("Name", "Surname", "name@gmail.com", 123456789, "password", Role.USER);
         user.setId(4L);
         Rent rent1 = new Rent(specimen1, user);
         rent1.setId(5L);
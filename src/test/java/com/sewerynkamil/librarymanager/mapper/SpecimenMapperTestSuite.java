@@ -4,6 +4,7 @@ import com.sewerynkamil.librarymanager.domain.Book;
 import com.sewerynkamil.librarymanager.domain.Specimen;
 import com.sewerynkamil.librarymanager.domain.enumerated.Category;
 import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.domain.exceptions.UnknownValueException;
 import com.sewerynkamil.librarymanager.dto.SpecimenDto;
 import com.sewerynkamil.librarymanager.repository.BookRepository;
 import org.junit.Assert;
@@ -37,9 +38,9 @@ public class SpecimenMapperTestSuite {
     @Transactional
     public void testMapToSpecimenDto() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         book.setId(1L);
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2005, book, 1234567891111L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2005, book, 1234567891111L);
         specimen.setId(2L);
 
         // When
@@ -55,7 +56,7 @@ public class SpecimenMapperTestSuite {
     @Transactional
     public void testMapToSpecimen() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         book.setId(1L);
         bookRepository.save(book);
         SpecimenDto specimenDto = new SpecimenDto(2L, Status.UNAVAILABLE.getStatus(), "Publisher", 2005, "Title", 1234567891111L);
@@ -64,20 +65,43 @@ public class SpecimenMapperTestSuite {
         Specimen specimen = specimenMapper.mapToSpecimen(specimenDto);
 
         // Then
-        Assert.assertEquals("Unavailable", specimen.getStatus());
+        Assert.assertEquals(Status.UNAVAILABLE, specimen.getStatus());
         Assert.assertEquals("Publisher", specimen.getPublisher());
         Assert.assertEquals("Title", specimen.getBook().getTitle());
     }
 
+    @Test
+    @Transactional
+    public void testMapToSpecimenAcceptsConstantNames() {
+        // Given
+        SpecimenDto specimenDto = new SpecimenDto(2L, "RENTED", "Publisher", 2005, "Title", 1234567891111L);
+
+        // When
+        Specimen specimen = specimenMapper.mapToSpecimen(specimenDto);
+
+        // Then
+        Assert.assertEquals(Status.RENTED, specimen.getStatus());
+    }
+
+    @Test(expected = UnknownValueException.class)
+    @Transactional
+    public void testMapToSpecimenWithUnknownStatus() {
+        // Given
+        SpecimenDto specimenDto = new SpecimenDto(2L, "Availabel", "Publisher", 2005, "Title", 1234567891111L);
+
+        // When
+        specimenMapper.mapToSpecimen(specimenDto);
+    }
+
     @Test
     @Transactional
     public void testMapToSpecimenDtoList() {
         // Given
         List<Specimen> specimenList = new ArrayList<>();
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         book.setId(1L);
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher1", 2005, book, 1234567891111L);
-        Specimen specimen2 = new Specimen(Status.UNAVAILABLE.getStatus(), "Publisher2", 2008, book, 1234567891111L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher1", 2005, book, 1234567891111L);
+        Specimen specimen2 = new Specimen(Status.UNAVAILABLE, "Publisher2", 2008, book, 1234567891111L);
         specimen1.setId(2L);
         specimen2.setId(3L);
         specimenList.add(specimen1);
@@ -31,7 +31,7 @@ public class UserMapperTestSuite {
     @Transactional
     public void testMapToUserDto() {
         // Given
-        User user = new User("Name", "Surname", "name@gmail.com", 123456789, "password", Role.USER.getRole());
+        User user = new User("Name", "Surname", "name@gmail.com", 123456789, "password", Role.USER);
         user.setId(1L);
 
         // When
@@ -55,7 +55,7 @@ public class UserMapperTestSuite {
         // Then
         Assert.assertEquals("Name", user.getName());
         Assert.assertEquals("Surname", user.getSurname());
-        Assert.assertEquals("User", user.getRole());
+        Assert.assertEquals(Role.USER, user.getRole());
     }
 
     @Test
@@ -63,8 +63,8 @@ public class UserMapperTestSuite {
     public void testMapToUserDtoList() {
         // Given
         List<User> userList = new ArrayList<>();
-        User user1 = new User("Name1", "Surname1", "name1@gmail.com", 123456789, "password", Role.USER.getRole());
-        User user2 = new User("Name2", "Surname2", "name2@gmail.com", 987654321, "drowssap", Role.USER.getRole());
+        User user1 = new User("Name1", "Surname1", "name1@gmail.com", 123456789, "password", Role.USER);
+        User user2 = new User("Name2", "Surname2", "name2@gmail.com", 987654321, "drowssap", Role.USER);
         user1.setId(1L);
         user2.setId(2L);
         userList.add(user1);
@@ -0,0 +1,132 @@
+package com.sewerynkamil.librarymanager.observer;
+
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+public class EventBusTestSuite {
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final EventBus eventBus = new EventBus(meterRegistry, 10, 50);
+
+    @After
+    public void shutdown() throws InterruptedException {
+        eventBus.shutdown();
+    }
+
+    @Test
+    public void testDeliversByEventType() throws InterruptedException {
+        // Given
+        List<DomainEvent> books = new CopyOnWriteArrayList<>();
+        List<DomainEvent> all = new CopyOnWriteArrayList<>();
+        eventBus.subscribe("books", BookChangedEvent.class, books::add);
+        eventBus.subscribe("all", DomainEvent.class, all::add);
+
+        // When
+        eventBus.publish(new BookChangedEvent(1L, Change.CREATED));
+        eventBus.publish(new UserChangedEvent(2L, Change.DELETED));
+        eventBus.awaitIdle(5000);
+
+        // Then
+        Assert.assertEquals(1, books.size());
+        Assert.assertEquals(2, all.size());
+        Assert.assertEquals(1L, (long) ((BookChangedEvent) books.get(0)).getBookId());
+    }
+
+    @Test
+    public void testDeliversOnlyAfterCommit() throws InterruptedException {
+        // Given
+        List<SpecimenStatusChangedEvent> events = new CopyOnWriteArrayList<>();
+        eventBus.subscribe("specimens", SpecimenStatusChangedEvent.class, events::add);
+
+        // When
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            eventBus.publish(new SpecimenStatusChangedEvent(1L, 2L, Status.AVAILABLE, Status.RENTED));
+            eventBus.awaitIdle(5000);
+            Assert.assertTrue(events.isEmpty());
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            eventBus.publish(new SpecimenStatusChangedEvent(3L, 2L, Status.AVAILABLE, Status.RENTED));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        eventBus.awaitIdle(5000);
+
+        // Then
+        Assert.assertEquals(1, events.size());
+        Assert.assertEquals(1L, (long) events.get(0).getSpecimenId());
+        Assert.assertNull(TransactionSynchronizationManager.getResource(eventBus));
+    }
+
+    @Test
+    public void testFailingSubscriberDoesNotStopOthers() throws InterruptedException {
+        // Given
+        List<DomainEvent> events = new CopyOnWriteArrayList<>();
+        eventBus.subscribe("failing", UserChangedEvent.class, event -> {
+            throw new IllegalStateException("Subscriber failure");
+        });
+        eventBus.subscribe("working", UserChangedEvent.class, events::add);
+
+        // When
+        eventBus.publish(new UserChangedEvent(1L, Change.UPDATED));
+        eventBus.publish(new UserChangedEvent(2L, Change.UPDATED));
+        eventBus.awaitIdle(5000);
+
+        // Then
+        Assert.assertEquals(2, events.size());
+        Assert.assertEquals(2.0, meterRegistry.counter("events.failed", "subscriber", "failing").count(), 0);
+    }
+
+    @Test
+    public void testFullQueueDropsAfterOfferTimeout() throws InterruptedException {
+        // Given
+        CountDownLatch handling = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        eventBus.subscribe("slow", BookChangedEvent.class, event -> {
+            handling.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        eventBus.publish(new BookChangedEvent(0L, Change.UPDATED));
+        handling.await();
+
+        // When
+        long start = System.currentTimeMillis();
+        for (long i = 1; i <= 11; i++) {
+            eventBus.publish(new BookChangedEvent(i, Change.UPDATED));
+        }
+        long blocked = System.currentTimeMillis() - start;
+        double queued = meterRegistry.get("events.queued").tag("subscriber", "slow").gauge().value();
+        release.countDown();
+
+        // Then
+        Assert.assertTrue(blocked >= 50);
+        Assert.assertEquals(10.0, queued, 0);
+        Assert.assertEquals(1.0, meterRegistry.counter("events.dropped", "subscriber", "slow").count(), 0);
+        Assert.assertTrue(eventBus.awaitIdle(5000));
+    }
+}
\ No newline at end of file
@@ -13,6 +13,8 @@ import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.context.junit4.SpringRunner;
 
 import javax.transaction.Transactional;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static java.util.Optional.ofNullable;
@@ -32,8 +34,8 @@ public class BookRepositoryTestSuite {
     @Transactional
     public void testFindAllBooks() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.TRAGEDY), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title2", Category.TRAGEDY, 1999);
         bookRepository.save(book1);
         bookRepository.save(book2);
 
@@ -48,8 +50,8 @@ public class BookRepositoryTestSuite {
     @Transactional
     public void testFindByTitleStartsWithIgnoreCase() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Tite2", Category.categoryFactory(Category.TRAGEDY), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Tite2", Category.TRAGEDY, 1999);
         bookRepository.save(book1);
         bookRepository.save(book2);
 
@@ -66,8 +68,8 @@ public class BookRepositoryTestSuite {
     @Transactional
     public void testFindByAuthorStartsWithIgnoreCase() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Auhor2", "Title2", Category.categoryFactory(Category.TRAGEDY), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Auhor2", "Title2", Category.TRAGEDY, 1999);
         bookRepository.save(book1);
         bookRepository.save(book2);
 
@@ -82,16 +84,16 @@ public class BookRepositoryTestSuite {
 
     @Test
     @Transactional
-    public void testFindByCategoryStartsWithIgnoreCase() {
+    public void testFindByCategoryIn() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.FABLE), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title2", Category.FABLE, 1999);
         bookRepository.save(book1);
         bookRepository.save(book2);
 
         // When
-        List<Book> booksFa = bookRepository.findByCategoryStartsWithIgnoreCase("Fa");
-        List<Book> booksFab = bookRepository.findByCategoryStartsWithIgnoreCase("Fab");
+        List<Book> booksFa = bookRepository.findByCategoryIn(Arrays.asList(Category.FANTASY, Category.FABLE));
+        List<Book> booksFab = bookRepository.findByCategoryIn(Collections.singletonList(Category.FABLE));
 
         // Then
         Assert.assertEquals(2, booksFa.size());
@@ -102,7 +104,7 @@ public class BookRepositoryTestSuite {
     @Transactional
     public void testSaveBookAndFindById() throws BookNotExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookRepository.save(book);
 
         // When
@@ -111,14 +113,14 @@ public class BookRepositoryTestSuite {
         // Then
         Assert.assertEquals("Author", getBook.getAuthor());
         Assert.assertEquals("Title", getBook.getTitle());
-        Assert.assertEquals("Fantasy", getBook.getCategory());
+        Assert.assertEquals(Category.FANTASY, getBook.getCategory());
     }
 
     @Test
     @Transactional
     public void testSaveBookAndFindByTitle() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookRepository.save(book);
 
         // When
@@ -127,14 +129,14 @@ public class BookRepositoryTestSuite {
         // Then
         Assert.assertEquals("Author", getBook.getAuthor());
         Assert.assertEquals("Title", getBook.getTitle());
-        Assert.assertEquals("Fantasy", getBook.getCategory());
+        Assert.assertEquals(Category.FANTASY, getBook.getCategory());
     }
 
     @Test
     @Transactional
     public void testDeleteBook() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookRepository.save(book);
 
         // When
@@ -149,7 +151,7 @@ public class BookRepositoryTestSuite {
     @Transactional
     public void testIsExistsByTitleBook() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.DIARY), 2011);
+        Book book = new Book("Author", "Title", Category.DIARY, 2011);
         bookRepository.save(book);
 
         // When
@@ -163,7 +165,7 @@ public class BookRepositoryTestSuite {
     @Transactional
     public void testIsNotExistsByTitleBook() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookRepository.save(book);
 
         // When
@@ -177,7 +179,7 @@ public class BookRepositoryTestSuite {
     @Transactional
     public void testCountBooks() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookRepository.save(book);
 
         // When
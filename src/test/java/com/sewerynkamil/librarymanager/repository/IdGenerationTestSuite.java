@@ -0,0 +1,80 @@
+package com.sewerynkamil.librarymanager.repository;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class IdGenerationTestSuite {
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testEveryEntityHasItsOwnPooledLoSequence() {
+        // Given
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+
+        for (Class<?> entity : new Class<?>[] {Book.class, Specimen.class, User.class, Rent.class}) {
+            // When
+            SequenceStyleGenerator generator = (SequenceStyleGenerator) sessionFactory.getIdentifierGenerator(entity.getName());
+
+            // Then
+            Assert.assertTrue(generator.getOptimizer() instanceof PooledLoOptimizer);
+            Assert.assertEquals(50, generator.getOptimizer().getIncrementSize());
+            Assert.assertEquals(entity.getSimpleName().toUpperCase() + "_SEQUENCE",
+                    generator.getDatabaseStructure().getName().toUpperCase());
+        }
+    }
+
+    @Test
+    @Transactional
+    public void testBulkInsertCallsSequenceOncePerBlock() {
+        // Given
+        List<Book> books = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            books.add(new Book("Author", "Title " + i, Category.FANTASY, 2011));
+        }
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactoryImplementor.class).getStatistics();
+        statistics.clear();
+
+        // When
+        bookRepository.saveAll(books);
+        entityManager.flush();
+
+        // Then
+        long sequenceCalls = statistics.getPrepareStatementCount() - books.size();
+        Assert.assertTrue("Sequence called " + sequenceCalls + " times", sequenceCalls <= 3);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,83 @@
+package com.sewerynkamil.librarymanager.repository;
+
+import com.sewerynkamil.librarymanager.domain.RentHistory;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class RentHistoryRepositoryTestSuite {
+    @Autowired
+    private RentHistoryRepository rentHistoryRepository;
+
+    @Test
+    @Transactional
+    public void testFindAllByUserIdNewestFirst() {
+        // Given
+        RentHistory older = rentHistoryRepository.save(entry(10L, 20L, LocalDate.of(2020, 1, 10)));
+        RentHistory newer = rentHistoryRepository.save(entry(10L, 21L, LocalDate.of(2020, 3, 10)));
+        rentHistoryRepository.save(entry(11L, 20L, LocalDate.of(2020, 2, 10)));
+
+        // When
+        List<RentHistory> history = rentHistoryRepository.findAllByUserIdOrderByReturnDateDescIdDesc(10L);
+
+        // Then
+        Assert.assertEquals(Arrays.asList(newer, older), history);
+    }
+
+    @Test
+    @Transactional
+    public void testFindAllByBookId() {
+        // Given
+        rentHistoryRepository.save(entry(10L, 20L, LocalDate.of(2020, 1, 10)));
+        rentHistoryRepository.save(entry(11L, 20L, LocalDate.of(2020, 2, 10)));
+        rentHistoryRepository.save(entry(11L, 21L, LocalDate.of(2020, 2, 10)));
+
+        // When
+        List<RentHistory> history = rentHistoryRepository.findAllByBookIdOrderByReturnDateDescIdDesc(20L);
+
+        // Then
+        Assert.assertEquals(2, history.size());
+    }
+
+    @Test
+    @Transactional
+    public void testFindPeriodsBeforeAndDeleteByPeriod() {
+        // Given
+        rentHistoryRepository.save(entry(10L, 20L, LocalDate.of(2001, 1, 10)));
+        rentHistoryRepository.save(entry(11L, 20L, LocalDate.of(2001, 1, 20)));
+        rentHistoryRepository.save(entry(11L, 21L, LocalDate.of(2001, 2, 10)));
+        rentHistoryRepository.save(entry(11L, 21L, LocalDate.of(2001, 3, 10)));
+
+        // When
+        List<Integer> periods = rentHistoryRepository.findPeriodsBefore(200103);
+        int deleted = rentHistoryRepository.deleteByPeriod(200101);
+
+        // Then
+        Assert.assertEquals(Arrays.asList(200101, 200102), periods);
+        Assert.assertEquals(2, deleted);
+        Assert.assertEquals(Arrays.asList(200102), rentHistoryRepository.findPeriodsBefore(200103));
+    }
+
+    private RentHistory entry(final Long userId, final Long bookId, final LocalDate returnDate) {
+        return new RentHistory(null, RentHistory.period(returnDate), 1L, 2L, bookId, "Title", Category.FANTASY,
+                userId, "email@gmail.com", returnDate.minusDays(20), returnDate.plusDays(10), returnDate);
+    }
+}
\ No newline at end of file
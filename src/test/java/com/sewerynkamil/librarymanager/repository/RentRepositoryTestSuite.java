@@ -46,13 +46,13 @@ public class RentRepositoryTestSuite {
     @Transactional
     public void testFindAll() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.FABLE), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title2", Category.FABLE, 1999);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book1, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book2, 1231231231231L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book1, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book2, 1231231231231L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book1.getSpecimenList().add(specimen1);
         book2.getSpecimenList().add(specimen2);
@@ -81,13 +81,13 @@ public class RentRepositoryTestSuite {
     @Transactional
     public void testFindBySpecimenBookTitleStartsWithIgnoreCase() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Title1", Category.categoryFactory(Category.FABLE), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title1", Category.FABLE, 1999);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book1, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book2, 1231231231231L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book1, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book2, 1231231231231L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book1.getSpecimenList().add(specimen1);
         book2.getSpecimenList().add(specimen2);
@@ -116,13 +116,13 @@ public class RentRepositoryTestSuite {
     @Transactional
     public void testFindByUserEmailStartsWithIgnoreCase() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.FABLE), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title2", Category.FABLE, 1999);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book1, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book2, 1231231231231L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book1, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book2, 1231231231231L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book1.getSpecimenList().add(specimen1);
         book2.getSpecimenList().add(specimen2);
@@ -151,13 +151,13 @@ public class RentRepositoryTestSuite {
     @Transactional
     public void testFindAllByUserId() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.FABLE), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title2", Category.FABLE, 1999);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book1, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book2, 1231231231231L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book1, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book2, 1231231231231L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book1.getSpecimenList().add(specimen1);
         book2.getSpecimenList().add(specimen2);
@@ -186,11 +186,11 @@ public class RentRepositoryTestSuite {
     @Transactional
     public void testFindBySpecimenIdAndUserId() {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen);
         bookRepository.save(book);
@@ -215,11 +215,11 @@ public class RentRepositoryTestSuite {
     @Transactional
     public void testSaveRent() {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen);
         bookRepository.save(book);
@@ -244,12 +244,12 @@ public class RentRepositoryTestSuite {
     @Transactional
     public void testDeleteById() {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748759L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748759L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen1);
         book.getSpecimenList().add(specimen2);
@@ -278,12 +278,12 @@ public class RentRepositoryTestSuite {
     @Transactional
     public void testExistBySpecimenId() {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748759L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748759L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen1);
         book.getSpecimenList().add(specimen2);
@@ -311,12 +311,12 @@ public class RentRepositoryTestSuite {
     @Transactional
     public void testExistBySpecimenBookTitle() {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748759L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748759L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen1);
         book.getSpecimenList().add(specimen2);
@@ -344,12 +344,12 @@ public class RentRepositoryTestSuite {
     @Transactional
     public void testCountRents() {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748759L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748759L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen1);
         book.getSpecimenList().add(specimen2);
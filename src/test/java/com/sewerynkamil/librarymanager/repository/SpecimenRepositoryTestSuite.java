@@ -11,9 +11,11 @@ import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import javax.persistence.EntityManager;
 import javax.transaction.Transactional;
 import java.util.List;
 
@@ -31,14 +33,20 @@ public class SpecimenRepositoryTestSuite {
     @Autowired
     private BookRepository bookRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     @Transactional
     public void testFindAllByBookId() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748759L);
-        Specimen specimen3 = new Specimen(Status.RENTED.getStatus(), "Publisher", 2001, book, 9788375748718L);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748759L);
+        Specimen specimen3 = new Specimen(Status.RENTED, "Publisher", 2001, book, 9788375748718L);
 
         specimen1.setBook(book);
         specimen2.setBook(book);
@@ -63,10 +71,10 @@ public class SpecimenRepositoryTestSuite {
     @Transactional
     public void testFindAllByStatusAndBookId() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748759L);
-        Specimen specimen3 = new Specimen(Status.RENTED.getStatus(), "Publisher", 2001, book, 9788375748757L);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748759L);
+        Specimen specimen3 = new Specimen(Status.RENTED, "Publisher", 2001, book, 9788375748757L);
 
         specimen1.setBook(book);
         specimen2.setBook(book);
@@ -81,8 +89,8 @@ public class SpecimenRepositoryTestSuite {
         specimenRepository.save(specimen3);
 
         // When
-        List<Specimen> available = specimenRepository.findAllByStatusAndBookId(Status.AVAILABLE.getStatus(), book.getId());
-        List<Specimen> rented = specimenRepository.findAllByStatusAndBookId(Status.RENTED.getStatus(), book.getId());
+        List<Specimen> available = specimenRepository.findAllByStatusAndBookId(Status.AVAILABLE, book.getId());
+        List<Specimen> rented = specimenRepository.findAllByStatusAndBookId(Status.RENTED, book.getId());
 
         // Then
         Assert.assertEquals(2, available.size());
@@ -93,8 +101,8 @@ public class SpecimenRepositoryTestSuite {
     @Transactional
     public void testSaveSpecimenAndFindById() throws SpecimenNotExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
 
         specimen.setBook(book);
         book.getSpecimenList().add(specimen);
@@ -107,7 +115,7 @@ public class SpecimenRepositoryTestSuite {
         int specimenListSize = book.getSpecimenList().size();
 
         // Then
-        Assert.assertEquals(Status.AVAILABLE.getStatus(), getSpecimen.getStatus());
+        Assert.assertEquals(Status.AVAILABLE, getSpecimen.getStatus());
         Assert.assertEquals("Publisher", getSpecimen.getPublisher());
         Assert.assertEquals(1, specimenListSize);
     }
@@ -116,8 +124,8 @@ public class SpecimenRepositoryTestSuite {
     @Transactional
     public void testDeleteSpecimen() {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
-        Specimen specimen = new Specimen(Status.UNAVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
+        Specimen specimen = new Specimen(Status.UNAVAILABLE, "Publisher", 2001, book, 9788375748758L);
 
         specimen.setBook(book);
         book.getSpecimenList().add(specimen);
@@ -133,4 +141,23 @@ public class SpecimenRepositoryTestSuite {
         // Then
         Assert.assertEquals(0, specimenListSize);
     }
+
+    @Test
+    @Transactional
+    public void testStatusStoredAsCode() {
+        // Given
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
+        Specimen specimen = new Specimen(Status.LOST, "Publisher", 2001, book, 9788375748758L);
+        book.getSpecimenList().add(specimen);
+        bookRepository.save(book);
+        entityManager.flush();
+
+        // When
+        Integer status = jdbcTemplate.queryForObject("SELECT STATUS FROM SPECIMENS WHERE ID = ?", Integer.class, specimen.getId());
+        Integer category = jdbcTemplate.queryForObject("SELECT CATEGORY FROM BOOKS WHERE ID = ?", Integer.class, book.getId());
+
+        // Then
+        Assert.assertEquals(Status.LOST.getCode(), status.intValue());
+        Assert.assertEquals(Category.FANTASY.getCode(), category.intValue());
+    }
 }
\ No newline at end of file
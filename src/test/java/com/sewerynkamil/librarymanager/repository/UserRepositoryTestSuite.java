@@ -32,8 +32,8 @@ public class UserRepositoryTestSuite {
     @Transactional
     public void testFindAllUsers() {
         // Given
-        User user1 = new User("Name1", "Surname1", "email1@gmail.com", 123456789, "123456789", Role.USER.getRole());
-        User user2 = new User("Name2", "Surname2", "email2@gmail.com", 234567891, "abcdefgh", Role.USER.getRole());
+        User user1 = new User("Name1", "Surname1", "email1@gmail.com", 123456789, "123456789", Role.USER);
+        User user2 = new User("Name2", "Surname2", "email2@gmail.com", 234567891, "abcdefgh", Role.USER);
         userRepository.save(user1);
         userRepository.save(user2);
 
@@ -48,9 +48,9 @@ public class UserRepositoryTestSuite {
     @Transactional
     public void testFindByNameStartsWithIgnoreCase() {
         // Given
-        User user1 = new User("Nae1", "Surname1", "email1@gmail.com", 123456789, "123456789", Role.USER.getRole());
-        User user2 = new User("Nae2", "Surname2", "email2@gmail.com", 234567891, "abcdefgh", Role.USER.getRole());
-        User user3 = new User("Name3", "Surname3", "emil@gmail.com", 345678912, "123abc456", Role.USER.getRole());
+        User user1 = new User("Nae1", "Surname1", "email1@gmail.com", 123456789, "123456789", Role.USER);
+        User user2 = new User("Nae2", "Surname2", "email2@gmail.com", 234567891, "abcdefgh", Role.USER);
+        User user3 = new User("Name3", "Surname3", "emil@gmail.com", 345678912, "123abc456", Role.USER);
         userRepository.save(user1);
         userRepository.save(user2);
         userRepository.save(user3);
@@ -68,9 +68,9 @@ public class UserRepositoryTestSuite {
     @Transactional
     public void testFindBySurnameStartsWithIgnoreCase() {
         // Given
-        User user1 = new User("Name1", "Surame1", "email1@gmail.com", 123456789, "123456789", Role.USER.getRole());
-        User user2 = new User("Name2", "Surame2", "email2@gmail.com", 234567891, "abcdefgh", Role.USER.getRole());
-        User user3 = new User("Name3", "Surname3", "emil@gmail.com", 345678912, "123abc456", Role.USER.getRole());
+        User user1 = new User("Name1", "Surame1", "email1@gmail.com", 123456789, "123456789", Role.USER);
+        User user2 = new User("Name2", "Surame2", "email2@gmail.com", 234567891, "abcdefgh", Role.USER);
+        User user3 = new User("Name3", "Surname3", "emil@gmail.com", 345678912, "123abc456", Role.USER);
         userRepository.save(user1);
         userRepository.save(user2);
         userRepository.save(user3);
@@ -88,9 +88,9 @@ public class UserRepositoryTestSuite {
     @Transactional
     public void testFindByEmailStartsWithIgnoreCase() {
         // Given
-        User user1 = new User("Name1", "Surname1", "email1@gmail.com", 123456789, "123456789", Role.USER.getRole());
-        User user2 = new User("Name2", "Surname2", "email2@gmail.com", 234567891, "abcdefgh", Role.USER.getRole());
-        User user3 = new User("Name3", "Surname3", "emil@gmail.com", 345678912, "123abc456", Role.USER.getRole());
+        User user1 = new User("Name1", "Surname1", "email1@gmail.com", 123456789, "123456789", Role.USER);
+        User user2 = new User("Name2", "Surname2", "email2@gmail.com", 234567891, "abcdefgh", Role.USER);
+        User user3 = new User("Name3", "Surname3", "emil@gmail.com", 345678912, "123abc456", Role.USER);
         userRepository.save(user1);
         userRepository.save(user2);
         userRepository.save(user3);
@@ -108,7 +108,7 @@ public class UserRepositoryTestSuite {
     @Transactional
     public void testSaveUserFindById() throws UserNotExistException {
         // Given
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
         userRepository.save(user);
 
         // When
@@ -124,11 +124,11 @@ public class UserRepositoryTestSuite {
     @Transactional
     public void testFindByEmail() {
         // Given
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
         userRepository.save(user);
 
         // When
-        User getUser = userRepository.findByEmail("email@gmail.com");
+        User getUser = userRepository.findByEmail("email@gmail.com").get();
 
         // Then
         Assert.assertEquals("Name", getUser.getName());
@@ -140,7 +140,7 @@ public class UserRepositoryTestSuite {
     @Transactional
     public void testDeleteUser() {
         // Given
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
         userRepository.save(user);
 
         // When
@@ -155,7 +155,7 @@ public class UserRepositoryTestSuite {
     @Transactional
     public void testExistsByEmail() {
         // Given
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
         userRepository.save(user);
 
         // When
@@ -169,7 +169,7 @@ public class UserRepositoryTestSuite {
     @Transactional
     public void testIsNotExistsByEmail() {
         // Given
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
         userRepository.save(user);
 
         // When
@@ -183,7 +183,7 @@ public class UserRepositoryTestSuite {
     @Transactional
     public void testCountBooks() {
         // Given
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
         userRepository.save(user);
 
         // When
@@ -0,0 +1,202 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class AvailabilityServiceTestSuite {
+    @Autowired
+    private AvailabilityService availabilityService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private SpecimenService specimenService;
+
+    @Autowired
+    private RentService rentService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CatalogueVersionService catalogueVersionService;
+
+    @Test
+    @Transactional
+    public void testNewBookCountsItsSpecimens() throws Exception {
+        // Given
+        Book book = book("Availability1", Status.AVAILABLE, Status.AVAILABLE, Status.LOST, Status.UNAVAILABLE);
+
+        // When
+        entityManager.flush();
+
+        // Then
+        assertCounters(book, 4, 2, 0, 1);
+    }
+
+    @Test
+    @Transactional
+    public void testRentAndReturnMoveTheCounters() throws Exception {
+        // Given
+        Book book = book("Availability1", Status.AVAILABLE, Status.AVAILABLE);
+        User user = userService.saveUser(new User("Name", "Surname", "availability@gmail.com", 123456789, "123456789", Role.USER));
+
+        // When
+        Rent rent = rentService.rentBook(book.getSpecimenList().get(0).getId(), user.getId());
+        entityManager.flush();
+        int availableAfterRent = book.getAvailableSpecimens();
+        assertCounters(book, 2, 1, 1, 0);
+        rentService.returnBook(rent.getId());
+        entityManager.flush();
+
+        // Then
+        Assert.assertEquals(1, availableAfterRent);
+        assertCounters(book, 2, 2, 0, 0);
+    }
+
+    @Test
+    public void testCachedBookSeesCommittedRent() throws Exception {
+        // Given
+        Book book = book("Availability1", Status.AVAILABLE);
+        User user = userService.saveUser(new User("Name", "Surname", "availability@gmail.com", 123456789, "123456789", Role.USER));
+        int availableBeforeRent = bookService.findOneBook(book.getId()).getAvailableSpecimens();
+        Rent rent = null;
+
+        try {
+            // When
+            rent = rentService.rentBook(book.getSpecimenList().get(0).getId(), user.getId());
+            Book cached = bookService.findOneBook(book.getId());
+
+            // Then
+            Assert.assertEquals(1, availableBeforeRent);
+            Assert.assertEquals(0, cached.getAvailableSpecimens());
+            Assert.assertEquals(1, cached.getRentedSpecimens());
+        } finally {
+            if (rent != null) {
+                rentService.returnBook(rent.getId());
+            }
+            userService.deleteUserById(user.getId());
+            bookService.deleteBook(book.getId());
+        }
+    }
+
+    @Test
+    public void testBatchReturnBumpsCatalogueVersionOnce() throws Exception {
+        // Given
+        Book book = book("Availability batch", Status.AVAILABLE, Status.AVAILABLE, Status.AVAILABLE);
+        User user = userService.saveUser(new User("Name", "Surname", "availability.batch@gmail.com", 123456789, "123456789", Role.USER));
+        List<Long> rentIds = new ArrayList<>();
+        for (Specimen specimen : book.getSpecimenList()) {
+            rentIds.add(rentService.rentBook(specimen.getId(), user.getId()).getId());
+        }
+        String booksETag = catalogueVersionService.getBooksETag();
+
+        try {
+            // When
+            rentService.returnBooks(rentIds);
+
+            // Then
+            Assert.assertEquals(version(booksETag) + 1, version(catalogueVersionService.getBooksETag()));
+            Assert.assertTrue(catalogueVersionService.getBooksLastModified() <= System.currentTimeMillis());
+        } finally {
+            userService.deleteUserById(user.getId());
+            bookService.deleteBook(book.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    public void testSpecimenCrudMovesTheCounters() throws Exception {
+        // Given
+        Book first = book("Availability1", Status.AVAILABLE);
+        Book second = book("Availability2");
+        Specimen added = specimenService.saveNewSpecimen(new Specimen(Status.AVAILABLE, "Publisher", 2001, first, 9788375748758L));
+        Specimen existing = first.getSpecimenList().get(0);
+
+        // When
+        existing.setStatus(Status.LOST);
+        specimenService.updateSpecimen(existing);
+        added.setBook(second);
+        specimenService.updateSpecimen(added);
+        entityManager.flush();
+        assertCounters(first, 1, 0, 0, 1);
+        assertCounters(second, 1, 1, 0, 0);
+        specimenService.deleteSpecimen(added);
+        entityManager.flush();
+
+        // Then
+        assertCounters(second, 0, 0, 0, 0);
+    }
+
+    @Test
+    @Transactional
+    public void testReconcileRecountsFromSpecimens() throws Exception {
+        // Given
+        Book book = book("Availability1", Status.AVAILABLE, Status.RENTED);
+        entityManager.flush();
+        jdbcTemplate.update("UPDATE BOOKS SET TOTAL_SPECIMENS = 0, AVAILABLE_SPECIMENS = 7 WHERE ID = ?", book.getId());
+
+        // When
+        int recounted = availabilityService.reconcile();
+
+        // Then
+        Assert.assertTrue(recounted >= 1);
+        Assert.assertEquals(0, availabilityService.reconcile());
+        assertCounters(book, 2, 1, 1, 0);
+    }
+
+    private Book book(final String title, final Status... statuses) throws Exception {
+        Book book = new Book("Author", title, Category.FANTASY, 2011);
+        for (Status status : statuses) {
+            book.getSpecimenList().add(new Specimen(status, "Publisher", 2001, book, 9788375748758L));
+        }
+        return bookService.saveNewBook(book);
+    }
+
+    private void assertCounters(final Book book, final int total, final int available, final int rented, final int lost) {
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT TOTAL_SPECIMENS, AVAILABLE_SPECIMENS, RENTED_SPECIMENS, LOST_SPECIMENS FROM BOOKS WHERE ID = ?", book.getId());
+        Assert.assertEquals(total, ((Number) row.get("TOTAL_SPECIMENS")).intValue());
+        Assert.assertEquals(available, ((Number) row.get("AVAILABLE_SPECIMENS")).intValue());
+        Assert.assertEquals(rented, ((Number) row.get("RENTED_SPECIMENS")).intValue());
+        Assert.assertEquals(lost, ((Number) row.get("LOST_SPECIMENS")).intValue());
+    }
+
+    private static long version(final String eTag) {
+        return Long.parseLong(eTag.substring(eTag.lastIndexOf('-') + 1, eTag.length() - 1));
+    }
+}
\ No newline at end of file
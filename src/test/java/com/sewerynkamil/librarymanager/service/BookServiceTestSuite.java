@@ -1,7 +1,9 @@
 package com.sewerynkamil.librarymanager.service;
 
 import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Specimen;
 import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
 import com.sewerynkamil.librarymanager.domain.exceptions.BookExistException;
 import com.sewerynkamil.librarymanager.domain.exceptions.BookNotExistException;
 import com.sewerynkamil.librarymanager.repository.BookRepository;
@@ -37,8 +39,8 @@ public class BookServiceTestSuite {
     @Transactional
     public void testFindAllBooksWithLazyLoading() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2008);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.TRAGEDY), 1995);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2008);
+        Book book2 = new Book("Author2", "Title2", Category.TRAGEDY, 1995);
         bookRepository.save(book1);
         bookRepository.save(book2);
 
@@ -53,8 +55,8 @@ public class BookServiceTestSuite {
     @Transactional
     public void testFindByTitleStartsWithIgnoreCase() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Tite2", Category.categoryFactory(Category.TRAGEDY), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Tite2", Category.TRAGEDY, 1999);
         bookRepository.save(book1);
         bookRepository.save(book2);
 
@@ -71,8 +73,8 @@ public class BookServiceTestSuite {
     @Transactional
     public void testFindByAuthorStartsWithIgnoreCase() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Auhor2", "Title2", Category.categoryFactory(Category.TRAGEDY), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Auhor2", "Title2", Category.TRAGEDY, 1999);
         bookRepository.save(book1);
         bookRepository.save(book2);
 
@@ -89,8 +91,8 @@ public class BookServiceTestSuite {
     @Transactional
     public void testFindByCategoryStartsWithIgnoreCase() {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Auhor2", "Title2", Category.categoryFactory(Category.FABLE), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Auhor2", "Title2", Category.FABLE, 1999);
         bookRepository.save(book1);
         bookRepository.save(book2);
 
@@ -103,11 +105,39 @@ public class BookServiceTestSuite {
         Assert.assertEquals(1, booksFan.size());
     }
 
+    @Test
+    @Transactional
+    public void testFindAvailableBooks() throws BookExistException {
+        // Given
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title2", Category.FANTASY, 1999);
+        book1.getSpecimenList().add(new Specimen(Status.AVAILABLE, "Publisher", 2011, book1, 9788375748758L));
+        book2.getSpecimenList().add(new Specimen(Status.RENTED, "Publisher", 1999, book2, 9788375748759L));
+        bookService.saveNewBook(book1);
+        bookService.saveNewBook(book2);
+
+        // When
+        List<Book> all = bookService.findAllBooksWithLazyLoading(0, 100, false);
+        List<Book> available = bookService.findAllBooksWithLazyLoading(0, 100, true);
+        List<Book> availableByTitle = bookService.findAllBooksByTitleStartsWithIgnoreCase("Tit", true);
+        List<Book> availableByAuthor = bookService.findAllBooksByAuthorStartsWithIgnoreCase("Author2", true);
+        List<Book> availableByCategory = bookService.findAllBooksByCategoryStartsWithIgnoreCase("Fan", true);
+
+        // Then
+        Assert.assertEquals(2, all.size());
+        Assert.assertEquals(1, available.size());
+        Assert.assertEquals("Title1", available.get(0).getTitle());
+        Assert.assertEquals(1, available.get(0).getAvailableSpecimens());
+        Assert.assertEquals(1, availableByTitle.size());
+        Assert.assertEquals(0, availableByAuthor.size());
+        Assert.assertEquals(1, availableByCategory.size());
+    }
+
     @Test
     @Transactional
     public void testFindOneBook() throws BookNotExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookRepository.save(book);
 
         // When
@@ -116,14 +146,14 @@ public class BookServiceTestSuite {
         // Then
         Assert.assertEquals("Author", getBook.getAuthor());
         Assert.assertEquals("Title", getBook.getTitle());
-        Assert.assertEquals("Fantasy", getBook.getCategory());
+        Assert.assertEquals(Category.FANTASY, getBook.getCategory());
     }
 
     @Test
     @Transactional
     public void testSaveNewBook() throws BookExistException, BookNotExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookService.saveNewBook(book);
 
         // When
@@ -132,36 +162,36 @@ public class BookServiceTestSuite {
         // Then
         Assert.assertEquals("Author", getBook.getAuthor());
         Assert.assertEquals("Title", getBook.getTitle());
-        Assert.assertEquals("Fantasy", getBook.getCategory());
+        Assert.assertEquals(Category.FANTASY, getBook.getCategory());
     }
 
     @Test
     @Transactional
     public void testUpdateBook() throws BookExistException, BookNotExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookService.saveNewBook(book);
 
         // When
-        Book updatedBook = new Book("Autor", "Title", Category.categoryFactory(Category.ACTION), 2011);
+        Book updatedBook = new Book("Autor", "Title", Category.ACTION, 2011);
         updatedBook.setId(book.getId());
         bookService.updateBook(updatedBook);
 
         // Then
         Assert.assertEquals("Autor", book.getAuthor());
         Assert.assertEquals("Title", book.getTitle());
-        Assert.assertEquals("Action", book.getCategory());
+        Assert.assertEquals(Category.ACTION, book.getCategory());
     }
 
     @Test
     @Transactional
     public void testDeleteBook() throws BookNotExistException, BookExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookService.saveNewBook(book);
 
         // When
-        bookService.deleteBook(book);
+        bookService.deleteBook(book.getId());
 
         // Then
         Assert.assertTrue(bookRepository.findAll().isEmpty());
@@ -171,7 +201,7 @@ public class BookServiceTestSuite {
     @Transactional
     public void testIsBookExist() throws BookExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookService.saveNewBook(book);
 
         // When
@@ -185,7 +215,7 @@ public class BookServiceTestSuite {
     @Transactional
     public void testCountBooks() throws BookExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookService.saveNewBook(book);
 
         // When
@@ -207,10 +237,10 @@ public class BookServiceTestSuite {
     @Transactional
     public void testBookExistException() throws BookExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2011);
         bookRepository.save(book);
 
         // When
-        bookService.saveNewBook(new Book("Author", "Title", Category.getCategory("Fantasy"), 2011));
+        bookService.saveNewBook(new Book("Author", "Title", Category.FANTASY, 2011));
     }
 }
\ No newline at end of file
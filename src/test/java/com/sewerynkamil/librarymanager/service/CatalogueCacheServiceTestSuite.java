@@ -0,0 +1,80 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.domain.exceptions.BookExistException;
+import com.sewerynkamil.librarymanager.domain.exceptions.BookNotExistException;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class CatalogueCacheServiceTestSuite {
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private SpecimenService specimenService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    public void testBookIsReadFromSecondLevelCache() throws BookExistException, BookNotExistException {
+        // Given
+        Book book = bookService.saveNewBook(new Book("Author", "Title", Category.FANTASY, 2011));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When
+        bookRepository.findById(book.getId());
+        bookRepository.findById(book.getId());
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long loads = statistics.getEntityLoadCount();
+
+        bookService.deleteBook(book.getId());
+
+        // Then
+        Assert.assertTrue(hits >= 2);
+        Assert.assertEquals(0, loads);
+    }
+
+    @Test
+    public void testSpecimenListIsEvictedAfterSpecimenSave() throws BookExistException, BookNotExistException {
+        // Given
+        Book book = bookService.saveNewBook(new Book("Author", "Title", Category.FANTASY, 2011));
+        int specimensBeforeSave = bookService.findOneBook(book.getId()).getSpecimenList().size();
+
+        // When
+        specimenService.saveNewSpecimen(new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L));
+        Book cachedBook = bookService.findOneBook(book.getId());
+        int specimensAfterSave = cachedBook.getSpecimenList().size();
+
+        bookService.deleteBook(cachedBook.getId());
+
+        // Then
+        Assert.assertEquals(0, specimensBeforeSave);
+        Assert.assertEquals(1, specimensAfterSave);
+    }
+}
\ No newline at end of file
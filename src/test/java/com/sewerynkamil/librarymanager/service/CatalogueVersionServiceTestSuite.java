@@ -0,0 +1,107 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import com.sewerynkamil.librarymanager.repository.SpecimenRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.transaction.Transactional;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class CatalogueVersionServiceTestSuite {
+    @Autowired
+    private CatalogueVersionService catalogueVersionService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private SpecimenRepository specimenRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testVersionsChangeAfterCommit() {
+        // Given
+        String booksETag = catalogueVersionService.getBooksETag();
+        String specimensETag = catalogueVersionService.getSpecimensETag();
+        long booksLastModified = catalogueVersionService.getBooksLastModified();
+
+        // When
+        Book book = bookRepository.save(new Book("Author", "Title", Category.FANTASY, 2011));
+        String booksETagAfterBookSave = catalogueVersionService.getBooksETag();
+        String specimensETagAfterBookSave = catalogueVersionService.getSpecimensETag();
+
+        Specimen specimen = specimenRepository.save(new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L));
+        String booksETagAfterSpecimenSave = catalogueVersionService.getBooksETag();
+        String specimensETagAfterSpecimenSave = catalogueVersionService.getSpecimensETag();
+
+        specimenRepository.delete(specimen);
+        bookRepository.deleteById(book.getId());
+
+        // Then
+        Assert.assertNotEquals(booksETag, booksETagAfterBookSave);
+        Assert.assertNotEquals(specimensETag, specimensETagAfterBookSave);
+        Assert.assertNotEquals(booksETagAfterBookSave, booksETagAfterSpecimenSave);
+        Assert.assertNotEquals(specimensETagAfterBookSave, specimensETagAfterSpecimenSave);
+        Assert.assertTrue(catalogueVersionService.getBooksLastModified() >= booksLastModified);
+        Assert.assertTrue(catalogueVersionService.getBooksLastModified() <= System.currentTimeMillis());
+    }
+
+    @Test
+    @Transactional
+    public void testVersionsNotChangeBeforeCommit() {
+        // Given
+        String booksETag = catalogueVersionService.getBooksETag();
+
+        // When
+        bookRepository.saveAndFlush(new Book("Author", "Title", Category.FANTASY, 2011));
+
+        // Then
+        Assert.assertEquals(booksETag, catalogueVersionService.getBooksETag());
+    }
+
+    @Test
+    public void testVersionChangesOnceForManyRowsOfOneTransaction() {
+        // Given
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        long booksVersion = version(catalogueVersionService.getBooksETag());
+
+        // When
+        List<Book> books = transaction.execute(status -> bookRepository.saveAll(Arrays.asList(
+                new Book("Author", "Version title 1", Category.FANTASY, 2011),
+                new Book("Author", "Version title 2", Category.FANTASY, 2011),
+                new Book("Author", "Version title 3", Category.FANTASY, 2011))));
+        long booksVersionAfterSave = version(catalogueVersionService.getBooksETag());
+        bookRepository.deleteAll(books);
+
+        // Then
+        Assert.assertEquals(booksVersion + 1, booksVersionAfterSave);
+        Assert.assertTrue(catalogueVersionService.getBooksLastModified() <= System.currentTimeMillis());
+    }
+
+    private static long version(final String eTag) {
+        return Long.parseLong(eTag.substring(eTag.lastIndexOf('-') + 1, eTag.length() - 1));
+    }
+}
\ No newline at end of file
@@ -0,0 +1,224 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.ChangeRecord;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Change;
+import com.sewerynkamil.librarymanager.domain.enumerated.ChangedEntity;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.repository.ChangeRecordRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.IllegalTransactionStateException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class ChangeLogServiceTestSuite {
+    @Autowired
+    private ChangeLogService changeLogService;
+
+    @Autowired
+    private ChangeRecordRepository changeRecordRepository;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RentService rentService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testWritesAppendChangeRecords() throws Exception {
+        // Given
+        long since = cursor();
+        Book book = new Book("Author1", "Change log title", Category.FANTASY, 2011);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        User user = new User("Name", "Surname", "change.log@gmail.com", 123456789, "123456789", Role.USER);
+        book.getSpecimenList().add(specimen);
+
+        try {
+            // When
+            bookService.saveNewBook(book);
+            userService.saveUser(user);
+            Rent rent = rentService.rentBook(specimen.getId(), user.getId());
+            rentService.returnBook(rent.getId());
+            List<ChangeRecord> changes = changeLogService.findChanges(since, 100);
+
+            // Then
+            Assert.assertEquals(Arrays.asList(
+                    "BOOK " + book.getId() + " CREATED",
+                    "SPECIMEN " + specimen.getId() + " CREATED",
+                    "USER " + user.getId() + " CREATED",
+                    "RENT " + rent.getId() + " CREATED",
+                    "SPECIMEN " + specimen.getId() + " UPDATED",
+                    "RENT " + rent.getId() + " DELETED",
+                    "SPECIMEN " + specimen.getId() + " UPDATED"), describe(changes));
+        } finally {
+            userService.deleteUserById(user.getId());
+            bookService.deleteBook(book.getId());
+        }
+        List<String> deleted = describe(changeLogService.findChanges(since, 100));
+        Assert.assertEquals(Arrays.asList(
+                "USER " + user.getId() + " DELETED",
+                "BOOK " + book.getId() + " DELETED",
+                "SPECIMEN " + specimen.getId() + " DELETED"), deleted.subList(7, 10));
+    }
+
+    @Test
+    public void testRolledBackChangesAreNotRecorded() {
+        // Given
+        long since = cursor();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // When
+        transaction.execute(status -> {
+            changeLogService.record(ChangedEntity.BOOK, -1L, Change.UPDATED);
+            status.setRollbackOnly();
+            return null;
+        });
+
+        // Then
+        Assert.assertTrue(changeLogService.findChanges(since, 100).isEmpty());
+    }
+
+    @Test(expected = IllegalTransactionStateException.class)
+    public void testRecordRequiresTransaction() {
+        // Given & When & Then
+        changeLogService.record(ChangedEntity.BOOK, -1L, Change.UPDATED);
+    }
+
+    @Test
+    public void testFeedHoldsBackChangesBehindOpenTransactions() throws Exception {
+        // Given
+        long since = cursor();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch recorded = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+        CompletableFuture<Void> slow = CompletableFuture.runAsync(() -> transaction.execute(status -> {
+            changeLogService.record(ChangedEntity.BOOK, -1L, Change.UPDATED);
+            recorded.countDown();
+            await(commit);
+            return null;
+        }));
+        recorded.await();
+
+        try {
+            // When
+            transaction.execute(status -> {
+                changeLogService.record(ChangedEntity.BOOK, -2L, Change.UPDATED);
+                return null;
+            });
+            List<ChangeRecord> heldBack = changeLogService.findChanges(since, 100);
+            commit.countDown();
+            slow.get(5, TimeUnit.SECONDS);
+            List<ChangeRecord> released = changeLogService.findChanges(since, 100);
+
+            // Then
+            Assert.assertTrue(heldBack.isEmpty());
+            Assert.assertEquals(Arrays.asList("BOOK -1 UPDATED", "BOOK -2 UPDATED"), describe(released));
+        } finally {
+            commit.countDown();
+            changeRecordRepository.deleteAll(changeLogService.findChanges(since, 100));
+        }
+    }
+
+    @Test
+    public void testLongPollIsCompletedByCommit() throws Exception {
+        // Given
+        long since = cursor();
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CompletableFuture<List<ChangeRecord>> behind = result(changeLogService.awaitChanges(since, 100, 10000, Function.identity()));
+        CompletableFuture<List<ChangeRecord>> ahead = result(changeLogService.awaitChanges(Long.MAX_VALUE - 1, 100, 10000, Function.identity()));
+
+        try {
+            // When
+            Assert.assertFalse(behind.isDone());
+            transaction.execute(status -> {
+                changeLogService.record(ChangedEntity.USER, -3L, Change.DELETED);
+                return null;
+            });
+            List<ChangeRecord> changes = behind.get(5, TimeUnit.SECONDS);
+
+            // Then
+            Assert.assertEquals(Arrays.asList("USER -3 DELETED"), describe(changes));
+            Assert.assertFalse(ahead.isDone());
+        } finally {
+            changeRecordRepository.deleteAll(changeLogService.findChanges(since, 100));
+        }
+    }
+
+    @Test
+    public void testAwaitChangesWithoutWaitCompletesAtOnce() {
+        // Given
+        long since = cursor();
+
+        // When
+        DeferredResult<List<ChangeRecord>> result = changeLogService.awaitChanges(since, 100, 0, Function.identity());
+
+        // Then
+        Assert.assertTrue(result.hasResult());
+        Assert.assertEquals(Collections.emptyList(), result.getResult());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static CompletableFuture<List<ChangeRecord>> result(final DeferredResult<List<ChangeRecord>> result) {
+        CompletableFuture<List<ChangeRecord>> future = new CompletableFuture<>();
+        result.setResultHandler(value -> future.complete((List<ChangeRecord>) value));
+        return future;
+    }
+
+    private long cursor() {
+        long cursor = 0;
+        List<ChangeRecord> changes;
+        while (!(changes = changeLogService.findChanges(cursor, 1000)).isEmpty()) {
+            cursor = changes.get(changes.size() - 1).getId();
+        }
+        return cursor;
+    }
+
+    private static List<String> describe(final List<ChangeRecord> changes) {
+        return changes.stream()
+                .map(change -> change.getEntity() + " " + change.getEntityId() + " " + change.getChange())
+                .collect(Collectors.toList());
+    }
+
+    private static void await(final CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
\ No newline at end of file
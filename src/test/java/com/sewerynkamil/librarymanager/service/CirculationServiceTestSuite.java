@@ -0,0 +1,183 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.CirculationRollup;
+import com.sewerynkamil.librarymanager.domain.PatronRollup;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.RentHistory;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.dto.CirculationDto;
+import com.sewerynkamil.librarymanager.dto.CirculationTopDto;
+import com.sewerynkamil.librarymanager.repository.CirculationRollupRepository;
+import com.sewerynkamil.librarymanager.repository.PatronRollupRepository;
+import com.sewerynkamil.librarymanager.repository.RentHistoryRepository;
+import com.sewerynkamil.librarymanager.repository.RentRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.transaction.Transactional;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.Collections;
+
+import static org.mockito.Mockito.*;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class CirculationServiceTestSuite {
+    @Autowired
+    private CirculationService circulationService;
+
+    @Autowired
+    private RentService rentService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    public void testRentAndReturnAreRolledUp() throws Exception {
+        // Given
+        Book book = new Book("Author1", "Circulation title", Category.POETRY, 2011);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        User user = new User("Name", "Surname", "circulation@gmail.com", 123456789, "123456789", Role.USER);
+        book.getSpecimenList().add(specimen);
+        bookService.saveNewBook(book);
+        userService.saveUser(user);
+        String month = YearMonth.now().toString();
+        CirculationDto before = circulationService.getCirculation(1, 100);
+
+        try {
+            // When
+            Rent rent = rentService.rentBook(specimen.getId(), user.getId());
+            rentService.returnBook(rent.getId());
+            CirculationDto after = circulationService.getCirculation(1, 100);
+
+            // Then
+            Assert.assertEquals(checkouts(before, month) + 1, checkouts(after, month));
+            Assert.assertEquals(before.getReturnsPerMonth().get(month) + 1, (long) after.getReturnsPerMonth().get(month));
+            Assert.assertEquals(1L, (long) top(after, book.getId()).getCheckouts());
+            Assert.assertEquals("Circulation title", top(after, book.getId()).getName());
+            Assert.assertEquals("circulation@gmail.com", after.getTopPatrons().stream()
+                    .filter(patron -> patron.getId().equals(user.getId()))
+                    .findFirst().get().getName());
+
+            circulationService.flush();
+            circulationService.load();
+            CirculationDto reloaded = circulationService.getCirculation(1, 100);
+            Assert.assertEquals(checkouts(after, month), checkouts(reloaded, month));
+            Assert.assertEquals(after.getReturnsPerMonth(), reloaded.getReturnsPerMonth());
+            Assert.assertEquals(1L, (long) top(reloaded, book.getId()).getCheckouts());
+        } finally {
+            userService.deleteUserById(user.getId());
+            bookService.deleteBook(book.getId());
+        }
+    }
+
+    @Test
+    @Transactional
+    public void testRolledBackRentIsNotRolledUp() throws Exception {
+        // Given
+        Book book = new Book("Author1", "Title1", Category.POETRY, 2011);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
+        book.getSpecimenList().add(specimen);
+        bookService.saveNewBook(book);
+        userService.saveUser(user);
+        String month = YearMonth.now().toString();
+        long before = checkouts(circulationService.getCirculation(1, 100), month);
+
+        // When
+        rentService.rentBook(specimen.getId(), user.getId());
+
+        // Then
+        Assert.assertEquals(before, checkouts(circulationService.getCirculation(1, 100), month));
+    }
+
+    @Test
+    public void testBackfillFromRentHistory() {
+        // Given
+        CirculationRollupRepository circulationRollupRepository = mock(CirculationRollupRepository.class);
+        PatronRollupRepository patronRollupRepository = mock(PatronRollupRepository.class);
+        RentHistoryRepository rentHistoryRepository = mock(RentHistoryRepository.class);
+        LocalDate rentDate = LocalDate.of(2020, 1, 10);
+        LocalDate returnDate = LocalDate.of(2020, 2, 3);
+        when(rentHistoryRepository.findAll()).thenReturn(Collections.singletonList(new RentHistory(1L, 202002, 2L, 3L, 4L,
+                "Title", Category.FABLE, 5L, "email@gmail.com", rentDate, rentDate.plusDays(30), returnDate)));
+        CirculationService backfilled = new CirculationService(circulationRollupRepository, patronRollupRepository,
+                mock(RentRepository.class), rentHistoryRepository, mock(PlatformTransactionManager.class));
+        ArgumentCaptor<CirculationRollup> circulation = ArgumentCaptor.forClass(CirculationRollup.class);
+        ArgumentCaptor<PatronRollup> patron = ArgumentCaptor.forClass(PatronRollup.class);
+
+        // When
+        backfilled.load();
+
+        // Then
+        verify(circulationRollupRepository, times(2)).save(circulation.capture());
+        verify(patronRollupRepository).save(patron.capture());
+        Assert.assertEquals(rentDate, circulation.getAllValues().get(0).getDay());
+        Assert.assertEquals(1, circulation.getAllValues().get(0).getCheckouts());
+        Assert.assertEquals(returnDate, circulation.getAllValues().get(1).getDay());
+        Assert.assertEquals(1, circulation.getAllValues().get(1).getReturns());
+        Assert.assertEquals(202001, (int) patron.getValue().getPeriod());
+        Assert.assertEquals(1, patron.getValue().getCheckouts());
+    }
+
+    @Test
+    public void testReconcileRebuildsMonthOfLastRolledUpDay() {
+        // Given
+        CirculationRollupRepository circulationRollupRepository = mock(CirculationRollupRepository.class);
+        PatronRollupRepository patronRollupRepository = mock(PatronRollupRepository.class);
+        RentHistoryRepository rentHistoryRepository = mock(RentHistoryRepository.class);
+        LocalDate rentDate = LocalDate.of(2020, 1, 10);
+        LocalDate returnDate = LocalDate.of(2020, 2, 20);
+        when(circulationRollupRepository.findLastDay()).thenReturn(LocalDate.of(2020, 2, 14));
+        when(rentHistoryRepository.findAllRentedOrReturnedSince(LocalDate.of(2020, 2, 1))).thenReturn(Collections.singletonList(
+                new RentHistory(1L, 202002, 2L, 3L, 4L, "Title", Category.FABLE, 5L, "email@gmail.com", rentDate, rentDate.plusDays(30), returnDate)));
+        CirculationService reconciled = new CirculationService(circulationRollupRepository, patronRollupRepository,
+                mock(RentRepository.class), rentHistoryRepository, mock(PlatformTransactionManager.class));
+        ArgumentCaptor<CirculationRollup> circulation = ArgumentCaptor.forClass(CirculationRollup.class);
+
+        // When
+        reconciled.load();
+
+        // Then
+        verify(circulationRollupRepository).deleteByDayGreaterThanEqual(LocalDate.of(2020, 2, 1));
+        verify(patronRollupRepository).deleteByPeriodGreaterThanEqual(202002);
+        verify(patronRollupRepository, never()).deleteAll();
+        verify(patronRollupRepository, never()).save(any(PatronRollup.class));
+        verify(circulationRollupRepository).save(circulation.capture());
+        Assert.assertEquals(returnDate, circulation.getValue().getDay());
+        Assert.assertEquals(1, circulation.getValue().getReturns());
+    }
+
+    private long checkouts(final CirculationDto circulation, final String month) {
+        return circulation.getCheckoutsPerMonth().get(month).getOrDefault(Category.POETRY.getCategory(), 0L);
+    }
+
+    private CirculationTopDto top(final CirculationDto circulation, final Long bookId) {
+        return circulation.getTopTitles().stream()
+                .filter(title -> title.getId().equals(bookId))
+                .findFirst()
+                .get();
+    }
+}
\ No newline at end of file
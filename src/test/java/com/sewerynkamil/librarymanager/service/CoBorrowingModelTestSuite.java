@@ -0,0 +1,81 @@
+package com.sewerynkamil.librarymanager.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+public class CoBorrowingModelTestSuite {
+    @Test
+    public void testNeighboursRankedByCosineSimilarity() {
+        // Given
+        List<long[]> baskets = Arrays.asList(
+                new long[]{1, 2},
+                new long[]{1, 2},
+                new long[]{1, 3},
+                new long[]{1, 3},
+                new long[]{3, 4},
+                new long[]{3, 5},
+                new long[]{3, 6});
+
+        // When
+        Map<Long, List<CoBorrowingModel.Neighbour>> model = CoBorrowingModel.build(baskets, 10, 2, new ForkJoinPool(2));
+
+        // Then
+        List<CoBorrowingModel.Neighbour> neighbours = model.get(1L);
+        Assert.assertEquals(Arrays.asList(2L, 3L), ids(neighbours));
+        Assert.assertEquals(2, neighbours.get(0).getCoBorrowers());
+        Assert.assertEquals(2 / Math.sqrt(4 * 2), neighbours.get(0).getScore(), 1e-9);
+        Assert.assertEquals(2 / Math.sqrt(4 * 5), neighbours.get(1).getScore(), 1e-9);
+        Assert.assertFalse(model.containsKey(4L));
+    }
+
+    @Test
+    public void testNeighboursLimit() {
+        // Given
+        List<long[]> baskets = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            baskets.add(new long[]{1, 2, 3, 4, 5});
+        }
+
+        // When
+        Map<Long, List<CoBorrowingModel.Neighbour>> model = CoBorrowingModel.build(baskets, 2, 1, new ForkJoinPool(2));
+
+        // Then
+        Assert.assertEquals(5, model.size());
+        Assert.assertEquals(Arrays.asList(2L, 3L), ids(model.get(1L)));
+        Assert.assertEquals(Arrays.asList(1L, 2L), ids(model.get(5L)));
+    }
+
+    @Test
+    public void testParallelismDoesNotChangeTheModel() {
+        // Given
+        Random random = new Random(42);
+        List<long[]> baskets = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            baskets.add(random.longs(1 + random.nextInt(8), 1, 300).distinct().toArray());
+        }
+
+        // When
+        Map<Long, List<CoBorrowingModel.Neighbour>> sequential = CoBorrowingModel.build(baskets, 5, 2, new ForkJoinPool(1));
+        Map<Long, List<CoBorrowingModel.Neighbour>> parallel = CoBorrowingModel.build(baskets, 5, 2, new ForkJoinPool(4));
+
+        // Then
+        Assert.assertEquals(sequential.keySet(), parallel.keySet());
+        sequential.forEach((bookId, neighbours) -> Assert.assertEquals(ids(neighbours), ids(parallel.get(bookId))));
+    }
+
+    private List<Long> ids(final List<CoBorrowingModel.Neighbour> neighbours) {
+        return neighbours.stream().map(CoBorrowingModel.Neighbour::getBookId).collect(Collectors.toList());
+    }
+}
\ No newline at end of file
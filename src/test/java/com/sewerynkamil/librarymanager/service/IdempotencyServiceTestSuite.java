@@ -0,0 +1,184 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.exceptions.IdempotencyKeyConflictException;
+import com.sewerynkamil.librarymanager.domain.exceptions.IdempotencyStoreFullException;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+public class IdempotencyServiceTestSuite {
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-10T12:00:00Z"));
+
+    @Test
+    public void testReplayCompletedRequest() {
+        // Given
+        IdempotencyService idempotencyService = new IdempotencyService(10, 60000, 1000, clock);
+        try (IdempotencyService.Claim<String> claim = idempotencyService.claim("user", "key", "rent 1 2")) {
+            Assert.assertFalse(claim.isReplay());
+            claim.complete("first");
+        }
+
+        // When
+        IdempotencyService.Claim<String> replay = idempotencyService.claim("user", "key", "rent 1 2");
+
+        // Then
+        Assert.assertTrue(replay.isReplay());
+        Assert.assertEquals("first", replay.getResult());
+    }
+
+    @Test(expected = IdempotencyKeyConflictException.class)
+    public void testKeyReusedForAnotherRequest() {
+        // Given
+        IdempotencyService idempotencyService = new IdempotencyService(10, 60000, 1000, clock);
+        try (IdempotencyService.Claim<String> claim = idempotencyService.claim("user", "key", "rent 1 2")) {
+            claim.complete("first");
+        }
+
+        // When
+        idempotencyService.claim("user", "key", "rent 3 2");
+    }
+
+    @Test
+    public void testFailedRequestReleasesKey() {
+        // Given
+        IdempotencyService idempotencyService = new IdempotencyService(10, 60000, 1000, clock);
+        try (IdempotencyService.Claim<String> claim = idempotencyService.claim("user", "key", "rent 1 2")) {
+            Assert.assertFalse(claim.isReplay());
+        }
+
+        // When
+        IdempotencyService.Claim<String> retry = idempotencyService.claim("user", "key", "rent 1 2");
+
+        // Then
+        Assert.assertFalse(retry.isReplay());
+    }
+
+    @Test
+    public void testRequestWithoutKeyIsNotStored() {
+        // Given
+        IdempotencyService idempotencyService = new IdempotencyService(10, 60000, 1000, clock);
+
+        // When
+        try (IdempotencyService.Claim<String> claim = idempotencyService.claim("user", null, "rent 1 2")) {
+            claim.complete("first");
+        }
+
+        // Then
+        Assert.assertFalse(idempotencyService.claim("user", null, "rent 1 2").isReplay());
+        Assert.assertEquals(0, idempotencyService.size());
+    }
+
+    @Test
+    public void testKeysExpireAndStayBounded() {
+        // Given
+        IdempotencyService idempotencyService = new IdempotencyService(3, 60000, 1000, clock);
+        for (int i = 0; i < 5; i++) {
+            try (IdempotencyService.Claim<Integer> claim = idempotencyService.claim("user", "key" + i, "rent " + i)) {
+                claim.complete(i);
+            }
+        }
+
+        // When
+        int bounded = idempotencyService.size();
+        boolean oldestReplayed;
+        try (IdempotencyService.Claim<Integer> claim = idempotencyService.claim("user", "key0", "rent 0")) {
+            oldestReplayed = claim.isReplay();
+        }
+        clock.advance(Duration.ofMinutes(2));
+        boolean newestReplayed = idempotencyService.claim("user", "key4", "rent 4").isReplay();
+
+        // Then
+        Assert.assertEquals(3, bounded);
+        Assert.assertFalse(oldestReplayed);
+        Assert.assertFalse(newestReplayed);
+        Assert.assertEquals(1, idempotencyService.size());
+    }
+
+    @Test
+    public void testRunningKeysAreNeverEvicted() {
+        // Given
+        IdempotencyService idempotencyService = new IdempotencyService(2, 60000, 1000, clock);
+        IdempotencyService.Claim<Integer> first = idempotencyService.claim("user", "key0", "rent 0");
+        IdempotencyService.Claim<Integer> second = idempotencyService.claim("user", "key1", "rent 1");
+        clock.advance(Duration.ofMinutes(2));
+
+        // When
+        boolean refused = false;
+        try {
+            idempotencyService.claim("user", "key2", "rent 2");
+        } catch (IdempotencyStoreFullException e) {
+            refused = true;
+        }
+        first.complete(0);
+        IdempotencyService.Claim<Integer> third = idempotencyService.claim("user", "key2", "rent 2");
+
+        // Then
+        Assert.assertTrue(refused);
+        Assert.assertFalse(third.isReplay());
+        Assert.assertEquals(2, idempotencyService.size());
+        second.close();
+        third.close();
+    }
+
+    @Test
+    public void testKeysAreScopedToTheirOwner() {
+        // Given
+        IdempotencyService idempotencyService = new IdempotencyService(10, 60000, 1000, clock);
+        try (IdempotencyService.Claim<String> claim = idempotencyService.claim("alice", "key", "rent 1 2")) {
+            claim.complete("alice");
+        }
+
+        // When
+        IdempotencyService.Claim<String> other = idempotencyService.claim("bob", "key", "rent 1 2");
+
+        // Then
+        Assert.assertFalse(other.isReplay());
+        Assert.assertNull(other.getResult());
+    }
+
+    @Test
+    public void testConcurrentDuplicatesAreCoalesced() throws Exception {
+        // Given
+        IdempotencyService idempotencyService = new IdempotencyService(10, 60000, 5000, Clock.systemUTC());
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch finish = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        Callable<String> request = () -> {
+            try (IdempotencyService.Claim<String> claim = idempotencyService.claim("user", "key", "rent 1 2")) {
+                if (claim.isReplay()) {
+                    return claim.getResult();
+                }
+                executions.incrementAndGet();
+                started.countDown();
+                finish.await();
+                return claim.complete("rent");
+            }
+        };
+
+        try {
+            // When
+            Future<String> first = executor.submit(request);
+            started.await();
+            Future<String> second = executor.submit(request);
+            Future<String> third = executor.submit(request);
+            Thread.sleep(100);
+            finish.countDown();
+
+            // Then
+            Assert.assertEquals("rent", first.get(5, TimeUnit.SECONDS));
+            Assert.assertEquals("rent", second.get(5, TimeUnit.SECONDS));
+            Assert.assertEquals("rent", third.get(5, TimeUnit.SECONDS));
+            Assert.assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
\ No newline at end of file
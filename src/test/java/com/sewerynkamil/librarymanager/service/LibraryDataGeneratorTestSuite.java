@@ -0,0 +1,66 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import com.sewerynkamil.librarymanager.repository.RentRepository;
+import com.sewerynkamil.librarymanager.repository.SpecimenRepository;
+import com.sewerynkamil.librarymanager.repository.UserRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.transaction.Transactional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class LibraryDataGeneratorTestSuite {
+    @Autowired
+    private LibraryDataGenerator libraryDataGenerator;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Autowired
+    private SpecimenRepository specimenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RentRepository rentRepository;
+
+    @Test
+    @Transactional
+    public void testGenerate() {
+        // When
+        libraryDataGenerator.generate(40, 200, 10, "password", 42L);
+        Set<Category> categories = bookRepository.findAll().stream()
+                .map(Book::getCategory)
+                .collect(Collectors.toSet());
+
+        // Then
+        Assert.assertEquals(40, bookRepository.count());
+        Assert.assertEquals(200, specimenRepository.count());
+        Assert.assertEquals(11, userRepository.count());
+        Assert.assertEquals(Role.ADMIN, userRepository.findByEmail(LibraryDataGenerator.LIBRARIAN).get().getRole());
+        Assert.assertEquals(Category.values().length, categories.size());
+        Assert.assertTrue(userRepository.findByEmail(LibraryDataGenerator.email(9)).isPresent());
+        Assert.assertTrue(specimenRepository.countByStatus(Status.AVAILABLE) > 100);
+        Assert.assertEquals(specimenRepository.countByStatus(Status.RENTED), rentRepository.count());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,62 @@
+package com.sewerynkamil.librarymanager.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+public class LongLongMapTestSuite {
+    @Test
+    public void testAddAndGet() {
+        // Given
+        LongLongMap map = new LongLongMap();
+
+        // When
+        map.add(1L, 3);
+        map.add(-7L, 1);
+        long total = map.add(1L, 2);
+
+        // Then
+        Assert.assertEquals(5, total);
+        Assert.assertEquals(5, map.get(1L));
+        Assert.assertEquals(1, map.get(-7L));
+        Assert.assertEquals(0, map.get(2L));
+        Assert.assertTrue(map.containsKey(-7L));
+        Assert.assertFalse(map.containsKey(2L));
+        Assert.assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testMatchesHashMapAcrossResizes() {
+        // Given
+        LongLongMap map = new LongLongMap();
+        Map<Long, Long> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        // When
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(20000) * 31L;
+            map.add(key, 1);
+            expected.merge(key, 1L, Long::sum);
+        }
+        Map<Long, Long> actual = new HashMap<>();
+        map.forEach(actual::put);
+
+        // Then
+        Assert.assertEquals(expected, actual);
+        Assert.assertEquals(expected.size(), map.size());
+        Assert.assertEquals(expected.size(), map.keys().length);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testFreeMarkerIsNotAKey() {
+        // When
+        new LongLongMap().add(Long.MIN_VALUE, 1);
+    }
+}
\ No newline at end of file
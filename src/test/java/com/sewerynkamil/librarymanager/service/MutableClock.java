@@ -0,0 +1,40 @@
+package com.sewerynkamil.librarymanager.service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Author Kamil Seweryn
+ *
+ * UTC clock which only moves when a test advances it.
+ */
+
+class MutableClock extends Clock {
+    private Instant instant;
+
+    MutableClock(final Instant instant) {
+        this.instant = instant;
+    }
+
+    void advance(final Duration duration) {
+        instant = instant.plus(duration);
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(final ZoneId zone) {
+        return this;
+    }
+
+    @Override
+    public Instant instant() {
+        return instant;
+    }
+}
\ No newline at end of file
@@ -0,0 +1,114 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.CirculationRollup;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.PopularityWindow;
+import com.sewerynkamil.librarymanager.dto.PopularBookDto;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import com.sewerynkamil.librarymanager.repository.CirculationRollupRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.*;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+public class PopularityServiceTestSuite {
+    private BookRepository bookRepository;
+    private CirculationRollupRepository circulationRollupRepository;
+    private MutableClock clock;
+
+    @Before
+    public void setUp() {
+        bookRepository = mock(BookRepository.class);
+        circulationRollupRepository = mock(CirculationRollupRepository.class);
+        clock = new MutableClock(Instant.parse("2026-03-10T12:00:00Z"));
+        when(bookRepository.findAllById(anyIterable())).thenReturn(Arrays.asList(book(1L, "Title1"), book(2L, "Title2")));
+    }
+
+    @Test
+    public void testFindPopularBooks() {
+        // Given
+        PopularityService popularityService = new PopularityService(bookRepository, circulationRollupRepository, 16, clock);
+        popularityService.recordRent(2L);
+        popularityService.recordRent(1L);
+        popularityService.recordRent(1L);
+
+        // When
+        List<PopularBookDto> popularBooks = popularityService.findPopularBooks(PopularityWindow.DAY, 10);
+
+        // Then
+        Assert.assertEquals(2, popularBooks.size());
+        Assert.assertEquals("Title1", popularBooks.get(0).getTitle());
+        Assert.assertEquals(2L, (long) popularBooks.get(0).getRents());
+        Assert.assertEquals(2L, (long) popularBooks.get(0).getMinRents());
+        Assert.assertEquals("Fantasy", popularBooks.get(0).getCategory());
+        Assert.assertEquals("Title2", popularBooks.get(1).getTitle());
+    }
+
+    @Test
+    public void testWindowsSlide() {
+        // Given
+        PopularityService popularityService = new PopularityService(bookRepository, circulationRollupRepository, 16, clock);
+        popularityService.recordRent(1L);
+
+        // When
+        clock.advance(Duration.ofHours(25));
+        popularityService.recordRent(2L);
+        List<Long> day = ids(popularityService.findPopularBooks(PopularityWindow.DAY, 10));
+        List<Long> week = ids(popularityService.findPopularBooks(PopularityWindow.WEEK, 10));
+        clock.advance(Duration.ofDays(8));
+        List<Long> laterWeek = ids(popularityService.findPopularBooks(PopularityWindow.WEEK, 10));
+        List<Long> laterMonth = ids(popularityService.findPopularBooks(PopularityWindow.MONTH, 10));
+        clock.advance(Duration.ofDays(31));
+        List<Long> laterStill = ids(popularityService.findPopularBooks(PopularityWindow.MONTH, 10));
+
+        // Then
+        Assert.assertEquals(Arrays.asList(2L), day);
+        Assert.assertEquals(Arrays.asList(1L, 2L), week);
+        Assert.assertTrue(laterWeek.isEmpty());
+        Assert.assertEquals(Arrays.asList(1L, 2L), laterMonth);
+        Assert.assertTrue(laterStill.isEmpty());
+    }
+
+    @Test
+    public void testSeedFromCirculationRollups() {
+        // Given
+        LocalDate today = LocalDate.now(clock);
+        when(circulationRollupRepository.findAllByDayGreaterThanEqual(any(LocalDate.class))).thenReturn(Arrays.asList(
+                new CirculationRollup(today, 1L, "Title1", Category.FANTASY, 1, 0),
+                new CirculationRollup(today.minusDays(3), 2L, "Title2", Category.FANTASY, 4, 1)));
+        PopularityService popularityService = new PopularityService(bookRepository, circulationRollupRepository, 16, clock);
+
+        // When
+        popularityService.seed();
+
+        // Then
+        Assert.assertEquals(Arrays.asList(1L), ids(popularityService.findPopularBooks(PopularityWindow.DAY, 10)));
+        Assert.assertEquals(Arrays.asList(2L, 1L), ids(popularityService.findPopularBooks(PopularityWindow.WEEK, 10)));
+    }
+
+    private List<Long> ids(final List<PopularBookDto> popularBooks) {
+        return popularBooks.stream()
+                .map(PopularBookDto::getId)
+                .collect(Collectors.toList());
+    }
+
+    private Book book(final Long id, final String title) {
+        Book book = new Book("Author", title, Category.FANTASY, 2000);
+        book.setId(id);
+        return book;
+    }
+}
\ No newline at end of file
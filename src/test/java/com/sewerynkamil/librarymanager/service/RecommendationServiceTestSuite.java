@@ -0,0 +1,120 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.dto.RecommendationDto;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class RecommendationServiceTestSuite {
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private RentService rentService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Test
+    @Transactional
+    public void testRebuildFromRentsAndHistory() throws Exception {
+        // Given
+        Book first = book("Recommended1");
+        Book second = book("Recommended2");
+        Book third = book("Recommended3");
+        Book fourth = book("Recommended4");
+        User user1 = user("recommendations1@gmail.com");
+        User user2 = user("recommendations2@gmail.com");
+        User user3 = user("recommendations3@gmail.com");
+        rent(first, 0, user1);
+        rent(second, 0, user1);
+        rent(third, 0, user1);
+        rent(first, 1, user2);
+        Rent returned = rent(second, 1, user2);
+        rentService.returnBook(returned.getId());
+        rent(first, 2, user3);
+        rent(second, 2, user3);
+        rent(fourth, 0, user3);
+
+        // When
+        recommendationService.rebuild();
+        List<RecommendationDto> forFirst = recommendationService.findRecommendations(first.getId());
+        List<RecommendationDto> forSecond = recommendationService.findRecommendations(second.getId());
+        List<RecommendationDto> forThird = recommendationService.findRecommendations(third.getId());
+
+        // Then
+        Assert.assertEquals(1, forFirst.size());
+        Assert.assertEquals(second.getId(), forFirst.get(0).getId());
+        Assert.assertEquals("Recommended2", forFirst.get(0).getTitle());
+        Assert.assertEquals(3L, (long) forFirst.get(0).getCoBorrowers());
+        Assert.assertEquals(1.0, forFirst.get(0).getScore(), 1e-9);
+        Assert.assertEquals(1, forSecond.size());
+        Assert.assertEquals(first.getId(), forSecond.get(0).getId());
+        Assert.assertTrue(forThird.isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void testDeletedBooksAreNotRecommended() throws Exception {
+        // Given
+        Book first = book("Recommended1");
+        Book second = book("Recommended2");
+        User user1 = user("recommendations1@gmail.com");
+        User user2 = user("recommendations2@gmail.com");
+        rent(first, 0, user1);
+        rent(first, 1, user2);
+        Rent rent1 = rent(second, 0, user1);
+        Rent rent2 = rent(second, 1, user2);
+        recommendationService.rebuild();
+        rentService.returnBook(rent1.getId());
+        rentService.returnBook(rent2.getId());
+
+        // When
+        bookService.deleteBook(second.getId());
+        List<RecommendationDto> recommendations = recommendationService.findRecommendations(first.getId());
+
+        // Then
+        Assert.assertTrue(recommendations.isEmpty());
+    }
+
+    private Book book(final String title) throws Exception {
+        Book book = new Book("Author", title, Category.FANTASY, 2011);
+        for (int i = 0; i < 3; i++) {
+            book.getSpecimenList().add(new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L + i));
+        }
+        return bookService.saveNewBook(book);
+    }
+
+    private User user(final String email) throws Exception {
+        return userService.saveUser(new User("Name", "Surname", email, 123456789, "123456789", Role.USER));
+    }
+
+    private Rent rent(final Book book, final int specimen, final User user) throws Exception {
+        return rentService.rentBook(book.getSpecimenList().get(specimen).getId(), user.getId());
+    }
+}
\ No newline at end of file
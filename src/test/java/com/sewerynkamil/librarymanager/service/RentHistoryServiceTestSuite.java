@@ -0,0 +1,153 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Rent;
+import com.sewerynkamil.librarymanager.domain.RentHistory;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.repository.RentHistoryRepository;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.transaction.Transactional;
+import java.io.File;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class RentHistoryServiceTestSuite {
+    @Autowired
+    private RentHistoryService rentHistoryService;
+
+    @Autowired
+    private RentHistoryRepository rentHistoryRepository;
+
+    @Autowired
+    private RentService rentService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    @Transactional
+    public void testReturnBookRecordsHistory() throws Exception {
+        // Given
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
+        book.getSpecimenList().add(specimen);
+        bookService.saveNewBook(book);
+        userService.saveUser(user);
+        Rent rent = rentService.rentBook(specimen.getId(), user.getId());
+
+        // When
+        rentService.returnBook(rent.getId());
+        List<RentHistory> userHistory = rentHistoryService.findAllByUserId(user.getId());
+        List<RentHistory> bookHistory = rentHistoryService.findAllByBookId(book.getId());
+
+        // Then
+        Assert.assertEquals(1, userHistory.size());
+        Assert.assertEquals(userHistory, bookHistory);
+        RentHistory entry = userHistory.get(0);
+        Assert.assertEquals(rent.getId(), entry.getRentId());
+        Assert.assertEquals("Title1", entry.getBookTitle());
+        Assert.assertEquals(Category.FANTASY, entry.getCategory());
+        Assert.assertEquals(LocalDate.now().plusDays(30), entry.getDueDate());
+        Assert.assertEquals(LocalDate.now(), entry.getReturnDate());
+        Assert.assertEquals(RentHistory.period(LocalDate.now()), (int) entry.getPeriod());
+    }
+
+    @Test
+    @Transactional
+    public void testCompactMovesOldMonthsToArchive() throws Exception {
+        // Given
+        File directory = temporaryFolder.newFolder("rent-history");
+        RentHistoryService archivingService = new RentHistoryService(
+                rentHistoryRepository, new RentHistoryArchive(directory.getPath()), 3);
+        LocalDate old = LocalDate.now().minusMonths(6);
+        LocalDate recent = LocalDate.now();
+        RentHistory oldEntry = rentHistoryRepository.save(entry(1L, old));
+        RentHistory recentEntry = rentHistoryRepository.save(entry(2L, recent));
+
+        // When
+        archivingService.compact();
+        archivingService.compact();
+        List<RentHistory> history = archivingService.findAllByUserId(7L);
+
+        // Then
+        Assert.assertFalse(rentHistoryRepository.existsById(oldEntry.getId()));
+        Assert.assertTrue(rentHistoryRepository.existsById(recentEntry.getId()));
+        Assert.assertTrue(new File(directory, "rent-history-" + RentHistory.period(old) + ".jsonl.gz").exists());
+        Assert.assertEquals(2, history.size());
+        Assert.assertEquals(recentEntry.getId(), history.get(0).getId());
+        Assert.assertEquals(oldEntry.getId(), history.get(1).getId());
+        Assert.assertEquals(old, history.get(1).getReturnDate());
+        Assert.assertEquals(Category.SCIENCE_FICTION, history.get(1).getCategory());
+    }
+
+    @Test
+    public void testArchiveLookupOnlyReadsIndexedMonths() throws Exception {
+        // Given
+        File directory = temporaryFolder.newFolder("rent-history");
+        RentHistoryArchive archive = new RentHistoryArchive(directory.getPath());
+        RentHistory entry = entry(1L, LocalDate.of(2019, 3, 10));
+        archive.write(201903, Arrays.asList(entry));
+        Files.write(new File(directory, "rent-history-201904.jsonl.gz").toPath(), "not gzip".getBytes());
+        Files.write(new File(directory, "rent-history-201904.idx.json").toPath(), "{\"userIds\":[8],\"bookIds\":[9]}".getBytes());
+        Files.delete(new File(directory, "rent-history-201903.idx.json").toPath());
+
+        // When
+        List<RentHistory> userHistory = new RentHistoryArchive(directory.getPath()).findByUserId(7L);
+        List<RentHistory> bookHistory = new RentHistoryArchive(directory.getPath()).findByBookId(6L);
+
+        // Then
+        Assert.assertEquals(1, userHistory.size());
+        Assert.assertEquals(entry.getRentId(), userHistory.get(0).getRentId());
+        Assert.assertEquals(userHistory, bookHistory);
+        Assert.assertTrue(new File(directory, "rent-history-201903.idx.json").exists());
+    }
+
+    @Test
+    public void testCompactWithoutArchiveDirectory() {
+        // Given
+        RentHistoryService archivingService = new RentHistoryService(
+                rentHistoryRepository, new RentHistoryArchive(""), 3);
+        long count = rentHistoryRepository.count();
+
+        // When
+        archivingService.compact();
+
+        // Then
+        Assert.assertEquals(count, rentHistoryRepository.count());
+    }
+
+    private RentHistory entry(final Long rentId, final LocalDate returnDate) {
+        return new RentHistory(null, RentHistory.period(returnDate), rentId, 5L, 6L, "Title, \"quoted\"",
+                Category.SCIENCE_FICTION, 7L, "email@gmail.com", returnDate.minusDays(20), returnDate.plusDays(10), returnDate);
+    }
+}
\ No newline at end of file
@@ -8,20 +8,33 @@ import com.sewerynkamil.librarymanager.domain.enumerated.Category;
 import com.sewerynkamil.librarymanager.domain.enumerated.Role;
 import com.sewerynkamil.librarymanager.domain.enumerated.Status;
 import com.sewerynkamil.librarymanager.domain.exceptions.*;
+import com.sewerynkamil.librarymanager.dto.RentBatchResultDto;
+import com.sewerynkamil.librarymanager.observer.*;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import javax.persistence.EntityManagerFactory;
 import javax.transaction.Transactional;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static java.util.Optional.ofNullable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 /**
  * Author Kamil Seweryn
@@ -43,17 +56,29 @@ public class RentServiceTestSuite {
     @Autowired
     private SpecimenService specimenService;
 
+    @Autowired
+    private RentHistoryService rentHistoryService;
+
+    @Autowired
+    private JavaMailSender javaMailSender;
+
+    @Autowired
+    private EventBus eventBus;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     @Transactional
     public void testFindAllRentsWithLazyLoading() throws UserExistException, SpecimenNotExistException, UserNotExistException, BookExistException {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.FABLE), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title2", Category.FABLE, 1999);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book1, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book2, 1231231231231L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book1, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book2, 1231231231231L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book1.getSpecimenList().add(specimen1);
         book2.getSpecimenList().add(specimen2);
@@ -79,13 +104,13 @@ public class RentServiceTestSuite {
     @Transactional
     public void testFindAllRentsByBookTitleStartsWithIgnoreCase() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.FABLE), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title2", Category.FABLE, 1999);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book1, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book2, 1231231231231L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book1, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book2, 1231231231231L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book1.getSpecimenList().add(specimen1);
         book2.getSpecimenList().add(specimen2);
@@ -111,13 +136,13 @@ public class RentServiceTestSuite {
     @Transactional
     public void testFindAllRentsByUserEmailStartsWithIgnoreCase() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.FABLE), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title2", Category.FABLE, 1999);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book1, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book2, 1231231231231L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book1, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book2, 1231231231231L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book1.getSpecimenList().add(specimen1);
         book2.getSpecimenList().add(specimen2);
@@ -143,14 +168,14 @@ public class RentServiceTestSuite {
     @Transactional
     public void testFindAllByUserId() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException {
         // Given
-        Book book1 = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
-        Book book2 = new Book("Author2", "Title2", Category.categoryFactory(Category.FANTASY), 1999);
+        Book book1 = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Book book2 = new Book("Author2", "Title2", Category.FANTASY, 1999);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book1, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book2, 1231231231231L);
-        Specimen specimen3 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book2, 1231231231232L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book1, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book2, 1231231231231L);
+        Specimen specimen3 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book2, 1231231231232L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book1.getSpecimenList().add(specimen1);
         book2.getSpecimenList().add(specimen2);
@@ -179,11 +204,11 @@ public class RentServiceTestSuite {
     @Transactional
     public void testRentBook() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen);
         bookService.saveNewBook(book);
@@ -204,11 +229,11 @@ public class RentServiceTestSuite {
     @Transactional
     public void testProlongationBook() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen);
         bookService.saveNewBook(book);
@@ -228,14 +253,14 @@ public class RentServiceTestSuite {
 
     @Test
     @Transactional
-    public void testReturnBook() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException {
+    public void testReturnBook() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException, RentNotExistException {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen1);
         book.getSpecimenList().add(specimen2);
@@ -258,16 +283,88 @@ public class RentServiceTestSuite {
         Assert.assertEquals(1, rents.size());
     }
 
+    @Test(expected = RentNotExistException.class)
+    @Transactional
+    public void testReturnNotExistingRent() throws RentNotExistException {
+        // When
+        rentService.returnBook(-1L);
+    }
+
+    @Test
+    @Transactional
+    public void testReturnBooks() throws Exception {
+        // Given
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
+
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
+
+        book.getSpecimenList().add(specimen1);
+        book.getSpecimenList().add(specimen2);
+        bookService.saveNewBook(book);
+
+        specimenService.saveNewSpecimen(specimen1);
+        specimenService.saveNewSpecimen(specimen2);
+
+        userService.saveUser(user);
+
+        Rent rent1 = rentService.rentBook(specimen1.getId(), user.getId());
+        Rent rent2 = rentService.rentBook(specimen2.getId(), user.getId());
+
+        // When
+        List<RentBatchResultDto> results = rentService.returnBooks(Arrays.asList(rent1.getId(), -1L, rent2.getId(), rent1.getId()));
+
+        // Then
+        Assert.assertEquals(3, results.size());
+        Assert.assertEquals(rent1.getId(), results.get(0).getRentId());
+        Assert.assertEquals("Returned", results.get(0).getResult());
+        Assert.assertEquals(LocalDate.now(), results.get(0).getReturnDate());
+        Assert.assertEquals("Not found", results.get(1).getResult());
+        Assert.assertNull(results.get(1).getReturnDate());
+        Assert.assertEquals(rent2.getId(), results.get(2).getRentId());
+        Assert.assertEquals("Returned", results.get(2).getResult());
+        Assert.assertTrue(rentService.findAllRentsByUserId(user.getId()).isEmpty());
+        Assert.assertEquals(2, rentHistoryService.findAllByUserId(user.getId()).size());
+        Assert.assertEquals(Status.AVAILABLE, specimenService.findOneSpecimen(specimen1.getId()).getStatus());
+        Assert.assertEquals(Status.AVAILABLE, specimenService.findOneSpecimen(specimen2.getId()).getStatus());
+        Assert.assertTrue(user.getRentList().isEmpty());
+    }
+
+    @Test
+    @Transactional
+    public void testProlongRents() throws Exception {
+        // Given
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
+        book.getSpecimenList().add(specimen);
+        bookService.saveNewBook(book);
+        userService.saveUser(user);
+        Rent rent = rentService.rentBook(specimen.getId(), user.getId());
+
+        // When
+        List<RentBatchResultDto> results = rentService.prolongRents(Arrays.asList(rent.getId(), -1L, rent.getId()));
+
+        // Then
+        Assert.assertEquals(2, results.size());
+        Assert.assertEquals("Prolonged", results.get(0).getResult());
+        Assert.assertEquals(LocalDate.now().plusDays(60), results.get(0).getReturnDate());
+        Assert.assertEquals("Not found", results.get(1).getResult());
+        Assert.assertEquals(LocalDate.now().plusDays(60), rentService.findAllRentsByUserId(user.getId()).get(0).getReturnDate());
+    }
+
     @Test
     @Transactional
     public void testRentExistBySpecimenId() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen1);
         book.getSpecimenList().add(specimen2);
@@ -292,12 +389,12 @@ public class RentServiceTestSuite {
     @Transactional
     public void testRentExistBySpecimenBookTitle() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen1);
         book.getSpecimenList().add(specimen2);
@@ -322,12 +419,12 @@ public class RentServiceTestSuite {
     @Transactional
     public void testCountRents() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException {
         // Given
-        Book book = new Book("Author1", "Title1", Category.categoryFactory(Category.FANTASY), 2011);
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
 
-        Specimen specimen1 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
-        Specimen specimen2 = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
 
-        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER.getRole());
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
 
         book.getSpecimenList().add(specimen1);
         book.getSpecimenList().add(specimen2);
@@ -347,4 +444,156 @@ public class RentServiceTestSuite {
         // Then
         Assert.assertEquals(ofNullable(2L).get(), count);
     }
+
+    @Test
+    @Transactional
+    public void testRentBookWithNotExistingUser() throws BookExistException, SpecimenNotExistException {
+        // Given
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        book.getSpecimenList().add(specimen);
+        bookService.saveNewBook(book);
+
+        // When
+        try {
+            rentService.rentBook(specimen.getId(), -1L);
+            Assert.fail();
+        } catch (UserNotExistException e) {
+            // expected
+        }
+
+        // Then
+        Assert.assertEquals(Status.AVAILABLE, specimenService.findOneSpecimen(specimen.getId()).getStatus());
+        Assert.assertFalse(rentService.isRentExistBySpecimenId(specimen.getId()));
+    }
+
+    @Test
+    @Transactional
+    public void testRentBookSendsEmailAfterCommit() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException {
+        // Given
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
+        book.getSpecimenList().add(specimen);
+        bookService.saveNewBook(book);
+        userService.saveUser(user);
+
+        // When
+        rentService.rentBook(specimen.getId(), user.getId());
+
+        // Then
+        verify(javaMailSender, never()).send(any(SimpleMailMessage.class));
+    }
+
+    @Test
+    public void testRentProlongAndReturnCommitOnce() throws Exception {
+        // Given
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        User user = new User("Name", "Surname", "commit.once@gmail.com", 123456789, "123456789", Role.USER);
+        book.getSpecimenList().add(specimen);
+        bookService.saveNewBook(book);
+        userService.saveUser(user);
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        eventBus.awaitIdle(5000);
+        clearInvocations(javaMailSender);
+
+        try {
+            // When
+            Rent rent = rentService.rentBook(specimen.getId(), user.getId());
+            long rentCommits = statistics.getSuccessfulTransactionCount();
+            rentService.prolongationRent(specimen.getId(), user.getId());
+            long prolongationCommits = statistics.getSuccessfulTransactionCount() - rentCommits;
+            rentService.returnBook(rent.getId());
+            long returnCommits = statistics.getSuccessfulTransactionCount() - rentCommits - prolongationCommits;
+
+            // Then
+            Assert.assertEquals(1, rentCommits);
+            Assert.assertEquals(1, prolongationCommits);
+            Assert.assertEquals(1, returnCommits);
+            Assert.assertEquals(3, statistics.getFlushCount());
+            Assert.assertEquals(Status.AVAILABLE, specimenService.findOneSpecimen(specimen.getId()).getStatus());
+            Assert.assertTrue(eventBus.awaitIdle(5000));
+            verify(javaMailSender, times(1)).send(any(SimpleMailMessage.class));
+        } finally {
+            userService.deleteUserById(user.getId());
+            bookService.deleteBook(book.getId());
+        }
+    }
+
+    @Test
+    public void testReturnBooksCommitOnce() throws Exception {
+        // Given
+        Book book = new Book("Author1", "Batch return title", Category.FANTASY, 2011);
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        User user = new User("Name", "Surname", "batch.return@gmail.com", 123456789, "123456789", Role.USER);
+        book.getSpecimenList().add(specimen1);
+        book.getSpecimenList().add(specimen2);
+        bookService.saveNewBook(book);
+        userService.saveUser(user);
+        Rent rent1 = rentService.rentBook(specimen1.getId(), user.getId());
+        Rent rent2 = rentService.rentBook(specimen2.getId(), user.getId());
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        try {
+            // When
+            List<RentBatchResultDto> results = rentService.returnBooks(Arrays.asList(rent1.getId(), rent2.getId()));
+
+            // Then
+            Assert.assertEquals(1, statistics.getSuccessfulTransactionCount());
+            Assert.assertEquals(2, results.stream().filter(result -> "Returned".equals(result.getResult())).count());
+            Assert.assertFalse(rentService.isRentExistBySpecimenId(specimen1.getId()));
+            Assert.assertFalse(rentService.isRentExistBySpecimenId(specimen2.getId()));
+            Assert.assertEquals(Status.AVAILABLE, specimenService.findOneSpecimen(specimen1.getId()).getStatus());
+            Assert.assertEquals(2, bookService.findOneBook(book.getId()).getAvailableSpecimens());
+            Assert.assertEquals(0, bookService.findOneBook(book.getId()).getRentedSpecimens());
+        } finally {
+            userService.deleteUserById(user.getId());
+            bookService.deleteBook(book.getId());
+        }
+    }
+
+    @Test
+    public void testRentPublishesEventsAfterCommit() throws Exception {
+        // Given
+        Book book = new Book("Author1", "Rent events title", Category.FANTASY, 2011);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        User user = new User("Name", "Surname", "rent.events@gmail.com", 123456789, "123456789", Role.USER);
+        book.getSpecimenList().add(specimen);
+        bookService.saveNewBook(book);
+        userService.saveUser(user);
+        List<DomainEvent> events = new CopyOnWriteArrayList<>();
+        eventBus.subscribe("test-" + user.getId(), DomainEvent.class, event -> {
+            if (event instanceof RentEvent && user.getId().equals(((RentEvent) event).getUserId())
+                    || event instanceof SpecimenStatusChangedEvent && specimen.getId().equals(((SpecimenStatusChangedEvent) event).getSpecimenId())) {
+                events.add(event);
+            }
+        });
+
+        try {
+            // When
+            Rent rent = rentService.rentBook(specimen.getId(), user.getId());
+            rentService.prolongationRent(specimen.getId(), user.getId());
+            rentService.returnBook(rent.getId());
+            Assert.assertTrue(eventBus.awaitIdle(5000));
+
+            // Then
+            Assert.assertEquals(5, events.size());
+            RentCreatedEvent created = (RentCreatedEvent) events.stream().filter(RentCreatedEvent.class::isInstance).findFirst().get();
+            Assert.assertEquals("Rent events title", created.getBookTitle());
+            Assert.assertEquals("rent.events@gmail.com", created.getMail().getMailTo());
+            Assert.assertEquals(1, events.stream().filter(RentProlongedEvent.class::isInstance).count());
+            Assert.assertEquals(1, events.stream().filter(RentReturnedEvent.class::isInstance).count());
+            Assert.assertEquals(Status.RENTED, events.stream()
+                    .filter(SpecimenStatusChangedEvent.class::isInstance)
+                    .map(event -> ((SpecimenStatusChangedEvent) event).getNewStatus())
+                    .findFirst().get());
+        } finally {
+            userService.deleteUserById(user.getId());
+            bookService.deleteBook(book.getId());
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,72 @@
+package com.sewerynkamil.librarymanager.service;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+public class SpaceSavingTestSuite {
+    @Test
+    public void testExactWhileUnderCapacity() {
+        // Given
+        SpaceSaving spaceSaving = new SpaceSaving(10);
+
+        // When
+        spaceSaving.add(1L, 3);
+        spaceSaving.add(2L, 1);
+        spaceSaving.add(1L, 2);
+
+        // Then
+        Assert.assertEquals(5, spaceSaving.estimate(1L));
+        Assert.assertEquals(1, spaceSaving.estimate(2L));
+        Assert.assertEquals(0, spaceSaving.error(1L));
+        Assert.assertEquals(2, spaceSaving.size());
+    }
+
+    @Test
+    public void testNewKeyEvictsSmallestCounter() {
+        // Given
+        SpaceSaving spaceSaving = new SpaceSaving(2);
+        spaceSaving.add(1L, 5);
+        spaceSaving.add(2L, 2);
+
+        // When
+        spaceSaving.add(3L, 1);
+
+        // Then
+        Assert.assertEquals(2, spaceSaving.size());
+        Assert.assertEquals(0, spaceSaving.estimate(2L));
+        Assert.assertEquals(3, spaceSaving.estimate(3L));
+        Assert.assertEquals(2, spaceSaving.error(3L));
+        Assert.assertEquals(5, spaceSaving.estimate(1L));
+    }
+
+    @Test
+    public void testHeavyHittersBoundedByError() {
+        // Given
+        SpaceSaving spaceSaving = new SpaceSaving(50);
+        Map<Long, Long> exact = new HashMap<>();
+        Random random = new Random(7);
+
+        // When
+        for (int i = 0; i < 100000; i++) {
+            long key = random.nextInt(10) < 5 ? random.nextInt(10) : random.nextInt(10000);
+            spaceSaving.add(key, 1);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        // Then
+        for (long key = 0; key < 10; key++) {
+            long estimate = spaceSaving.estimate(key);
+            Assert.assertTrue(estimate >= exact.get(key));
+            Assert.assertTrue(estimate - spaceSaving.error(key) <= exact.get(key));
+        }
+        Assert.assertEquals(50, spaceSaving.size());
+    }
+}
\ No newline at end of file
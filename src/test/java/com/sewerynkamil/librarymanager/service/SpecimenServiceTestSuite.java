@@ -36,9 +36,9 @@ public class SpecimenServiceTestSuite {
     @Transactional
     public void testFindAllSpecimenForOneBookByBookId() throws BookExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         bookService.saveNewBook(book);
-        Specimen specimen = new Specimen(Status.AVAILABLE.getStatus(), "Publisher", 2008, book, 9788375748758L);
+        Specimen specimen = new Specimen(Status.AVAILABLE, "Publisher", 2008, book, 9788375748758L);
         specimenService.saveNewSpecimen(specimen);
 
         // When
@@ -52,9 +52,9 @@ public class SpecimenServiceTestSuite {
     @Transactional
     public void testFindAllSpecimenForOneBookByStatusAndBookId() throws BookExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         bookService.saveNewBook(book);
-        Specimen specimen = new Specimen(Status.RENTED.getStatus(), "Publisher", 2008, book, 9788375748758L);
+        Specimen specimen = new Specimen(Status.RENTED, "Publisher", 2008, book, 9788375748758L);
         specimenService.saveNewSpecimen(specimen);
 
         // When
@@ -68,16 +68,16 @@ public class SpecimenServiceTestSuite {
     @Transactional
     public void testSaveNewSpecimenAndFindOneSpecimen() throws SpecimenNotExistException, BookExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         bookService.saveNewBook(book);
-        Specimen specimen = new Specimen(Status.RENTED.getStatus(), "Publisher", 2008, book, 9788375748758L);
+        Specimen specimen = new Specimen(Status.RENTED, "Publisher", 2008, book, 9788375748758L);
         specimenService.saveNewSpecimen(specimen);
 
         // When
         Specimen getSpecimen = specimenService.findOneSpecimen(specimen.getId());
 
         // Then
-        Assert.assertEquals(Status.RENTED.getStatus(), getSpecimen.getStatus());
+        Assert.assertEquals(Status.RENTED, getSpecimen.getStatus());
         Assert.assertEquals("Publisher", getSpecimen.getPublisher());
         Assert.assertEquals(new Integer(2008), getSpecimen.getYearOfPublication());
     }
@@ -86,18 +86,18 @@ public class SpecimenServiceTestSuite {
     @Transactional
     public void testUpdateSpecimen() throws BookExistException, SpecimenNotExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         bookService.saveNewBook(book);
-        Specimen specimen = new Specimen(Status.RENTED.getStatus(), "Publisher", 2008, book, 9788375748758L);
+        Specimen specimen = new Specimen(Status.RENTED, "Publisher", 2008, book, 9788375748758L);
         specimenService.saveNewSpecimen(specimen);
 
         // When
-        Specimen updatedSpecimen = new Specimen(Status.AVAILABLE.getStatus(), "Pub", 2009, book, 9788375748758L);
+        Specimen updatedSpecimen = new Specimen(Status.AVAILABLE, "Pub", 2009, book, 9788375748758L);
         updatedSpecimen.setId(specimen.getId());
         specimenService.updateSpecimen(updatedSpecimen);
 
         // Then
-        Assert.assertEquals(Status.AVAILABLE.getStatus(), specimen.getStatus());
+        Assert.assertEquals(Status.AVAILABLE, specimen.getStatus());
         Assert.assertEquals("Pub", specimen.getPublisher());
         Assert.assertEquals(new Integer(2009), specimen.getYearOfPublication());
     }
@@ -106,9 +106,9 @@ public class SpecimenServiceTestSuite {
     @Transactional
     public void testDeleteSpecimen() throws BookExistException {
         // Given
-        Book book = new Book("Author", "Title", Category.categoryFactory(Category.FANTASY), 2008);
+        Book book = new Book("Author", "Title", Category.FANTASY, 2008);
         bookService.saveNewBook(book);
-        Specimen specimen = new Specimen(Status.UNAVAILABLE.getStatus(), "Publisher", 2008, book, 9788375748758L);
+        Specimen specimen = new Specimen(Status.UNAVAILABLE, "Publisher", 2008, book, 9788375748758L);
         specimenService.saveNewSpecimen(specimen);
 
         // When
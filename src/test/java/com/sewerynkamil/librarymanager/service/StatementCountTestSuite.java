@@ -0,0 +1,120 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.exceptions.BookExistException;
+import com.sewerynkamil.librarymanager.domain.exceptions.BookNotExistException;
+import com.sewerynkamil.librarymanager.domain.exceptions.UserExistException;
+import com.sewerynkamil.librarymanager.domain.exceptions.UserHasRentsException;
+import com.sewerynkamil.librarymanager.domain.exceptions.UserNotExistException;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.transaction.Transactional;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class StatementCountTestSuite {
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    @Transactional
+    public void testFindOneBookStatementCount() throws BookExistException, BookNotExistException {
+        // Given
+        Book book = bookService.saveNewBook(new Book("Author", "Title", Category.FANTASY, 2011));
+        Statistics statistics = coldStatistics();
+
+        // When
+        bookService.findOneBook(book.getId());
+
+        // Then
+        Assert.assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional
+    public void testDeleteBookStatementCount() throws BookExistException, BookNotExistException {
+        // Given
+        Book book = bookService.saveNewBook(new Book("Author", "Title", Category.FANTASY, 2011));
+        Statistics statistics = coldStatistics();
+
+        // When
+        bookService.deleteBook(book.getId());
+        entityManager.flush();
+
+        // Then: the load, the delete and the change log insert
+        Assert.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    @Transactional
+    public void testFindOneUserByEmailStatementCount() throws UserExistException, UserNotExistException {
+        // Given
+        userService.saveUser(new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER));
+        Statistics statistics = coldStatistics();
+
+        // When
+        userService.findOneUserByEmail("user@gmail.com");
+
+        // Then
+        Assert.assertEquals(2, statistics.getPrepareStatementCount());
+    }
+
+    @Test(expected = UserNotExistException.class)
+    @Transactional
+    public void testFindOneUserByEmailNotExist() throws UserNotExistException {
+        // When
+        userService.findOneUserByEmail("user@gmail.com");
+    }
+
+    @Test
+    @Transactional
+    public void testDeleteUserStatementCount() throws UserExistException, UserNotExistException, UserHasRentsException {
+        // Given
+        User user = userService.saveUser(new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER));
+        Statistics statistics = coldStatistics();
+
+        // When
+        userService.deleteUserById(user.getId());
+        entityManager.flush();
+
+        // Then: the load, the delete and the change log insert
+        Assert.assertEquals(3, statistics.getPrepareStatementCount());
+    }
+
+    private Statistics coldStatistics() {
+        entityManager.flush();
+        entityManager.clear();
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+}
\ No newline at end of file
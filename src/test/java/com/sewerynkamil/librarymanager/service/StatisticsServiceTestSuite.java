@@ -0,0 +1,101 @@
+package com.sewerynkamil.librarymanager.service;
+
+import com.sewerynkamil.librarymanager.domain.Book;
+import com.sewerynkamil.librarymanager.domain.Specimen;
+import com.sewerynkamil.librarymanager.domain.User;
+import com.sewerynkamil.librarymanager.domain.enumerated.Category;
+import com.sewerynkamil.librarymanager.domain.enumerated.Role;
+import com.sewerynkamil.librarymanager.domain.enumerated.Status;
+import com.sewerynkamil.librarymanager.domain.exceptions.*;
+import com.sewerynkamil.librarymanager.repository.BookRepository;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import javax.transaction.Transactional;
+import java.util.Map;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Author Kamil Seweryn
+ */
+
+@RunWith(SpringRunner.class)
+@SpringBootTest
+@MockBean(JavaMailSender.class)
+public class StatisticsServiceTestSuite {
+    @Autowired
+    private StatisticsService statisticsService;
+
+    @Autowired
+    private BookService bookService;
+
+    @Autowired
+    private SpecimenService specimenService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private RentService rentService;
+
+    @Autowired
+    private BookRepository bookRepository;
+
+    @Test
+    @Transactional
+    public void testCountersFollowRentAndReturn() throws BookExistException, UserExistException, SpecimenNotExistException, UserNotExistException, RentNotExistException {
+        // Given
+        Book book = new Book("Author1", "Title1", Category.FANTASY, 2011);
+        bookService.saveNewBook(book);
+
+        Specimen specimen1 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 9788375748758L);
+        Specimen specimen2 = new Specimen(Status.AVAILABLE, "Publisher", 2001, book, 1231231231231L);
+        specimenService.saveNewSpecimen(specimen1);
+        specimenService.saveNewSpecimen(specimen2);
+
+        User user = new User("Name", "Surname", "email@gmail.com", 123456789, "123456789", Role.USER);
+        userService.saveUser(user);
+
+        // When
+        Long rentId = rentService.rentBook(specimen1.getId(), user.getId()).getId();
+        rentService.rentBook(specimen2.getId(), user.getId());
+        rentService.returnBook(rentId);
+        Map<String, Long> specimens = statisticsService.countSpecimensPerStatus();
+
+        // Then
+        Assert.assertEquals(ofNullable(1L).get(), statisticsService.countBooks());
+        Assert.assertEquals(ofNullable(1L).get(), statisticsService.countUsers());
+        Assert.assertEquals(ofNullable(1L).get(), statisticsService.countRents());
+        Assert.assertEquals(ofNullable(1L).get(), specimens.get(Status.AVAILABLE.getStatus()));
+        Assert.assertEquals(ofNullable(1L).get(), specimens.get(Status.RENTED.getStatus()));
+        Assert.assertEquals(ofNullable(0L).get(), specimens.get(Status.LOST.getStatus()));
+    }
+
+    @Test
+    public void testReconcile() {
+        // Given
+        Book book1 = bookRepository.save(new Book("Author1", "Title1", Category.FANTASY, 2011));
+        Book book2 = bookRepository.save(new Book("Author2", "Title2", Category.DRAMA, 1999));
+
+        // When
+        Long countBeforeReconcile = statisticsService.countBooks();
+        statisticsService.reconcile();
+        Long countAfterReconcile = statisticsService.countBooks();
+
+        bookRepository.delete(book1);
+        bookRepository.delete(book2);
+        statisticsService.reconcile();
+
+        // Then
+        Assert.assertEquals(ofNullable(0L).get(), countBeforeReconcile);
+        Assert.assertEquals(ofNullable(2L).get(), countAfterReconcile);
+        Assert.assertEquals(ofNullable(0L).get(), statisticsService.countBooks());
+    }
+}
\ No newline at end of file
@@ -35,8 +35,8 @@ public class UserServiceTestSuite {
     @Transactional
     public void testFindAllUsersWithLazyLoading() throws UserExistException {
         // Given
-        User user1 = new User("User1", "Surname1", "user1@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
-        User user2 = new User("User2", "Surname2", "user2@gmail.com", 234567891, "a1b2c3d4", Role.USER.getRole());
+        User user1 = new User("User1", "Surname1", "user1@gmail.com", 123456789, "1a2b3c4d", Role.USER);
+        User user2 = new User("User2", "Surname2", "user2@gmail.com", 234567891, "a1b2c3d4", Role.USER);
         userService.saveUser(user1);
         userService.saveUser(user2);
 
@@ -51,8 +51,8 @@ public class UserServiceTestSuite {
     @Transactional
     public void testFindAllUsersByNameStartsWithIgnoreCase() throws UserExistException {
         // Given
-        User user1 = new User("Usr1", "Surname1", "us1@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
-        User user2 = new User("User2", "Surname2", "user2@gmail.com", 234567891, "a1b2c3d4", Role.USER.getRole());
+        User user1 = new User("Usr1", "Surname1", "us1@gmail.com", 123456789, "1a2b3c4d", Role.USER);
+        User user2 = new User("User2", "Surname2", "user2@gmail.com", 234567891, "a1b2c3d4", Role.USER);
         userService.saveUser(user1);
         userService.saveUser(user2);
 
@@ -69,8 +69,8 @@ public class UserServiceTestSuite {
     @Transactional
     public void testFindAllUsersBySurnameStartsWithIgnoreCase() throws UserExistException {
         // Given
-        User user1 = new User("User1", "Suname1", "us1@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
-        User user2 = new User("User2", "Surname2", "user2@gmail.com", 234567891, "a1b2c3d4", Role.USER.getRole());
+        User user1 = new User("User1", "Suname1", "us1@gmail.com", 123456789, "1a2b3c4d", Role.USER);
+        User user2 = new User("User2", "Surname2", "user2@gmail.com", 234567891, "a1b2c3d4", Role.USER);
         userService.saveUser(user1);
         userService.saveUser(user2);
 
@@ -87,8 +87,8 @@ public class UserServiceTestSuite {
     @Transactional
     public void testFindAllUsersByEmailStartsWithIgnoreCase() throws UserExistException {
         // Given
-        User user1 = new User("User1", "Surname1", "us1@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
-        User user2 = new User("User2", "Surname2", "user2@gmail.com", 234567891, "a1b2c3d4", Role.USER.getRole());
+        User user1 = new User("User1", "Surname1", "us1@gmail.com", 123456789, "1a2b3c4d", Role.USER);
+        User user2 = new User("User2", "Surname2", "user2@gmail.com", 234567891, "a1b2c3d4", Role.USER);
         userService.saveUser(user1);
         userService.saveUser(user2);
 
@@ -105,7 +105,7 @@ public class UserServiceTestSuite {
     @Transactional
     public void testFindOneUserById() throws UserExistException, UserNotExistException {
         // Given
-        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
+        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER);
         userService.saveUser(user);
 
         // When
@@ -121,7 +121,7 @@ public class UserServiceTestSuite {
     @Transactional
     public void testFindOneUserByEmail() throws UserExistException, UserNotExistException {
         // Given
-        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
+        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER);
         userService.saveUser(user);
 
         // When
@@ -137,7 +137,7 @@ public class UserServiceTestSuite {
     @Transactional
     public void testSaveUser() throws UserExistException {
         // Given
-        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
+        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER);
 
         // When
         User getUser = userService.saveUser(user);
@@ -152,11 +152,11 @@ public class UserServiceTestSuite {
     @Transactional
     public void testUpdateUser() throws UserExistException {
         // Given
-        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
+        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER);
         userService.saveUser(user);
 
         // When
-        User updatedUser = new User("Use", "Surnam", "use@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
+        User updatedUser = new User("Use", "Surnam", "use@gmail.com", 123456789, "1a2b3c4d", Role.USER);
         updatedUser.setId(user.getId());
         userService.updateUser(updatedUser);
 
@@ -170,11 +170,11 @@ public class UserServiceTestSuite {
     @Transactional
     public void testDeleteUser() throws UserExistException, UserNotExistException, UserHasRentsException {
         // Given
-        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
+        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER);
         userService.saveUser(user);
 
         // When
-        userService.deleteUserById(userService.findOneUserById(user.getId()));
+        userService.deleteUserById(user.getId());
         List<User> users = userService.findAllUsersWithLazyLoading(0, 100);
 
         // Then
@@ -185,7 +185,7 @@ public class UserServiceTestSuite {
     @Transactional
     public void testIsUserExist() throws UserExistException {
         // Given
-        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
+        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER);
         userService.saveUser(user);
 
         // When
@@ -201,7 +201,7 @@ public class UserServiceTestSuite {
     @Transactional
     public void testIsUserHasRents() throws UserExistException {
         // Given
-        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
+        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER);
         userService.saveUser(user);
 
         // When
@@ -215,8 +215,8 @@ public class UserServiceTestSuite {
     @Transactional
     public void testCountUsers() throws UserExistException {
         // Given
-        User user1 = new User("User1", "Surname1", "user1@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
-        User user2 = new User("User2", "Surname2", "user2@gmail.com", 987654321, "d4c3bda1", Role.USER.getRole());
+        User user1 = new User("User1", "Surname1", "user1@gmail.com", 123456789, "1a2b3c4d", Role.USER);
+        User user2 = new User("User2", "Surname2", "user2@gmail.com", 987654321, "d4c3bda1", Role.USER);
         userService.saveUser(user1);
         userService.saveUser(user2);
 
@@ -231,7 +231,7 @@ public class UserServiceTestSuite {
     @Transactional
     public void testLoadByUsername() throws UserExistException {
         // Given
-        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.ADMIN.getRole());
+        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.ADMIN);
         userService.saveUser(user);
 
         // When
@@ -254,10 +254,10 @@ public class UserServiceTestSuite {
     @Transactional
     public void testUserExistException() throws UserExistException {
         // Given
-        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole());
+        User user = new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER);
         userService.saveUser(user);
 
         // When
-        userService.saveUser(new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER.getRole()));
+        userService.saveUser(new User("User", "Surname", "user@gmail.com", 123456789, "1a2b3c4d", Role.USER));
     }
 }
\ No newline at end of file